@@ -0,0 +1,184 @@
+package inputvalidator;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A conjunction of validators that learns which order to run them in from the traffic it sees.
+ *
+ * <p>An input is valid when every rule accepts it, so the rules can run in any order and the first
+ * rejection ends the call. The cheapest order on average puts first the rules that cost little and
+ * reject often. That depends on the data, so this class measures it. One call in
+ * {@code sampleInterval} times each rule it runs and counts its rejections; it still stops at the
+ * first rejection, so a sampled call returns, and throws, exactly what an unsampled one would. After
+ * {@value #WINDOW} such samples the rules are sorted by their average time divided by their
+ * rejection rate, over the calls that reached them, and the new order
+ * is published as an immutable plan that later calls pick up with one volatile read. Every window
+ * starts with fresh counts, so the order follows changes in the traffic.</p>
+ *
+ * <p>Reordering only changes how much a call costs, never its result, provided the rules have no
+ * side effects. Unsampled calls take no timings and allocate nothing. {@link #order()} shows the
+ * order in use.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * AdaptiveValidator username = new AdaptiveValidator(
+ *         Validator.pattern("[a-z][a-z0-9_]*"), Validator.length(3, 16), isNotTaken);
+ * boolean isValid = username.test("new_user");
+ * int[] order = username.order(); // e.g. [1, 0, 2] once enough calls have been sampled
+ * }
+ * </pre>
+ */
+public final class AdaptiveValidator implements Validator {
+
+    /**
+     * The number of sampled calls after which the order is reconsidered.
+     */
+    public static final int WINDOW = 256;
+
+    private static final int DEFAULT_SAMPLE_INTERVAL = 64;
+
+    private final Validator[] rules;
+    private final int sampleInterval;
+    private volatile Plan plan;
+
+    /**
+     * Creates a validator that samples one call in 64.
+     *
+     * @param rules the rules that must all accept an input, in the order to start with.
+     *              Must not be empty or contain null, and should have no side effects.
+     */
+    public AdaptiveValidator(Validator... rules) {
+        this(DEFAULT_SAMPLE_INTERVAL, rules);
+    }
+
+    /**
+     * Creates a validator that samples one call in {@code sampleInterval}.
+     *
+     * @param sampleInterval on average, how many calls go by per sampled call; {@code 1} samples all of them.
+     * @param rules          the rules that must all accept an input, in the order to start with.
+     *                       Must not be empty or contain null, and should have no side effects.
+     * @throws IllegalArgumentException if {@code sampleInterval} is not positive or there are no rules.
+     */
+    public AdaptiveValidator(int sampleInterval, Validator... rules) {
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("sampleInterval <= 0: " + sampleInterval);
+        }
+        if (rules.length == 0) {
+            throw new IllegalArgumentException("no rules");
+        }
+        this.rules = rules.clone();
+        for (Validator rule : this.rules) {
+            Objects.requireNonNull(rule, "rule");
+        }
+        this.sampleInterval = sampleInterval;
+        int[] order = new int[rules.length];
+        Arrays.setAll(order, i -> i);
+        this.plan = new Plan(order);
+    }
+
+    /**
+     * Validates the input against every rule, in the current order, stopping at the first rejection.
+     *
+     * @param input the characters to validate; passed to the rules as is.
+     * @return {@code true} if every rule accepts the input.
+     */
+    @Override
+    public boolean test(CharSequence input) {
+        Plan current = plan;
+        if (sampleInterval == 1 || ThreadLocalRandom.current().nextInt(sampleInterval) == 0) {
+            return sample(current, input);
+        }
+        for (int index : current.order) {
+            if (!rules[index].test(input)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the order the rules currently run in.
+     *
+     * @return the indices of the rules as passed to the constructor, first to run first.
+     */
+    public int[] order() {
+        return plan.order.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveValidator" + Arrays.toString(plan.order);
+    }
+
+    // Runs the rules like an unsampled call, measuring the ones reached; the rest count as not run
+    private boolean sample(Plan current, CharSequence input) {
+        boolean valid = true;
+        for (int index : current.order) {
+            long start = System.nanoTime();
+            boolean accepted = rules[index].test(input);
+            current.nanos[index].add(System.nanoTime() - start);
+            current.runs[index].increment();
+            if (!accepted) {
+                current.rejections[index].increment();
+                valid = false;
+                break;
+            }
+        }
+        // Exactly one caller sees the window fill up, so plans are replaced one at a time
+        if (current.samples.incrementAndGet() == WINDOW) {
+            plan = current.next();
+        }
+        return valid;
+    }
+
+    /**
+     * An order of the rules and the measurements taken while it was in use.
+     */
+    private static final class Plan {
+
+        final int[] order;
+        final LongAdder[] nanos;
+        final LongAdder[] runs;
+        final LongAdder[] rejections;
+        final AtomicInteger samples = new AtomicInteger();
+
+        Plan(int[] order) {
+            this.order = order;
+            this.nanos = new LongAdder[order.length];
+            this.runs = new LongAdder[order.length];
+            this.rejections = new LongAdder[order.length];
+            for (int i = 0; i < order.length; i++) {
+                nanos[i] = new LongAdder();
+                runs[i] = new LongAdder();
+                rejections[i] = new LongAdder();
+            }
+        }
+
+        // Sorts by average nanoseconds over rejection rate; the +1s keep rules that never reject last,
+        // by cost, and rules no sampled call reached stay behind the ones that stopped it
+        Plan next() {
+            double[] score = new double[order.length];
+            for (int i = 0; i < order.length; i++) {
+                long n = runs[i].sum();
+                score[i] = n == 0 ? Double.POSITIVE_INFINITY
+                        : (double) nanos[i].sum() / n * (n + 1) / (rejections[i].sum() + 1);
+            }
+            Integer[] sorted = new Integer[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sorted[i] = order[i];
+            }
+            // Stable, so rules that score the same keep their relative order
+            Arrays.sort(sorted, (a, b) -> Double.compare(score[a], score[b]));
+            int[] next = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                next[i] = sorted[i];
+            }
+            return new Plan(next);
+        }
+    }
+}
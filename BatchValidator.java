@@ -0,0 +1,309 @@
+package inputvalidator;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Runs the {@link InputValidator} checks over many inputs at once.
+ *
+ * <p>Every method validates the elements {@code in[from, to)} and writes one bit per element
+ * into the caller's {@code resultBits}: bit {@code i - from} (word {@code (i - from) >>> 6},
+ * bit {@code (i - from) & 63}) is set if element {@code i} is valid and cleared otherwise.
+ * Whole words are overwritten, so the array does not need to be cleared first, and a batch
+ * allocates nothing. {@code null} elements are invalid.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * String[] emails = {"test@example.com", "invalid-email", "a@b.org"};
+ * long[] valid = BatchValidator.newResultBits(emails.length);
+ * int count = BatchValidator.validateEmails(emails, 0, emails.length, valid); // 2
+ * boolean second = BatchValidator.isValid(valid, 1); // false
+ * }
+ * </pre>
+ */
+public final class BatchValidator {
+
+    // Validators, dispatched by a switch that the JIT folds away in each public method
+    static final int EMAIL = 0;
+    static final int PASSWORD = 1;
+    static final int DATE_OF_BIRTH = 2;
+    static final int DATE_TIME = 3;
+    static final int COUNTRY = 4;
+    static final int COUNTRY_CODE = 5;
+    static final int WEBSITE_URL = 6;
+    static final int STRING = 7;
+    static final int NUMBER = 8;
+    static final int VALIDATOR_COUNT = 9;
+
+    // Private constructor to prevent instantiation
+    private BatchValidator() {}
+
+    /**
+     * Returns a bitset large enough for the results of {@code count} elements.
+     *
+     * @param count the number of elements in the batch. Must not be negative.
+     * @return a new, cleared {@code long[]} with {@code ceil(count / 64)} words.
+     */
+    public static long[] newResultBits(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        }
+        return new long[(int) ((count + 63L) >>> 6)];
+    }
+
+    /**
+     * Returns the result a batch method recorded for element {@code from + index}.
+     *
+     * @param resultBits the bitset a batch method wrote to.
+     * @param index      the position of the element within the batch, counting from {@code from}.
+     * @return {@code true} if the element was valid, {@code false} otherwise.
+     */
+    public static boolean isValid(long[] resultBits, int index) {
+        return (resultBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Validates email addresses as {@link InputValidator#validateEmail(String)} does.
+     *
+     * @param in         the inputs. Must not be null.
+     * @param from       the index of the first element to validate.
+     * @param to         the index after the last element to validate.
+     * @param resultBits receives one bit per element, see {@link BatchValidator}.
+     * @return the number of valid elements.
+     * @throws IndexOutOfBoundsException if {@code [from, to)} lies outside {@code in}, or
+     *                                   {@code resultBits} has fewer than {@code ceil((to - from) / 64)} words.
+     */
+    public static int validateEmails(String[] in, int from, int to, long[] resultBits) {
+        return validate(EMAIL, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates email addresses as {@link InputValidator#validateEmail(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public static int validateEmails(List<String> in, int from, int to, long[] resultBits) {
+        return validate(EMAIL, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates passwords as {@link InputValidator#validatePassword(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public static int validatePasswords(String[] in, int from, int to, long[] resultBits) {
+        return validate(PASSWORD, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates passwords as {@link InputValidator#validatePassword(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public static int validatePasswords(List<String> in, int from, int to, long[] resultBits) {
+        return validate(PASSWORD, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates dates of birth as {@link InputValidator#validateDateOfBirth(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public static int validateDatesOfBirth(String[] in, int from, int to, long[] resultBits) {
+        return validate(DATE_OF_BIRTH, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates dates of birth as {@link InputValidator#validateDateOfBirth(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public static int validateDatesOfBirth(List<String> in, int from, int to, long[] resultBits) {
+        return validate(DATE_OF_BIRTH, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates ISO 8601 datetimes as {@link InputValidator#validateDateTime(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public static int validateDateTimes(String[] in, int from, int to, long[] resultBits) {
+        return validate(DATE_TIME, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates ISO 8601 datetimes as {@link InputValidator#validateDateTime(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public static int validateDateTimes(List<String> in, int from, int to, long[] resultBits) {
+        return validate(DATE_TIME, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates country names as {@link InputValidator#validateCountry(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public static int validateCountries(String[] in, int from, int to, long[] resultBits) {
+        return validate(COUNTRY, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates country names as {@link InputValidator#validateCountry(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public static int validateCountries(List<String> in, int from, int to, long[] resultBits) {
+        return validate(COUNTRY, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates country codes as {@link InputValidator#validateCountryCode(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public static int validateCountryCodes(String[] in, int from, int to, long[] resultBits) {
+        return validate(COUNTRY_CODE, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates country codes as {@link InputValidator#validateCountryCode(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public static int validateCountryCodes(List<String> in, int from, int to, long[] resultBits) {
+        return validate(COUNTRY_CODE, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates website URLs as {@link InputValidator#validateWebsiteURL(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public static int validateWebsiteURLs(String[] in, int from, int to, long[] resultBits) {
+        return validate(WEBSITE_URL, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates website URLs as {@link InputValidator#validateWebsiteURL(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public static int validateWebsiteURLs(List<String> in, int from, int to, long[] resultBits) {
+        return validate(WEBSITE_URL, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates strings as {@link InputValidator#validateString(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public static int validateStrings(String[] in, int from, int to, long[] resultBits) {
+        return validate(STRING, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates strings as {@link InputValidator#validateString(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public static int validateStrings(List<String> in, int from, int to, long[] resultBits) {
+        return validate(STRING, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates numbers as {@link InputValidator#validateNumber(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public static int validateNumbers(String[] in, int from, int to, long[] resultBits) {
+        return validate(NUMBER, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates numbers as {@link InputValidator#validateNumber(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public static int validateNumbers(List<String> in, int from, int to, long[] resultBits) {
+        return validate(NUMBER, in, from, to, resultBits);
+    }
+
+    private static int validate(int validator, String[] in, int from, int to, long[] resultBits) {
+        checkBatch(in.length, from, to, resultBits);
+        return fill(validator, in, from, to, resultBits, 0);
+    }
+
+    /**
+     * Validates {@code in[from, to)} into {@code resultBits} starting at word {@code firstWord}
+     * and returns the number of valid elements. Writes only the words that range covers.
+     */
+    static int fill(int validator, String[] in, int from, int to, long[] resultBits, int firstWord) {
+        int valid = 0;
+        for (int base = from, word = firstWord; base < to; base += 64, word++) {
+            int end = Math.min(to, base + 64);
+            long bits = 0;
+            for (int i = base; i < end; i++) {
+                if (test(validator, in[i])) {
+                    bits |= 1L << (i - base);
+                }
+            }
+            resultBits[word] = bits;
+            valid += Long.bitCount(bits);
+        }
+        return valid;
+    }
+
+    private static int validate(int validator, List<String> in, int from, int to, long[] resultBits) {
+        checkBatch(in.size(), from, to, resultBits);
+        int valid = 0;
+        for (int base = from, word = 0; base < to; base += 64, word++) {
+            int end = Math.min(to, base + 64);
+            long bits = 0;
+            for (int i = base; i < end; i++) {
+                if (test(validator, in.get(i))) {
+                    bits |= 1L << (i - base);
+                }
+            }
+            resultBits[word] = bits;
+            valid += Long.bitCount(bits);
+        }
+        return valid;
+    }
+
+    static void checkBatch(int length, int from, int to, long[] resultBits) {
+        Objects.checkFromToIndex(from, to, length);
+        int words = (int) ((to - from + 63L) >>> 6);
+        if (resultBits.length < words) {
+            throw new IndexOutOfBoundsException(
+                    "resultBits has " + resultBits.length + " words, " + words + " needed");
+        }
+    }
+
+    private static boolean test(int validator, String input) {
+        switch (validator) {
+            case EMAIL:
+                return InputValidator.validateEmail(input);
+            case PASSWORD:
+                return InputValidator.validatePassword(input);
+            case DATE_OF_BIRTH:
+                return InputValidator.validateDateOfBirth(input);
+            case DATE_TIME:
+                return InputValidator.validateDateTime(input);
+            case COUNTRY:
+                return InputValidator.validateCountry(input);
+            case COUNTRY_CODE:
+                return InputValidator.validateCountryCode(input);
+            case WEBSITE_URL:
+                return InputValidator.validateWebsiteURL(input);
+            case STRING:
+                return InputValidator.validateString(input);
+            case NUMBER:
+                return InputValidator.validateNumber(input);
+            default:
+                throw new AssertionError(validator);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package inputvalidator;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Finds the end of a run of bytes that all belong to one set of ASCII characters, the inner loop of
+ * the byte-level scanners.
+ *
+ * <p>This class does it one byte at a time. On Java 17 and later, the multi-release JAR also
+ * contains {@code VectorByteClassifier}, which uses the incubating Vector API to test 16 to 64 bytes
+ * per step with two table lookups per byte. It is used when the application runs with
+ * {@code --add-modules jdk.incubator.vector} and the API matches the one it was built against.
+ * Otherwise this class is used. {@code -Dinputvalidator.vector=false} forces the byte-at-a-time
+ * loop, e.g. to compare the two.</p>
+ */
+class ByteClassifier {
+
+    static final ByteClassifier INSTANCE = load();
+
+    ByteClassifier() {}
+
+    private static ByteClassifier load() {
+        ByteClassifier scalar = new ByteClassifier();
+        if (!Boolean.parseBoolean(System.getProperty("inputvalidator.vector", "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return scalar;
+        }
+        try {
+            ByteClassifier vector = (ByteClassifier) Class.forName("inputvalidator.VectorByteClassifier")
+                    .getDeclaredConstructor().newInstance();
+            // Fails here rather than mid-validation if the API has changed since it was compiled
+            byte[] probe = new byte[256];
+            return vector.span(ByteBuffer.wrap(probe), 0, probe.length, AsciiSet.of("\0")) == probe.length
+                    ? vector : scalar;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return scalar;
+        }
+    }
+
+    /**
+     * Returns the index of the first byte in {@code bytes[from, to)} (absolute indexes) that is not
+     * in {@code set}, or {@code to} if there is none. Bytes outside ASCII are never in a set.
+     */
+    int span(ByteBuffer bytes, int from, int to, AsciiSet set) {
+        int i = from;
+        while (i < to && set.contains(bytes.get(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Like {@link #span(ByteBuffer, int, int, AsciiSet)}, for a byte array.
+     */
+    int span(byte[] bytes, int from, int to, AsciiSet set) {
+        int i = from;
+        while (i < to && set.contains(bytes[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * An immutable set of ASCII characters, stored both as a bitmap and as the two nibble tables a
+     * vector shuffle needs.
+     */
+    static final class AsciiSet {
+
+        // The widest vector the tables are replicated for, in bytes
+        static final int MAX_LANES = 64;
+
+        private final long low;
+        private final long high;
+
+        // lowNibbles[b & 15] has bit h set when (h << 4 | b & 15) is in the set; highNibbles[h] is
+        // 1 << h for ASCII high nibbles and 0 otherwise, so the AND of the two is non-zero exactly
+        // for members. Both repeat every 16 bytes so that a vector of any width can load them.
+        final byte[] lowNibbles = new byte[MAX_LANES];
+        final byte[] highNibbles = new byte[MAX_LANES];
+
+        private AsciiSet(long low, long high) {
+            this.low = low;
+            this.high = high;
+            for (int i = 0; i < MAX_LANES; i++) {
+                int nibble = i & 15;
+                int bits = 0;
+                for (int h = 0; h < 8; h++) {
+                    if (contains((byte) (h << 4 | nibble))) {
+                        bits |= 1 << h;
+                    }
+                }
+                lowNibbles[i] = (byte) bits;
+                highNibbles[i] = (byte) (nibble < 8 ? 1 << nibble : 0);
+            }
+        }
+
+        /**
+         * Returns the set of the given characters, which must all be ASCII.
+         */
+        static AsciiSet of(CharSequence chars) {
+            long low = 0;
+            long high = 0;
+            for (int i = 0; i < chars.length(); i++) {
+                char c = chars.charAt(i);
+                if (c >= 128) {
+                    throw new IllegalArgumentException("not ASCII: " + c);
+                }
+                if (c < 64) {
+                    low |= 1L << c;
+                } else {
+                    high |= 1L << c;
+                }
+            }
+            return new AsciiSet(low, high);
+        }
+
+        boolean contains(byte b) {
+            return b >= 0 && ((b < 64 ? low : high) & 1L << b) != 0;
+        }
+    }
+}
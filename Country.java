@@ -0,0 +1,522 @@
+package inputvalidator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The ISO 3166-1 country registry behind {@link InputValidator#validateCountry(String)} and
+ * {@link InputValidator#validateCountryCode(String)}.
+ *
+ * <p>Every country can be found by its English short name (and common or official name where
+ * ISO lists one), its alpha-2 code, its alpha-3 code or its numeric code. Lookups are
+ * case-insensitive, ignore leading and trailing whitespace, run in constant time without
+ * allocating, and return the canonical constant, so callers can keep a reference instead of
+ * their own copy of the name.</p>
+ *
+ * <p>The table is compiled into this enum; the indexes are dense primitive arrays filled
+ * from the constants when the class is initialized, so nothing is parsed at startup.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * Country country = Country.fromName(" sri lanka "); // Country.SRI_LANKA
+ * String name = country.displayName();              // "Sri Lanka"
+ * Country usa = Country.fromCode("usa");             // Country.UNITED_STATES
+ * }
+ * </pre>
+ */
+public enum Country {
+    ANDORRA("AD", "AND", 20, "Andorra", "Principality of Andorra"),
+    UNITED_ARAB_EMIRATES("AE", "ARE", 784, "United Arab Emirates"),
+    AFGHANISTAN("AF", "AFG", 4, "Afghanistan", "Islamic Republic of Afghanistan"),
+    ANTIGUA_AND_BARBUDA("AG", "ATG", 28, "Antigua and Barbuda"),
+    ANGUILLA("AI", "AIA", 660, "Anguilla"),
+    ALBANIA("AL", "ALB", 8, "Albania", "Republic of Albania"),
+    ARMENIA("AM", "ARM", 51, "Armenia", "Republic of Armenia"),
+    ANGOLA("AO", "AGO", 24, "Angola", "Republic of Angola"),
+    ANTARCTICA("AQ", "ATA", 10, "Antarctica"),
+    ARGENTINA("AR", "ARG", 32, "Argentina", "Argentine Republic"),
+    AMERICAN_SAMOA("AS", "ASM", 16, "American Samoa"),
+    AUSTRIA("AT", "AUT", 40, "Austria", "Republic of Austria"),
+    AUSTRALIA("AU", "AUS", 36, "Australia"),
+    ARUBA("AW", "ABW", 533, "Aruba"),
+    ALAND_ISLANDS("AX", "ALA", 248, "Åland Islands"),
+    AZERBAIJAN("AZ", "AZE", 31, "Azerbaijan", "Republic of Azerbaijan"),
+    BOSNIA_AND_HERZEGOVINA("BA", "BIH", 70, "Bosnia and Herzegovina", "Republic of Bosnia and Herzegovina"),
+    BARBADOS("BB", "BRB", 52, "Barbados"),
+    BANGLADESH("BD", "BGD", 50, "Bangladesh", "People's Republic of Bangladesh"),
+    BELGIUM("BE", "BEL", 56, "Belgium", "Kingdom of Belgium"),
+    BURKINA_FASO("BF", "BFA", 854, "Burkina Faso"),
+    BULGARIA("BG", "BGR", 100, "Bulgaria", "Republic of Bulgaria"),
+    BAHRAIN("BH", "BHR", 48, "Bahrain", "Kingdom of Bahrain"),
+    BURUNDI("BI", "BDI", 108, "Burundi", "Republic of Burundi"),
+    BENIN("BJ", "BEN", 204, "Benin", "Republic of Benin"),
+    SAINT_BARTHELEMY("BL", "BLM", 652, "Saint Barthélemy"),
+    BERMUDA("BM", "BMU", 60, "Bermuda"),
+    BRUNEI_DARUSSALAM("BN", "BRN", 96, "Brunei Darussalam"),
+    BOLIVIA("BO", "BOL", 68, "Bolivia, Plurinational State of", "Bolivia", "Plurinational State of Bolivia"),
+    BONAIRE_SINT_EUSTATIUS_AND_SABA("BQ", "BES", 535, "Bonaire, Sint Eustatius and Saba"),
+    BRAZIL("BR", "BRA", 76, "Brazil", "Federative Republic of Brazil"),
+    BAHAMAS("BS", "BHS", 44, "Bahamas", "Commonwealth of the Bahamas"),
+    BHUTAN("BT", "BTN", 64, "Bhutan", "Kingdom of Bhutan"),
+    BOUVET_ISLAND("BV", "BVT", 74, "Bouvet Island"),
+    BOTSWANA("BW", "BWA", 72, "Botswana", "Republic of Botswana"),
+    BELARUS("BY", "BLR", 112, "Belarus", "Republic of Belarus"),
+    BELIZE("BZ", "BLZ", 84, "Belize"),
+    CANADA("CA", "CAN", 124, "Canada"),
+    COCOS_ISLANDS("CC", "CCK", 166, "Cocos (Keeling) Islands"),
+    DEMOCRATIC_REPUBLIC_OF_THE_CONGO("CD", "COD", 180, "Congo, The Democratic Republic of the"),
+    CENTRAL_AFRICAN_REPUBLIC("CF", "CAF", 140, "Central African Republic"),
+    CONGO("CG", "COG", 178, "Congo", "Republic of the Congo"),
+    SWITZERLAND("CH", "CHE", 756, "Switzerland", "Swiss Confederation"),
+    COTE_D_IVOIRE("CI", "CIV", 384, "Côte d'Ivoire", "Republic of Côte d'Ivoire"),
+    COOK_ISLANDS("CK", "COK", 184, "Cook Islands"),
+    CHILE("CL", "CHL", 152, "Chile", "Republic of Chile"),
+    CAMEROON("CM", "CMR", 120, "Cameroon", "Republic of Cameroon"),
+    CHINA("CN", "CHN", 156, "China", "People's Republic of China"),
+    COLOMBIA("CO", "COL", 170, "Colombia", "Republic of Colombia"),
+    COSTA_RICA("CR", "CRI", 188, "Costa Rica", "Republic of Costa Rica"),
+    CUBA("CU", "CUB", 192, "Cuba", "Republic of Cuba"),
+    CABO_VERDE("CV", "CPV", 132, "Cabo Verde", "Republic of Cabo Verde"),
+    CURACAO("CW", "CUW", 531, "Curaçao"),
+    CHRISTMAS_ISLAND("CX", "CXR", 162, "Christmas Island"),
+    CYPRUS("CY", "CYP", 196, "Cyprus", "Republic of Cyprus"),
+    CZECHIA("CZ", "CZE", 203, "Czechia", "Czech Republic"),
+    GERMANY("DE", "DEU", 276, "Germany", "Federal Republic of Germany"),
+    DJIBOUTI("DJ", "DJI", 262, "Djibouti", "Republic of Djibouti"),
+    DENMARK("DK", "DNK", 208, "Denmark", "Kingdom of Denmark"),
+    DOMINICA("DM", "DMA", 212, "Dominica", "Commonwealth of Dominica"),
+    DOMINICAN_REPUBLIC("DO", "DOM", 214, "Dominican Republic"),
+    ALGERIA("DZ", "DZA", 12, "Algeria", "People's Democratic Republic of Algeria"),
+    ECUADOR("EC", "ECU", 218, "Ecuador", "Republic of Ecuador"),
+    ESTONIA("EE", "EST", 233, "Estonia", "Republic of Estonia"),
+    EGYPT("EG", "EGY", 818, "Egypt", "Arab Republic of Egypt"),
+    WESTERN_SAHARA("EH", "ESH", 732, "Western Sahara"),
+    ERITREA("ER", "ERI", 232, "Eritrea", "the State of Eritrea"),
+    SPAIN("ES", "ESP", 724, "Spain", "Kingdom of Spain"),
+    ETHIOPIA("ET", "ETH", 231, "Ethiopia", "Federal Democratic Republic of Ethiopia"),
+    FINLAND("FI", "FIN", 246, "Finland", "Republic of Finland"),
+    FIJI("FJ", "FJI", 242, "Fiji", "Republic of Fiji"),
+    FALKLAND_ISLANDS("FK", "FLK", 238, "Falkland Islands (Malvinas)"),
+    MICRONESIA("FM", "FSM", 583, "Micronesia, Federated States of", "Federated States of Micronesia"),
+    FAROE_ISLANDS("FO", "FRO", 234, "Faroe Islands"),
+    FRANCE("FR", "FRA", 250, "France", "French Republic"),
+    GABON("GA", "GAB", 266, "Gabon", "Gabonese Republic"),
+    UNITED_KINGDOM("GB", "GBR", 826, "United Kingdom", "United Kingdom of Great Britain and Northern Ireland"),
+    GRENADA("GD", "GRD", 308, "Grenada"),
+    GEORGIA("GE", "GEO", 268, "Georgia"),
+    FRENCH_GUIANA("GF", "GUF", 254, "French Guiana"),
+    GUERNSEY("GG", "GGY", 831, "Guernsey"),
+    GHANA("GH", "GHA", 288, "Ghana", "Republic of Ghana"),
+    GIBRALTAR("GI", "GIB", 292, "Gibraltar"),
+    GREENLAND("GL", "GRL", 304, "Greenland"),
+    GAMBIA("GM", "GMB", 270, "Gambia", "Republic of the Gambia"),
+    GUINEA("GN", "GIN", 324, "Guinea", "Republic of Guinea"),
+    GUADELOUPE("GP", "GLP", 312, "Guadeloupe"),
+    EQUATORIAL_GUINEA("GQ", "GNQ", 226, "Equatorial Guinea", "Republic of Equatorial Guinea"),
+    GREECE("GR", "GRC", 300, "Greece", "Hellenic Republic"),
+    SOUTH_GEORGIA("GS", "SGS", 239, "South Georgia and the South Sandwich Islands"),
+    GUATEMALA("GT", "GTM", 320, "Guatemala", "Republic of Guatemala"),
+    GUAM("GU", "GUM", 316, "Guam"),
+    GUINEA_BISSAU("GW", "GNB", 624, "Guinea-Bissau", "Republic of Guinea-Bissau"),
+    GUYANA("GY", "GUY", 328, "Guyana", "Republic of Guyana"),
+    HONG_KONG("HK", "HKG", 344, "Hong Kong", "Hong Kong Special Administrative Region of China"),
+    HEARD_AND_MCDONALD_ISLANDS("HM", "HMD", 334, "Heard Island and McDonald Islands"),
+    HONDURAS("HN", "HND", 340, "Honduras", "Republic of Honduras"),
+    CROATIA("HR", "HRV", 191, "Croatia", "Republic of Croatia"),
+    HAITI("HT", "HTI", 332, "Haiti", "Republic of Haiti"),
+    HUNGARY("HU", "HUN", 348, "Hungary"),
+    INDONESIA("ID", "IDN", 360, "Indonesia", "Republic of Indonesia"),
+    IRELAND("IE", "IRL", 372, "Ireland"),
+    ISRAEL("IL", "ISR", 376, "Israel", "State of Israel"),
+    ISLE_OF_MAN("IM", "IMN", 833, "Isle of Man"),
+    INDIA("IN", "IND", 356, "India", "Republic of India"),
+    BRITISH_INDIAN_OCEAN_TERRITORY("IO", "IOT", 86, "British Indian Ocean Territory"),
+    IRAQ("IQ", "IRQ", 368, "Iraq", "Republic of Iraq"),
+    IRAN("IR", "IRN", 364, "Iran, Islamic Republic of", "Iran", "Islamic Republic of Iran"),
+    ICELAND("IS", "ISL", 352, "Iceland", "Republic of Iceland"),
+    ITALY("IT", "ITA", 380, "Italy", "Italian Republic"),
+    JERSEY("JE", "JEY", 832, "Jersey"),
+    JAMAICA("JM", "JAM", 388, "Jamaica"),
+    JORDAN("JO", "JOR", 400, "Jordan", "Hashemite Kingdom of Jordan"),
+    JAPAN("JP", "JPN", 392, "Japan"),
+    KENYA("KE", "KEN", 404, "Kenya", "Republic of Kenya"),
+    KYRGYZSTAN("KG", "KGZ", 417, "Kyrgyzstan", "Kyrgyz Republic"),
+    CAMBODIA("KH", "KHM", 116, "Cambodia", "Kingdom of Cambodia"),
+    KIRIBATI("KI", "KIR", 296, "Kiribati", "Republic of Kiribati"),
+    COMOROS("KM", "COM", 174, "Comoros", "Union of the Comoros"),
+    SAINT_KITTS_AND_NEVIS("KN", "KNA", 659, "Saint Kitts and Nevis"),
+    NORTH_KOREA("KP", "PRK", 408, "Korea, Democratic People's Republic of", "North Korea", "Democratic People's Republic of Korea"),
+    SOUTH_KOREA("KR", "KOR", 410, "Korea, Republic of", "South Korea"),
+    KUWAIT("KW", "KWT", 414, "Kuwait", "State of Kuwait"),
+    CAYMAN_ISLANDS("KY", "CYM", 136, "Cayman Islands"),
+    KAZAKHSTAN("KZ", "KAZ", 398, "Kazakhstan", "Republic of Kazakhstan"),
+    LAOS("LA", "LAO", 418, "Lao People's Democratic Republic", "Laos"),
+    LEBANON("LB", "LBN", 422, "Lebanon", "Lebanese Republic"),
+    SAINT_LUCIA("LC", "LCA", 662, "Saint Lucia"),
+    LIECHTENSTEIN("LI", "LIE", 438, "Liechtenstein", "Principality of Liechtenstein"),
+    SRI_LANKA("LK", "LKA", 144, "Sri Lanka", "Democratic Socialist Republic of Sri Lanka"),
+    LIBERIA("LR", "LBR", 430, "Liberia", "Republic of Liberia"),
+    LESOTHO("LS", "LSO", 426, "Lesotho", "Kingdom of Lesotho"),
+    LITHUANIA("LT", "LTU", 440, "Lithuania", "Republic of Lithuania"),
+    LUXEMBOURG("LU", "LUX", 442, "Luxembourg", "Grand Duchy of Luxembourg"),
+    LATVIA("LV", "LVA", 428, "Latvia", "Republic of Latvia"),
+    LIBYA("LY", "LBY", 434, "Libya"),
+    MOROCCO("MA", "MAR", 504, "Morocco", "Kingdom of Morocco"),
+    MONACO("MC", "MCO", 492, "Monaco", "Principality of Monaco"),
+    MOLDOVA("MD", "MDA", 498, "Moldova, Republic of", "Moldova", "Republic of Moldova"),
+    MONTENEGRO("ME", "MNE", 499, "Montenegro"),
+    SAINT_MARTIN("MF", "MAF", 663, "Saint Martin (French part)"),
+    MADAGASCAR("MG", "MDG", 450, "Madagascar", "Republic of Madagascar"),
+    MARSHALL_ISLANDS("MH", "MHL", 584, "Marshall Islands", "Republic of the Marshall Islands"),
+    NORTH_MACEDONIA("MK", "MKD", 807, "North Macedonia", "Republic of North Macedonia"),
+    MALI("ML", "MLI", 466, "Mali", "Republic of Mali"),
+    MYANMAR("MM", "MMR", 104, "Myanmar", "Republic of Myanmar"),
+    MONGOLIA("MN", "MNG", 496, "Mongolia"),
+    MACAO("MO", "MAC", 446, "Macao", "Macao Special Administrative Region of China"),
+    NORTHERN_MARIANA_ISLANDS("MP", "MNP", 580, "Northern Mariana Islands", "Commonwealth of the Northern Mariana Islands"),
+    MARTINIQUE("MQ", "MTQ", 474, "Martinique"),
+    MAURITANIA("MR", "MRT", 478, "Mauritania", "Islamic Republic of Mauritania"),
+    MONTSERRAT("MS", "MSR", 500, "Montserrat"),
+    MALTA("MT", "MLT", 470, "Malta", "Republic of Malta"),
+    MAURITIUS("MU", "MUS", 480, "Mauritius", "Republic of Mauritius"),
+    MALDIVES("MV", "MDV", 462, "Maldives", "Republic of Maldives"),
+    MALAWI("MW", "MWI", 454, "Malawi", "Republic of Malawi"),
+    MEXICO("MX", "MEX", 484, "Mexico", "United Mexican States"),
+    MALAYSIA("MY", "MYS", 458, "Malaysia"),
+    MOZAMBIQUE("MZ", "MOZ", 508, "Mozambique", "Republic of Mozambique"),
+    NAMIBIA("NA", "NAM", 516, "Namibia", "Republic of Namibia"),
+    NEW_CALEDONIA("NC", "NCL", 540, "New Caledonia"),
+    NIGER("NE", "NER", 562, "Niger", "Republic of the Niger"),
+    NORFOLK_ISLAND("NF", "NFK", 574, "Norfolk Island"),
+    NIGERIA("NG", "NGA", 566, "Nigeria", "Federal Republic of Nigeria"),
+    NICARAGUA("NI", "NIC", 558, "Nicaragua", "Republic of Nicaragua"),
+    NETHERLANDS("NL", "NLD", 528, "Netherlands", "Kingdom of the Netherlands"),
+    NORWAY("NO", "NOR", 578, "Norway", "Kingdom of Norway"),
+    NEPAL("NP", "NPL", 524, "Nepal", "Federal Democratic Republic of Nepal"),
+    NAURU("NR", "NRU", 520, "Nauru", "Republic of Nauru"),
+    NIUE("NU", "NIU", 570, "Niue"),
+    NEW_ZEALAND("NZ", "NZL", 554, "New Zealand"),
+    OMAN("OM", "OMN", 512, "Oman", "Sultanate of Oman"),
+    PANAMA("PA", "PAN", 591, "Panama", "Republic of Panama"),
+    PERU("PE", "PER", 604, "Peru", "Republic of Peru"),
+    FRENCH_POLYNESIA("PF", "PYF", 258, "French Polynesia"),
+    PAPUA_NEW_GUINEA("PG", "PNG", 598, "Papua New Guinea", "Independent State of Papua New Guinea"),
+    PHILIPPINES("PH", "PHL", 608, "Philippines", "Republic of the Philippines"),
+    PAKISTAN("PK", "PAK", 586, "Pakistan", "Islamic Republic of Pakistan"),
+    POLAND("PL", "POL", 616, "Poland", "Republic of Poland"),
+    SAINT_PIERRE_AND_MIQUELON("PM", "SPM", 666, "Saint Pierre and Miquelon"),
+    PITCAIRN("PN", "PCN", 612, "Pitcairn"),
+    PUERTO_RICO("PR", "PRI", 630, "Puerto Rico"),
+    PALESTINE("PS", "PSE", 275, "Palestine, State of", "the State of Palestine"),
+    PORTUGAL("PT", "PRT", 620, "Portugal", "Portuguese Republic"),
+    PALAU("PW", "PLW", 585, "Palau", "Republic of Palau"),
+    PARAGUAY("PY", "PRY", 600, "Paraguay", "Republic of Paraguay"),
+    QATAR("QA", "QAT", 634, "Qatar", "State of Qatar"),
+    REUNION("RE", "REU", 638, "Réunion"),
+    ROMANIA("RO", "ROU", 642, "Romania"),
+    SERBIA("RS", "SRB", 688, "Serbia", "Republic of Serbia"),
+    RUSSIA("RU", "RUS", 643, "Russian Federation"),
+    RWANDA("RW", "RWA", 646, "Rwanda", "Rwandese Republic"),
+    SAUDI_ARABIA("SA", "SAU", 682, "Saudi Arabia", "Kingdom of Saudi Arabia"),
+    SOLOMON_ISLANDS("SB", "SLB", 90, "Solomon Islands"),
+    SEYCHELLES("SC", "SYC", 690, "Seychelles", "Republic of Seychelles"),
+    SUDAN("SD", "SDN", 729, "Sudan", "Republic of the Sudan"),
+    SWEDEN("SE", "SWE", 752, "Sweden", "Kingdom of Sweden"),
+    SINGAPORE("SG", "SGP", 702, "Singapore", "Republic of Singapore"),
+    SAINT_HELENA("SH", "SHN", 654, "Saint Helena, Ascension and Tristan da Cunha"),
+    SLOVENIA("SI", "SVN", 705, "Slovenia", "Republic of Slovenia"),
+    SVALBARD_AND_JAN_MAYEN("SJ", "SJM", 744, "Svalbard and Jan Mayen"),
+    SLOVAKIA("SK", "SVK", 703, "Slovakia", "Slovak Republic"),
+    SIERRA_LEONE("SL", "SLE", 694, "Sierra Leone", "Republic of Sierra Leone"),
+    SAN_MARINO("SM", "SMR", 674, "San Marino", "Republic of San Marino"),
+    SENEGAL("SN", "SEN", 686, "Senegal", "Republic of Senegal"),
+    SOMALIA("SO", "SOM", 706, "Somalia", "Federal Republic of Somalia"),
+    SURINAME("SR", "SUR", 740, "Suriname", "Republic of Suriname"),
+    SOUTH_SUDAN("SS", "SSD", 728, "South Sudan", "Republic of South Sudan"),
+    SAO_TOME_AND_PRINCIPE("ST", "STP", 678, "Sao Tome and Principe", "Democratic Republic of Sao Tome and Principe"),
+    EL_SALVADOR("SV", "SLV", 222, "El Salvador", "Republic of El Salvador"),
+    SINT_MAARTEN("SX", "SXM", 534, "Sint Maarten (Dutch part)"),
+    SYRIA("SY", "SYR", 760, "Syrian Arab Republic", "Syria"),
+    ESWATINI("SZ", "SWZ", 748, "Eswatini", "Kingdom of Eswatini"),
+    TURKS_AND_CAICOS_ISLANDS("TC", "TCA", 796, "Turks and Caicos Islands"),
+    CHAD("TD", "TCD", 148, "Chad", "Republic of Chad"),
+    FRENCH_SOUTHERN_TERRITORIES("TF", "ATF", 260, "French Southern Territories"),
+    TOGO("TG", "TGO", 768, "Togo", "Togolese Republic"),
+    THAILAND("TH", "THA", 764, "Thailand", "Kingdom of Thailand"),
+    TAJIKISTAN("TJ", "TJK", 762, "Tajikistan", "Republic of Tajikistan"),
+    TOKELAU("TK", "TKL", 772, "Tokelau"),
+    TIMOR_LESTE("TL", "TLS", 626, "Timor-Leste", "Democratic Republic of Timor-Leste"),
+    TURKMENISTAN("TM", "TKM", 795, "Turkmenistan"),
+    TUNISIA("TN", "TUN", 788, "Tunisia", "Republic of Tunisia"),
+    TONGA("TO", "TON", 776, "Tonga", "Kingdom of Tonga"),
+    TURKIYE("TR", "TUR", 792, "Türkiye", "Republic of Türkiye"),
+    TRINIDAD_AND_TOBAGO("TT", "TTO", 780, "Trinidad and Tobago", "Republic of Trinidad and Tobago"),
+    TUVALU("TV", "TUV", 798, "Tuvalu"),
+    TAIWAN("TW", "TWN", 158, "Taiwan, Province of China", "Taiwan"),
+    TANZANIA("TZ", "TZA", 834, "Tanzania, United Republic of", "Tanzania", "United Republic of Tanzania"),
+    UKRAINE("UA", "UKR", 804, "Ukraine"),
+    UGANDA("UG", "UGA", 800, "Uganda", "Republic of Uganda"),
+    US_MINOR_OUTLYING_ISLANDS("UM", "UMI", 581, "United States Minor Outlying Islands"),
+    UNITED_STATES("US", "USA", 840, "United States", "United States of America"),
+    URUGUAY("UY", "URY", 858, "Uruguay", "Eastern Republic of Uruguay"),
+    UZBEKISTAN("UZ", "UZB", 860, "Uzbekistan", "Republic of Uzbekistan"),
+    HOLY_SEE("VA", "VAT", 336, "Holy See (Vatican City State)"),
+    SAINT_VINCENT_AND_THE_GRENADINES("VC", "VCT", 670, "Saint Vincent and the Grenadines"),
+    VENEZUELA("VE", "VEN", 862, "Venezuela, Bolivarian Republic of", "Venezuela", "Bolivarian Republic of Venezuela"),
+    BRITISH_VIRGIN_ISLANDS("VG", "VGB", 92, "Virgin Islands, British", "British Virgin Islands"),
+    US_VIRGIN_ISLANDS("VI", "VIR", 850, "Virgin Islands, U.S.", "Virgin Islands of the United States"),
+    VIETNAM("VN", "VNM", 704, "Viet Nam", "Vietnam", "Socialist Republic of Viet Nam"),
+    VANUATU("VU", "VUT", 548, "Vanuatu", "Republic of Vanuatu"),
+    WALLIS_AND_FUTUNA("WF", "WLF", 876, "Wallis and Futuna"),
+    SAMOA("WS", "WSM", 882, "Samoa", "Independent State of Samoa"),
+    YEMEN("YE", "YEM", 887, "Yemen", "Republic of Yemen"),
+    MAYOTTE("YT", "MYT", 175, "Mayotte"),
+    SOUTH_AFRICA("ZA", "ZAF", 710, "South Africa", "Republic of South Africa"),
+    ZAMBIA("ZM", "ZMB", 894, "Zambia", "Republic of Zambia"),
+    ZIMBABWE("ZW", "ZWE", 716, "Zimbabwe", "Republic of Zimbabwe");
+
+    /**
+     * The ISO 3166-1 code formats a country can be looked up by.
+     */
+    public enum CodeType {
+        ALPHA_2,
+        ALPHA_3,
+        NUMERIC
+    }
+
+    private static final Country[] VALUES = values();
+
+    // Dense indexes holding ordinal + 1, with 0 marking an unassigned code.
+    private static final short[] BY_ALPHA_2 = new short[26 * 26];
+    private static final short[] BY_ALPHA_3 = new short[26 * 26 * 26];
+    private static final short[] BY_NUMERIC = new short[1000];
+
+    // Minimal perfect hash over every name; slots map back to the name and its country.
+    // Generated by PerfectHash.main from the names and aliases below, in declaration order
+    private static final int[] NAME_DISPLACEMENTS = {
+            2, 0, 7, 8, 0, 0, 0, 0, 0, 4, 5, 14, 0, 1, 0, 0,
+            9, 5, 8, 1, 1, 0, 1, 2, 0, 1, 5, 1, 0, 0, 0, 0,
+            6, 7, 0, 14, 0, 1, 0, 0, 0, 6, 2, 0, 0, 7, 10, 1,
+            4, 9, 0, 0, 4, 3, 10, 2, 7, 31, 4, 13, 1, 0, 0, 16,
+            8, 8, 46, 14, 0, 1, 1, 7, 1, 7, 5, 14, 1, 3, 0, 14,
+            19, 3, 3, 1, 3, 31, 4, 14, 10, 13, 0, 0, 0, 3, 15, 0,
+            1, 4, 0, 10, 0, 3, 4, 4, 12, 0, 0, 0, 5, 12, 8, 5,
+            5, 9, 5, 2, 6, 5, 1, 1, 0, 13, 5, 40, 0, 4, 3, 0,
+            31, 1, 13, 15, 1, 0, 0, 14, 2, 0, 3, 6, 30, 0, 73, 1,
+            12, 6, 46, 0, 19, 10, 13, 20, 1, 1, 0, 3, 13, 0, 32, 12,
+            17, 2, 17, 1, 22, 39, 8, 0, 1, 0, 3, 3, 10, 0, 6, 0,
+            12, 13, 7, 2, 24, 0, 0, 3, 0, 28, 99, 6, 19, 4, 22, 143,
+            2, 19, 2, 32, 33, 3, 29, 120, 81, 42, 10, 153, 0, 17, 16, 21,
+            55, 11, 21, 6
+    };
+    private static final PerfectHash NAME_HASH;
+    private static final String[] NAME_BY_SLOT;
+    private static final Country[] COUNTRY_BY_SLOT;
+
+    static {
+        int nameCount = 0;
+        for (Country country : VALUES) {
+            short entry = (short) (country.ordinal() + 1);
+            BY_ALPHA_2[letters(country.alpha2, 0, 2)] = entry;
+            BY_ALPHA_3[letters(country.alpha3, 0, 3)] = entry;
+            BY_NUMERIC[country.numeric] = entry;
+            nameCount += country.names.length;
+        }
+
+        String[] names = new String[nameCount];
+        Country[] owners = new Country[nameCount];
+        int n = 0;
+        for (Country country : VALUES) {
+            for (String name : country.names) {
+                names[n] = name;
+                owners[n++] = country;
+            }
+        }
+        NAME_HASH = nameHash(names);
+        NAME_BY_SLOT = new String[nameCount];
+        COUNTRY_BY_SLOT = new Country[nameCount];
+        for (int i = 0; i < nameCount; i++) {
+            int slot = NAME_HASH.slot(names[i], 0, names[i].length());
+            NAME_BY_SLOT[slot] = names[i];
+            COUNTRY_BY_SLOT[slot] = owners[i];
+        }
+    }
+
+    // The checked-in table, or a fresh search if the names have changed since it was generated,
+    // which the assertion reports wherever assertions are on, as in the tests
+    private static PerfectHash nameHash(String[] names) {
+        assert Arrays.equals(NAME_DISPLACEMENTS, PerfectHash.displacements(names))
+                : "NAME_DISPLACEMENTS is stale; regenerate it with PerfectHash.main";
+        int[] displacements = PerfectHash.isPerfect(names, NAME_DISPLACEMENTS)
+                ? NAME_DISPLACEMENTS : PerfectHash.displacements(names);
+        return new PerfectHash(names.length, displacements);
+    }
+
+    // Every name and alias, in declaration order: the keys of NAME_HASH
+    static String[] names() {
+        List<String> names = new ArrayList<>();
+        for (Country country : values()) {
+            names.addAll(Arrays.asList(country.names));
+        }
+        return names.toArray(new String[0]);
+    }
+
+    private final String alpha2;
+    private final String alpha3;
+    private final int numeric;
+    private final String[] names;
+
+    Country(String alpha2, String alpha3, int numeric, String name, String... aliases) {
+        this.alpha2 = alpha2;
+        this.alpha3 = alpha3;
+        this.numeric = numeric;
+        this.names = new String[aliases.length + 1];
+        this.names[0] = name;
+        System.arraycopy(aliases, 0, this.names, 1, aliases.length);
+    }
+
+    /**
+     * Returns the ISO 3166-1 English short name of the country, e.g. {@code "Sri Lanka"}.
+     *
+     * @return the display name.
+     */
+    public String displayName() {
+        return names[0];
+    }
+
+    /**
+     * Returns the ISO 3166-1 alpha-2 code, e.g. {@code "LK"}.
+     *
+     * @return the two-letter code.
+     */
+    public String alpha2() {
+        return alpha2;
+    }
+
+    /**
+     * Returns the ISO 3166-1 alpha-3 code, e.g. {@code "LKA"}.
+     *
+     * @return the three-letter code.
+     */
+    public String alpha3() {
+        return alpha3;
+    }
+
+    /**
+     * Returns the ISO 3166-1 numeric code, e.g. {@code 144}.
+     *
+     * @return the numeric code.
+     */
+    public int numericCode() {
+        return numeric;
+    }
+
+    /**
+     * Finds the country with the given English name.
+     *
+     * @param name the country name. Case-insensitive and ignores leading/trailing spaces.
+     * @return the matching country, or {@code null} if there is none.
+     */
+    public static Country fromName(CharSequence name) {
+        if (name == null) {
+            return null;
+        }
+        int from = InputValidator.trimStart(name, 0, name.length());
+        int to = InputValidator.trimEnd(name, from, name.length());
+        if (from == to) {
+            return null;
+        }
+        int slot = NAME_HASH.slot(name, from, to);
+        return PerfectHash.equalsIgnoreCase(NAME_BY_SLOT[slot], name, from, to) ? COUNTRY_BY_SLOT[slot] : null;
+    }
+
+    /**
+     * Finds the country with the given alpha-2, alpha-3 or three-digit numeric code.
+     *
+     * @param code the country code. Case-insensitive and ignores leading/trailing spaces.
+     * @return the matching country, or {@code null} if there is none.
+     */
+    public static Country fromCode(CharSequence code) {
+        if (code == null) {
+            return null;
+        }
+        int from = InputValidator.trimStart(code, 0, code.length());
+        int to = InputValidator.trimEnd(code, from, code.length());
+        if (to - from == 2) {
+            return lookup(BY_ALPHA_2, letters(code, from, 2));
+        }
+        if (to - from == 3) {
+            int index = letters(code, from, 3);
+            return lookup(index >= 0 ? BY_ALPHA_3 : BY_NUMERIC, index >= 0 ? index : digits(code, from));
+        }
+        return null;
+    }
+
+    /**
+     * Finds the country with the given code in one specific format.
+     *
+     * @param code the country code. Case-insensitive and ignores leading/trailing spaces.
+     * @param type the format the code must be in.
+     * @return the matching country, or {@code null} if there is none.
+     */
+    public static Country fromCode(CharSequence code, CodeType type) {
+        if (code == null) {
+            return null;
+        }
+        int from = InputValidator.trimStart(code, 0, code.length());
+        int to = InputValidator.trimEnd(code, from, code.length());
+        switch (type) {
+            case ALPHA_2:
+                return to - from == 2 ? lookup(BY_ALPHA_2, letters(code, from, 2)) : null;
+            case ALPHA_3:
+                return to - from == 3 ? lookup(BY_ALPHA_3, letters(code, from, 3)) : null;
+            case NUMERIC:
+                return to - from == 3 ? lookup(BY_NUMERIC, digits(code, from)) : null;
+            default:
+                throw new IllegalArgumentException("Unknown code type: " + type);
+        }
+    }
+
+    /**
+     * Finds the country with the given numeric code.
+     *
+     * @param numericCode the ISO 3166-1 numeric code, e.g. {@code 840}.
+     * @return the matching country, or {@code null} if there is none.
+     */
+    public static Country fromNumericCode(int numericCode) {
+        return numericCode >= 0 && numericCode < BY_NUMERIC.length ? lookup(BY_NUMERIC, numericCode) : null;
+    }
+
+    private static Country lookup(short[] index, int key) {
+        int entry = key < 0 ? 0 : index[key];
+        return entry == 0 ? null : VALUES[entry - 1];
+    }
+
+    // Packs count ASCII letters into a base-26 key, or returns -1 if any character is not a letter.
+    private static int letters(CharSequence s, int from, int count) {
+        int key = 0;
+        for (int i = from; i < from + count; i++) {
+            int c = s.charAt(i) | 0x20;
+            if (c < 'a' || c > 'z') {
+                return -1;
+            }
+            key = key * 26 + (c - 'a');
+        }
+        return key;
+    }
+
+    // Parses exactly three ASCII digits, or returns -1.
+    private static int digits(CharSequence s, int from) {
+        int key = 0;
+        for (int i = from; i < from + 3; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            key = key * 10 + d;
+        }
+        return key;
+    }
+}
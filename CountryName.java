@@ -0,0 +1,25 @@
+package inputvalidator;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field that must pass {@link InputValidator#validateCountry(String)}.
+ *
+ * <p>Named so that it does not clash with the {@link Country} enum.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * record SignUp(@CountryName String country) {}
+ * }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface CountryName {
+}
@@ -0,0 +1,129 @@
+package inputvalidator;
+
+import java.util.Arrays;
+
+/**
+ * The failing fields found by {@link CsvValidator}.
+ *
+ * <p>Each failure is a (row, column) pair packed into one {@code long}: rows are 0-based record
+ * numbers in the file, counting a header record if there is one, and columns are 0-based indexes
+ * into the validator's rules. Failures are kept in file order, up to the validator's limit;
+ * {@link #failureCount()} counts all of them.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * for (int i = 0; i < report.reportedFailures(); i++) {
+ *     System.out.println("row " + report.row(i) + ", column " + report.column(i));
+ * }
+ * }
+ * </pre>
+ */
+public final class CsvReport {
+
+    private static final int COLUMN_BITS = 20;
+    static final int MAX_COLUMNS = 1 << COLUMN_BITS;
+
+    private final int maxReported;
+    private long[] failures;
+    private int reported;
+    private long failureCount;
+    private long records;
+
+    CsvReport(int maxReported) {
+        this.maxReported = maxReported;
+        this.failures = new long[Math.min(16, maxReported)];
+    }
+
+    void addFailure(long row, int column) {
+        failureCount++;
+        if (reported == maxReported) {
+            return;
+        }
+        if (reported == failures.length) {
+            failures = Arrays.copyOf(failures, (int) Math.min((long) reported * 2, maxReported));
+        }
+        failures[reported++] = row << COLUMN_BITS | column;
+    }
+
+    /**
+     * Adds the records and failures of a report on a later part of the same file, whose rows
+     * count from {@code rowOffset}.
+     */
+    void append(CsvReport other, long rowOffset) {
+        records += other.records;
+        for (int i = 0; i < other.reported; i++) {
+            addFailure(rowOffset + other.row(i), other.column(i));
+        }
+        failureCount += other.failureCount - other.reported;
+    }
+
+    void addRecord() {
+        records++;
+    }
+
+    /**
+     * Returns the number of records that were validated, not counting a header.
+     */
+    public long records() {
+        return records;
+    }
+
+    /**
+     * Returns the number of failing fields in the file, including those past the reporting limit.
+     */
+    public long failureCount() {
+        return failureCount;
+    }
+
+    /**
+     * Returns the number of failures whose positions were kept.
+     */
+    public int reportedFailures() {
+        return reported;
+    }
+
+    /**
+     * Returns {@code true} if there were more failures than the reporting limit.
+     */
+    public boolean isTruncated() {
+        return failureCount > reported;
+    }
+
+    /**
+     * Returns the row of the {@code i}-th reported failure.
+     *
+     * @throws IndexOutOfBoundsException if {@code i} is not less than {@link #reportedFailures()}.
+     */
+    public long row(int i) {
+        return failure(i) >>> COLUMN_BITS;
+    }
+
+    /**
+     * Returns the column of the {@code i}-th reported failure.
+     *
+     * @throws IndexOutOfBoundsException if {@code i} is not less than {@link #reportedFailures()}.
+     */
+    public int column(int i) {
+        return (int) (failure(i) & (MAX_COLUMNS - 1));
+    }
+
+    /**
+     * Returns {@code true} if no field failed.
+     */
+    public boolean isValid() {
+        return failureCount == 0;
+    }
+
+    private long failure(int i) {
+        if (i < 0 || i >= reported) {
+            throw new IndexOutOfBoundsException("Failure " + i + " of " + reported);
+        }
+        return failures[i];
+    }
+
+    @Override
+    public String toString() {
+        return "CsvReport[records=" + records + ", failures=" + failureCount + ", reported=" + reported + "]";
+    }
+}
@@ -0,0 +1,537 @@
+package inputvalidator;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Validates the columns of a CSV file against {@link InputValidator} rules, streaming over a
+ * memory-mapped view of the file.
+ *
+ * <p>Records and fields are split directly on the UTF-8 bytes (RFC 4180: fields separated by the
+ * delimiter, records by {@code \n} or {@code \r\n}, quoted fields may contain delimiters, line
+ * breaks and {@code ""}). Each field is handed to its column's rule through one reusable
+ * {@link CharSequence}, so no {@code String} is created per field. The file is mapped one window
+ * at a time, so memory use does not grow with the file; only the {@link CsvReport} does, up to
+ * its reporting limit.</p>
+ *
+ * <p>A field fails if its rule rejects it, if it is not well-formed UTF-8, or if it is a quoted
+ * field with stray characters after the closing quote or no closing quote. Records with fewer
+ * fields than there are rules fail in each missing column; fields past the last rule are not
+ * checked.</p>
+ *
+ * <p>Instances are immutable and thread-safe.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * CsvValidator validator = new CsvValidator(CsvValidator.Rule.EMAIL, CsvValidator.Rule.DATE_OF_BIRTH,
+ *         CsvValidator.Rule.COUNTRY, CsvValidator.Rule.ANY).withHeader(true);
+ * CsvReport report = validator.validate(Paths.get("users.csv"));
+ * boolean clean = report.isValid();
+ * }
+ * </pre>
+ */
+public final class CsvValidator {
+
+    /**
+     * The check applied to every field of a column.
+     */
+    public enum Rule {
+        /** {@link InputValidator#validateEmail(String)} */
+        EMAIL,
+        /** {@link InputValidator#validatePassword(String)} */
+        PASSWORD,
+        /** {@link InputValidator#validateDateOfBirth(String)} */
+        DATE_OF_BIRTH,
+        /** {@link InputValidator#validateDateTime(String)} */
+        DATE_TIME,
+        /** {@link InputValidator#validateCountry(String)} */
+        COUNTRY,
+        /** {@link InputValidator#validateCountryCode(String)} */
+        COUNTRY_CODE,
+        /** {@link InputValidator#validateWebsiteURL(String)} */
+        WEBSITE_URL,
+        /** {@link InputValidator#validateString(String)} */
+        STRING,
+        /** {@link InputValidator#validateNumber(String)} */
+        NUMBER,
+        /** Accepts any well-formed field. */
+        ANY
+    }
+
+    private static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+    private static final int DEFAULT_MAX_REPORTED_FAILURES = 1 << 20;
+    // Smallest byte range worth handing to its own worker
+    private static final long MIN_CHUNK_SIZE = 256 << 10;
+
+    private final Rule[] rules;
+    private final byte delimiter;
+    private final boolean header;
+    private final int maxReportedFailures;
+    private final int windowSize;
+
+    /**
+     * Creates a validator for comma-separated files without a header.
+     *
+     * @param rules the rule for each column, in order. Must not be null or contain null.
+     */
+    public CsvValidator(Rule... rules) {
+        this(rules.clone(), (byte) ',', false, DEFAULT_MAX_REPORTED_FAILURES, DEFAULT_WINDOW_SIZE);
+        for (Rule rule : this.rules) {
+            Objects.requireNonNull(rule, "rule");
+        }
+        if (rules.length > CsvReport.MAX_COLUMNS) {
+            throw new IllegalArgumentException("At most " + CsvReport.MAX_COLUMNS + " columns");
+        }
+    }
+
+    private CsvValidator(Rule[] rules, byte delimiter, boolean header, int maxReportedFailures, int windowSize) {
+        this.rules = rules;
+        this.delimiter = delimiter;
+        this.header = header;
+        this.maxReportedFailures = maxReportedFailures;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Returns a copy that separates fields with {@code delimiter}, e.g. {@code ';'} or {@code '\t'}.
+     *
+     * @throws IllegalArgumentException if the delimiter is not ASCII, or is a quote or line break.
+     */
+    public CsvValidator withDelimiter(char delimiter) {
+        if (delimiter >= 128 || delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Unsupported delimiter: " + delimiter);
+        }
+        return new CsvValidator(rules, (byte) delimiter, header, maxReportedFailures, windowSize);
+    }
+
+    /**
+     * Returns a copy that skips the first record of the file if {@code header} is {@code true}.
+     */
+    public CsvValidator withHeader(boolean header) {
+        return new CsvValidator(rules, delimiter, header, maxReportedFailures, windowSize);
+    }
+
+    /**
+     * Returns a copy that keeps the positions of at most {@code max} failures; later failures
+     * are only counted.
+     */
+    public CsvValidator withMaxReportedFailures(int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("max < 0: " + max);
+        }
+        return new CsvValidator(rules, delimiter, header, max, windowSize);
+    }
+
+    /**
+     * Returns a copy that maps the file {@code bytes} at a time (64 MB by default). A record longer
+     * than the window temporarily widens it.
+     */
+    public CsvValidator withWindowSize(int bytes) {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("bytes <= 0: " + bytes);
+        }
+        return new CsvValidator(rules, delimiter, header, maxReportedFailures, bytes);
+    }
+
+    /**
+     * Validates every record of {@code file}.
+     *
+     * @param file the CSV file, encoded in UTF-8. Must not be null.
+     * @return the failing positions.
+     * @throws IOException if the file cannot be read, or holds a record longer than 2 GB.
+     */
+    public CsvReport validate(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Scan scan = new Scan(channel);
+            scan.run(0, Long.MAX_VALUE);
+            return scan.report;
+        }
+    }
+
+    /**
+     * Validates every record of {@code file}, splitting the file into one byte range per worker
+     * of {@code pool}.
+     *
+     * <p>A first parallel pass counts the quotes in each range, which tells every worker whether
+     * its range starts inside a quoted field. Each worker then skips to the first record boundary
+     * in its range, validates the records that start in it, and the partial reports are merged in
+     * file order, so the result is the same as {@link #validate(Path)}. If a range's boundary
+     * disagrees with where the previous range's last record actually ended, which only happens
+     * with stray quotes inside unquoted fields, that range is validated again on the calling
+     * thread from the right place.</p>
+     *
+     * @param file the CSV file, encoded in UTF-8. Must not be null.
+     * @param pool the pool to run the workers on, e.g. {@link ForkJoinPool#commonPool()}. Must not be null.
+     * @return the failing positions.
+     * @throws IOException if the file cannot be read, or holds a record longer than 2 GB.
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * CsvReport report = validator.validate(Paths.get("export.csv"), ForkJoinPool.commonPool());
+     * }
+     * </pre>
+     */
+    public CsvReport validate(Path file, ForkJoinPool pool) throws IOException {
+        Objects.requireNonNull(pool, "pool");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int chunks = (int) Math.min(pool.getParallelism(), size / MIN_CHUNK_SIZE);
+            if (chunks <= 1) {
+                Scan scan = new Scan(channel);
+                scan.run(0, Long.MAX_VALUE);
+                return scan.report;
+            }
+            long[] bounds = new long[chunks + 1];
+            for (int i = 0; i <= chunks; i++) {
+                bounds[i] = size / chunks * i + Math.min(i, size % chunks);
+            }
+
+            List<Callable<Long>> counts = new ArrayList<>(chunks);
+            for (int i = 0; i < chunks; i++) {
+                long from = bounds[i];
+                long to = bounds[i + 1];
+                counts.add(() -> new Scan(channel).countQuotes(from, to));
+            }
+            List<Long> quotes = invokeAll(pool, counts);
+
+            List<Callable<Chunk>> scans = new ArrayList<>(chunks);
+            boolean inQuotes = false;
+            for (int i = 0; i < chunks; i++) {
+                long from = bounds[i];
+                long to = bounds[i + 1];
+                boolean startsInQuotes = inQuotes;
+                scans.add(() -> {
+                    Scan scan = new Scan(channel);
+                    long start = scan.findRecordStart(from, startsInQuotes);
+                    return new Chunk(start, scan.run(start, to), scan);
+                });
+                inQuotes ^= (quotes.get(i) & 1) != 0;
+            }
+            List<Chunk> results = invokeAll(pool, scans);
+
+            CsvReport report = new CsvReport(maxReportedFailures);
+            long position = 0;
+            long rows = 0;
+            for (int i = 0; i < chunks; i++) {
+                Chunk chunk = results.get(i);
+                if (chunk.start != position) {
+                    Scan scan = new Scan(channel);
+                    chunk = new Chunk(position, scan.run(position, bounds[i + 1]), scan);
+                }
+                report.append(chunk.scan.report, rows);
+                rows += chunk.scan.rows;
+                position = chunk.end;
+            }
+            return report;
+        }
+    }
+
+    private static <T> List<T> invokeAll(ForkJoinPool pool, List<Callable<T>> tasks) throws IOException {
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while validating");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+        return results;
+    }
+
+    // The unmetered rules behind the validate* methods, so that CSV runs stay out of ValidationMetrics
+    private static boolean test(Rule rule, CharSequence field) {
+        switch (rule) {
+            case EMAIL:
+                return Rules.EMAIL.test(field);
+            case PASSWORD:
+                return Rules.PASSWORD.test(field);
+            case DATE_OF_BIRTH:
+                return Rules.DATE_OF_BIRTH.test(field);
+            case DATE_TIME:
+                return Rules.DATE_TIME.test(field);
+            case COUNTRY:
+                return Rules.COUNTRY.test(field);
+            case COUNTRY_CODE:
+                return Rules.COUNTRY_CODE.test(field);
+            case WEBSITE_URL:
+                return Rules.WEBSITE_URL.test(field);
+            case STRING:
+                return Rules.NON_BLANK.test(field);
+            case NUMBER:
+                return Rules.number(NumberSyntax.JAVA_DOUBLE).test(field);
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * The records of one byte range: where the first one starts, where the one after the last
+     * one starts, and the scan that validated them.
+     */
+    private static final class Chunk {
+
+        final long start;
+        final long end;
+        final Scan scan;
+
+        Chunk(long start, long end, Scan scan) {
+            this.start = start;
+            this.end = end;
+            this.scan = scan;
+        }
+    }
+
+    /**
+     * The state of one sequential pass over part of a file: the current window and the record
+     * being parsed.
+     */
+    private final class Scan {
+
+        // Returned by parseRecord when the record runs past the end of a window that is not the
+        // end of the file
+        private static final int NEED_MORE = -1;
+
+        private final FileChannel channel;
+        private final long size;
+        private final FieldView view = new FieldView();
+        private final CsvReport report = new CsvReport(maxReportedFailures);
+        // Columns that failed in the current record, reported once the whole record is parsed
+        private final int[] recordFailures = new int[rules.length];
+        private int recordFailureCount;
+        private boolean fieldAscii;
+        // Records parsed so far, including a header; rows in the report count from the first one
+        private long rows;
+
+        private MappedByteBuffer window;
+        private long windowStart;
+        private int limit;
+        private boolean lastWindow;
+
+        Scan(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        /**
+         * Parses the records that start at or after {@code start} (a record boundary) and before
+         * {@code stop}, and returns where the first record at or after {@code stop} starts.
+         */
+        long run(long start, long stop) throws IOException {
+            int mapSize = windowSize;
+            map(start, mapSize);
+            int pos = 0;
+            while (windowStart + pos < Math.min(stop, size)) {
+                boolean validate = rows > 0 || start > 0 || !header;
+                int next = parseRecord(pos, validate);
+                if (next == NEED_MORE) {
+                    if (pos == 0) {
+                        // The record fills the whole window
+                        if (mapSize == Integer.MAX_VALUE) {
+                            throw new IOException("Record at byte " + windowStart + " is longer than "
+                                    + Integer.MAX_VALUE + " bytes");
+                        }
+                        mapSize = (int) Math.min(2L * mapSize, Integer.MAX_VALUE);
+                    }
+                    map(windowStart + pos, mapSize);
+                    pos = 0;
+                    continue;
+                }
+                if (validate) {
+                    report.addRecord();
+                    for (int i = 0; i < recordFailureCount; i++) {
+                        report.addFailure(rows, recordFailures[i]);
+                    }
+                }
+                rows++;
+                pos = next;
+            }
+            return windowStart + pos;
+        }
+
+        /**
+         * Returns the number of {@code '"'} bytes in {@code [from, to)}.
+         */
+        long countQuotes(long from, long to) throws IOException {
+            long quotes = 0;
+            for (long start = from; start < to; start += limit) {
+                map(start, (int) Math.min(windowSize, to - start));
+                for (int i = 0; i < limit; i++) {
+                    if (window.get(i) == '"') {
+                        quotes++;
+                    }
+                }
+            }
+            return quotes;
+        }
+
+        /**
+         * Returns the first record boundary at or after {@code from}, given whether {@code from}
+         * lies inside a quoted field, or the file size if there is none.
+         */
+        long findRecordStart(long from, boolean inQuotes) throws IOException {
+            if (from == 0) {
+                return 0;
+            }
+            // A record starts at from itself if the byte before it is an unquoted line break
+            map(from - 1, windowSize);
+            if (window.get(0) == '\n' && !inQuotes) {
+                return from;
+            }
+            int i = 1;
+            while (true) {
+                for (; i < limit; i++) {
+                    byte b = window.get(i);
+                    if (b == '"') {
+                        inQuotes = !inQuotes;
+                    } else if (b == '\n' && !inQuotes) {
+                        return windowStart + i + 1;
+                    }
+                }
+                if (lastWindow) {
+                    return size;
+                }
+                map(windowStart + limit, windowSize);
+                i = 0;
+            }
+        }
+
+        private void map(long start, int mapSize) throws IOException {
+            windowStart = start;
+            limit = (int) Math.min(mapSize, size - start);
+            lastWindow = start + limit == size;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start, limit);
+        }
+
+        /**
+         * Parses the record at {@code pos}, validating its fields if {@code validate} is set, and
+         * returns the position of the next record or {@link #NEED_MORE}.
+         */
+        private int parseRecord(int pos, boolean validate) {
+            recordFailureCount = 0;
+            int column = 0;
+            while (true) {
+                boolean valid = true;
+                int end;
+                if (pos < limit && window.get(pos) == '"') {
+                    // Quoted: find the closing quote, skipping "" pairs
+                    int i = pos + 1;
+                    boolean plain = true;
+                    boolean closed = false;
+                    while (i < limit) {
+                        byte b = window.get(i);
+                        if (b == '"') {
+                            if (i + 1 < limit && window.get(i + 1) == '"') {
+                                plain = false;
+                                i += 2;
+                                continue;
+                            }
+                            if (i + 1 == limit && !lastWindow) {
+                                return NEED_MORE;
+                            }
+                            closed = true;
+                            break;
+                        }
+                        plain &= b >= 0;
+                        i++;
+                    }
+                    if (!closed && !lastWindow) {
+                        return NEED_MORE;
+                    }
+                    if (validate && column < rules.length) {
+                        valid = plain ? setAscii(pos + 1, i) : view.setUtf8(window, pos + 1, i, true);
+                    }
+                    // Anything but the delimiter or a line break after the closing quote is malformed
+                    end = closed ? i + 1 : i;
+                    if (end < limit && window.get(end) == '\r' && end + 1 < limit && window.get(end + 1) == '\n') {
+                        end++;
+                    }
+                    if (end < limit && window.get(end) != delimiter && window.get(end) != '\n') {
+                        valid = false;
+                        end = skipField(end);
+                        if (end == NEED_MORE) {
+                            return NEED_MORE;
+                        }
+                    }
+                    valid &= closed;
+                } else {
+                    end = skipField(pos);
+                    if (end == NEED_MORE) {
+                        return NEED_MORE;
+                    }
+                    if (validate && column < rules.length) {
+                        int fieldEnd = end;
+                        if (fieldEnd > pos && window.get(fieldEnd - 1) == '\r' && (fieldEnd == limit || window.get(fieldEnd) == '\n')) {
+                            fieldEnd--;
+                        }
+                        valid = fieldAscii ? setAscii(pos, fieldEnd) : view.setUtf8(window, pos, fieldEnd, false);
+                    }
+                }
+
+                if (validate && column < rules.length && !(valid && test(rules[column], view))) {
+                    recordFailures[recordFailureCount++] = column;
+                }
+                column++;
+
+                if (end < limit && window.get(end) == delimiter) {
+                    pos = end + 1;
+                    continue;
+                }
+                if (validate) {
+                    for (int missing = column; missing < rules.length; missing++) {
+                        recordFailures[recordFailureCount++] = missing;
+                    }
+                }
+                return end < limit ? end + 1 : end;
+            }
+        }
+
+        // Returns the position of the delimiter or line break that ends the field at pos,
+        // and records in fieldAscii whether the field is plain ASCII
+        private int skipField(int pos) {
+            int i = pos;
+            int bits = 0;
+            while (i < limit) {
+                byte b = window.get(i);
+                if (b == delimiter || b == '\n') {
+                    fieldAscii = bits >= 0;
+                    return i;
+                }
+                bits |= b;
+                i++;
+            }
+            fieldAscii = bits >= 0;
+            return lastWindow ? i : NEED_MORE;
+        }
+
+        private boolean setAscii(int from, int to) {
+            view.setAscii(window, from, to);
+            return true;
+        }
+    }
+}
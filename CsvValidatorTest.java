@@ -0,0 +1,163 @@
+package validatortest;
+
+import inputvalidator.CsvReport;
+import inputvalidator.CsvValidator;
+import inputvalidator.CsvValidator.Rule;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvValidatorTest {
+
+    private static final CsvValidator USERS = new CsvValidator(Rule.EMAIL, Rule.DATE_OF_BIRTH, Rule.COUNTRY, Rule.NUMBER);
+
+    private static Path write(byte[] content) throws IOException {
+        Path file = Files.createTempFile("validator", ".csv");
+        Files.write(file, content);
+        return file;
+    }
+
+    private static Path write(String content) throws IOException {
+        return write(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Reported failures as "row:column" strings
+    private static List<String> failures(CsvReport report) {
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < report.reportedFailures(); i++) {
+            failures.add(report.row(i) + ":" + report.column(i));
+        }
+        return failures;
+    }
+
+    @Test
+    public void testValidate() throws IOException {
+        Path file = write("email,dob,country,score\n"
+                + "test@example.com,2000-01-01,Sri Lanka,12.5\n"
+                + "invalid-email,2000-02-30,Atlantis,12abc\n"
+                + "user@example.org, 1990-06-15 ,\"Korea, Republic of\",-3\r\n"
+                + "a@b.co,1985-01-01,Côte d'Ivoire,1e3\n"
+                + "short@example.com,1985-01-01\n");
+        CsvReport report = USERS.withHeader(true).validate(file);
+
+        assertEquals(5, report.records());
+        assertEquals(List.of("2:0", "2:1", "2:2", "2:3", "5:2", "5:3"), failures(report));
+        assertEquals(6, report.failureCount());
+        assertFalse(report.isValid());
+        assertFalse(report.isTruncated());
+
+        // Without the header option, the header row is validated like any other
+        assertEquals(List.of("0:0", "0:1", "0:2", "0:3"), failures(USERS.validate(file)).subList(0, 4));
+    }
+
+    @Test
+    public void testQuotedFields() throws IOException {
+        CsvValidator validator = new CsvValidator(Rule.STRING, Rule.EMAIL);
+        Path file = write("\"line one\nline two\",test@example.com\n"
+                + "\"say \"\"hi\"\"\",\"test@example.com\"\n"
+                + "\"\",test@example.com\n"                  // Blank
+                + "\"closed\"junk,test@example.com\n"        // Stray characters after the quote
+                + "ok,\"unterminated@example.com\n");
+        CsvReport report = validator.validate(file);
+
+        assertEquals(5, report.records());
+        assertEquals(List.of("2:0", "3:0", "4:1"), failures(report));
+    }
+
+    @Test
+    public void testMalformedUtf8() throws IOException {
+        byte[] content = "Sri Lanka\nFrance\nCuraçao\n".getBytes(StandardCharsets.UTF_8);
+        content[content.length - 5] = (byte) 0xC0; // Overlong encoding in place of 'ç'
+        CsvReport report = new CsvValidator(Rule.COUNTRY).validate(write(content));
+
+        assertEquals(3, report.records());
+        assertEquals(List.of("2:0"), failures(report));
+    }
+
+    @Test
+    public void testDelimiterAndLimits() throws IOException {
+        Path file = write("LK;x\nXX;y\nUS\nZZ;z\n");
+        CsvValidator validator = new CsvValidator(Rule.COUNTRY_CODE, Rule.ANY).withDelimiter(';');
+
+        assertEquals(List.of("1:0", "2:1", "3:0"), failures(validator.validate(file)));
+
+        CsvReport truncated = validator.withMaxReportedFailures(1).validate(file);
+        assertEquals(List.of("1:0"), failures(truncated));
+        assertEquals(3, truncated.failureCount());
+        assertTrue(truncated.isTruncated());
+
+        assertTrue(new CsvValidator(Rule.EMAIL).validate(write("")).isValid());
+        assertThrows(IllegalArgumentException.class, () -> validator.withDelimiter('"'));
+    }
+
+    @Test
+    public void testWindowBoundaries() throws IOException {
+        String[] fields = {
+                "test@example.com", "invalid-email", "\"quoted@example.com\"", "\"a,b\"", "\"x\"\"y\"",
+                "\"multi\nline@example.com\"", "", "user@example.org\r"
+        };
+        Random random = new Random(14);
+        StringBuilder csv = new StringBuilder();
+        for (int row = 0; row < 2_000; row++) {
+            int columns = 1 + random.nextInt(3);
+            for (int column = 0; column < columns; column++) {
+                csv.append(column > 0 ? "," : "").append(fields[random.nextInt(fields.length)]);
+            }
+            csv.append('\n');
+        }
+        Path file = write(csv.toString());
+
+        CsvValidator validator = new CsvValidator(Rule.EMAIL, Rule.EMAIL);
+        List<String> expected = failures(validator.validate(file));
+        for (int windowSize : new int[] {1, 7, 64, 4096}) {
+            assertEquals(expected, failures(validator.withWindowSize(windowSize).validate(file)));
+        }
+    }
+
+    @Test
+    public void testParallelMatchesSequential() throws IOException {
+        String[] wellFormed = {
+                "test@example.com", "invalid-email", "\"quoted@example.com\"", "\"a,\nb\"", "\"x\"\"\ny\"",
+                "\"multi\nline\n\"\"@example.com\"", "", "user@example.org\r"
+        };
+        String[] malformed = {"test@example.com", "stray\"quote", "\"a\nb\"", "\"closed\"junk\n\"", "x\"\"y"};
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (String[] fields : new String[][] {wellFormed, malformed}) {
+                Random random = new Random(15);
+                StringBuilder csv = new StringBuilder("email,email\n");
+                while (csv.length() < 1_500_000) {
+                    int columns = 1 + random.nextInt(3);
+                    for (int column = 0; column < columns; column++) {
+                        csv.append(column > 0 ? "," : "").append(fields[random.nextInt(fields.length)]);
+                    }
+                    csv.append('\n');
+                }
+                Path file = write(csv.toString());
+
+                CsvValidator validator = new CsvValidator(Rule.EMAIL, Rule.EMAIL).withHeader(true).withWindowSize(100_000);
+                CsvReport sequential = validator.validate(file);
+                CsvReport parallel = validator.validate(file, pool);
+                assertEquals(sequential.records(), parallel.records());
+                assertEquals(sequential.failureCount(), parallel.failureCount());
+                assertEquals(failures(sequential), failures(parallel));
+                assertTrue(sequential.failureCount() > 0);
+
+                CsvReport truncated = validator.withMaxReportedFailures(10).validate(file, pool);
+                assertEquals(failures(sequential).subList(0, 10), failures(truncated));
+                assertEquals(sequential.failureCount(), truncated.failureCount());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
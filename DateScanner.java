@@ -0,0 +1,230 @@
+package inputvalidator;
+
+/**
+ * Fixed-width date scanning and proleptic Gregorian calendar arithmetic on plain integers,
+ * so date validation never builds {@code java.time} objects.
+ */
+final class DateScanner {
+
+    /**
+     * Returned by {@link #parseDate} when the input is not a valid date.
+     */
+    static final long INVALID = Long.MIN_VALUE;
+
+    static final int DATE_LENGTH = 10;
+
+    private static final int DAYS_0000_TO_1970 = 719528;
+
+    private DateScanner() {}
+
+    /**
+     * Parses a {@code YYYY-MM-DD} date at {@code input[from, from + 10)} and returns its epoch day,
+     * or {@link #INVALID} if the characters are malformed or the date does not exist.
+     * The caller checks that ten characters are available.
+     */
+    static long parseDate(CharSequence input, int from) {
+        int year = digits(input, from, 4);
+        int month = digits(input, from + 5, 2);
+        int day = digits(input, from + 8, 2);
+        if (year < 0 || month < 0 || day < 0
+                || input.charAt(from + 4) != '-' || input.charAt(from + 7) != '-'
+                || !isValidDate(year, month, day)) {
+            return INVALID;
+        }
+        return epochDay(year, month, day);
+    }
+
+    /**
+     * Checks a {@code YYYY-MM-DD} date at the start of {@code input[from, to)}, ignoring anything after
+     * its ten characters, and returns {@link FailureReason#VALID} or a result code: {@code BAD_FORMAT}
+     * at the first character out of place, or {@code INVALID_DATE} at the month or day that does not exist.
+     */
+    static int checkDate(CharSequence input, int from, int to) {
+        for (int i = from; i < from + DATE_LENGTH; i++) {
+            if (i == to) {
+                return FailureReason.BAD_FORMAT.at(i);
+            }
+            char c = input.charAt(i);
+            boolean separator = i - from == 4 || i - from == 7;
+            if (separator ? c != '-' : c < '0' || c > '9') {
+                return FailureReason.BAD_FORMAT.at(i);
+            }
+        }
+        int month = digits(input, from + 5, 2);
+        if (month < 1 || month > 12) {
+            return FailureReason.INVALID_DATE.at(from + 5);
+        }
+        int day = digits(input, from + 8, 2);
+        if (day < 1 || day > lengthOfMonth(digits(input, from, 4), month)) {
+            return FailureReason.INVALID_DATE.at(from + 8);
+        }
+        return FailureReason.VALID;
+    }
+
+    /**
+     * Checks an ISO 8601 timestamp {@code YYYY-MM-DDThh:mm:ss[.fraction](Z|+hh:mm|-hh:mm)} in
+     * {@code input[from, to)}: field ranges, month lengths, leap years, at most nine fraction
+     * digits and offsets within &plusmn;18:00. On success the instant is written to {@code result}
+     * if it is not null.
+     */
+    static boolean parseDateTime(CharSequence input, int from, int to, EpochTimestamp result) {
+        return checkDateTime(input, from, to, result) == FailureReason.VALID;
+    }
+
+    /**
+     * Same as {@link #parseDateTime}, but returns {@link FailureReason#VALID} or a result code for the
+     * field that is wrong: {@code BAD_FORMAT} or {@code INVALID_DATE} at its first character, or
+     * {@code UNEXPECTED_CHARACTER} where the timestamp should have ended or its offset should begin.
+     */
+    static int checkDateTime(CharSequence input, int from, int to, EpochTimestamp result) {
+        int code = checkDate(input, from, to);
+        if (code != FailureReason.VALID) {
+            return code;
+        }
+        if (!isAt(input, from + 10, to, 'T')) {
+            return FailureReason.BAD_FORMAT.at(from + 10);
+        }
+        int hour = field(input, from + 11, to, 23);
+        if (hour < 0) {
+            return FailureReason.BAD_FORMAT.at(from + 11);
+        }
+        if (!isAt(input, from + 13, to, ':')) {
+            return FailureReason.BAD_FORMAT.at(from + 13);
+        }
+        int minute = field(input, from + 14, to, 59);
+        if (minute < 0) {
+            return FailureReason.BAD_FORMAT.at(from + 14);
+        }
+        if (!isAt(input, from + 16, to, ':')) {
+            return FailureReason.BAD_FORMAT.at(from + 16);
+        }
+        int second = field(input, from + 17, to, 59);
+        if (second < 0) {
+            return FailureReason.BAD_FORMAT.at(from + 17);
+        }
+
+        int i = from + 19;
+        int nano = 0;
+        if (isAt(input, i, to, '.')) {
+            int start = ++i;
+            while (i < to && input.charAt(i) >= '0' && input.charAt(i) <= '9') {
+                if (i - start == 9) {
+                    return FailureReason.BAD_FORMAT.at(i);
+                }
+                nano = nano * 10 + (input.charAt(i++) - '0');
+            }
+            int fractionDigits = i - start;
+            if (fractionDigits == 0) {
+                return FailureReason.BAD_FORMAT.at(start);
+            }
+            for (int d = fractionDigits; d < 9; d++) {
+                nano *= 10;
+            }
+        }
+
+        if (i == to) {
+            return FailureReason.BAD_FORMAT.at(i);
+        }
+        int offsetSeconds;
+        char sign = input.charAt(i);
+        if (sign == 'Z') {
+            if (i + 1 != to) {
+                return FailureReason.UNEXPECTED_CHARACTER.at(i + 1);
+            }
+            offsetSeconds = 0;
+        } else if (sign == '+' || sign == '-') {
+            if (to - i != 6 || input.charAt(i + 3) != ':') {
+                return FailureReason.BAD_FORMAT.at(i);
+            }
+            int offsetHours = digits(input, i + 1, 2);
+            int offsetMinutes = digits(input, i + 4, 2);
+            if (offsetHours < 0 || offsetHours > 18) {
+                return FailureReason.BAD_FORMAT.at(i + 1);
+            }
+            if (offsetMinutes < 0 || offsetMinutes > 59 || offsetHours == 18 && offsetMinutes != 0) {
+                return FailureReason.BAD_FORMAT.at(i + 4);
+            }
+            offsetSeconds = (offsetHours * 3600 + offsetMinutes * 60) * (sign == '-' ? -1 : 1);
+        } else {
+            return FailureReason.UNEXPECTED_CHARACTER.at(i);
+        }
+
+        if (result != null) {
+            long epochDay = parseDate(input, from);
+            result.set(epochDay * 86400 + hour * 3600 + minute * 60 + second - offsetSeconds, nano);
+        }
+        return FailureReason.VALID;
+    }
+
+    private static boolean isAt(CharSequence input, int i, int to, char c) {
+        return i < to && input.charAt(i) == c;
+    }
+
+    // Two digits at input[at, at + 2) no greater than max, or -1
+    private static int field(CharSequence input, int at, int to, int max) {
+        if (at + 2 > to) {
+            return -1;
+        }
+        int value = digits(input, at, 2);
+        return value > max ? -1 : value;
+    }
+
+    /**
+     * Reads {@code count} ASCII digits as a non-negative number, or returns -1.
+     */
+    static int digits(CharSequence input, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    static boolean isValidDate(int year, int month, int day) {
+        return month >= 1 && month <= 12 && day >= 1 && day <= lengthOfMonth(year, month);
+    }
+
+    static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Days since 1970-01-01, computed the same way as {@link java.time.LocalDate#toEpochDay()}.
+     */
+    static long epochDay(int year, int month, int day) {
+        long y = year;
+        long total = 365 * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+}
@@ -0,0 +1,23 @@
+package inputvalidator;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field that must pass {@link InputValidator#validateEmail(String)}.
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * record SignUp(@Email String email) {}
+ * }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface Email {
+}
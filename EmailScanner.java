@@ -0,0 +1,212 @@
+package inputvalidator;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Table-driven DFA for the email grammar that {@link InputValidator#validateEmail(String)} accepts:
+ *
+ * <pre>
+ * [a-zA-Z0-9._%+-]+@[a-zA-Z0-9]([a-zA-Z0-9-]*[a-zA-Z0-9])?\.[a-zA-Z]{2,}(\.[a-zA-Z]{2,})?
+ * </pre>
+ *
+ * <p>Each character costs one class lookup and one transition lookup, so the scan is linear
+ * in the input length, never backtracks and allocates nothing.</p>
+ */
+final class EmailScanner {
+
+    // Character classes
+    private static final int LETTER = 0;
+    private static final int DIGIT = 1;
+    private static final int HYPHEN = 2;
+    private static final int DOT = 3;
+    private static final int LOCAL_ONLY = 4; // _ % +
+    private static final int AT = 5;
+    private static final int OTHER = 6;
+    private static final int CLASS_COUNT = 7;
+
+    // States
+    static final int START = 0;
+    private static final int LOCAL = 1;
+    private static final int DOMAIN_START = 2;
+    private static final int LABEL = 3;          // label so far ends with a letter or digit
+    private static final int LABEL_HYPHEN = 4;   // label so far ends with '-'
+    private static final int TLD_START = 5;
+    private static final int TLD_ONE = 6;
+    private static final int TLD = 7;            // accepting
+    private static final int SUFFIX_START = 8;
+    private static final int SUFFIX_ONE = 9;
+    private static final int SUFFIX = 10;        // accepting
+    static final int REJECT = 11;
+    private static final int STATE_COUNT = 12;
+
+    private static final byte[] CHAR_CLASS = new byte[128];
+    private static final byte[] TRANSITIONS = new byte[STATE_COUNT * CLASS_COUNT];
+
+    // The ASCII characters that leave each state unchanged, or null if there are none
+    private static final ByteClassifier.AsciiSet[] SELF_LOOPS = new ByteClassifier.AsciiSet[STATE_COUNT];
+
+    // Failure reasons, by the state the scan was in when it hit a bad character or the end
+    private static final FailureReason[] REJECT_REASON = new FailureReason[STATE_COUNT];
+    private static final FailureReason[] END_REASON = new FailureReason[STATE_COUNT];
+
+    static {
+        Arrays.fill(CHAR_CLASS, (byte) OTHER);
+        for (char c = 'a'; c <= 'z'; c++) {
+            CHAR_CLASS[c] = LETTER;
+            CHAR_CLASS[c - 'a' + 'A'] = LETTER;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            CHAR_CLASS[c] = DIGIT;
+        }
+        CHAR_CLASS['-'] = HYPHEN;
+        CHAR_CLASS['.'] = DOT;
+        CHAR_CLASS['_'] = LOCAL_ONLY;
+        CHAR_CLASS['%'] = LOCAL_ONLY;
+        CHAR_CLASS['+'] = LOCAL_ONLY;
+        CHAR_CLASS['@'] = AT;
+
+        Arrays.fill(TRANSITIONS, (byte) REJECT);
+        for (int cls : new int[] {LETTER, DIGIT, HYPHEN, DOT, LOCAL_ONLY}) {
+            edge(START, cls, LOCAL);
+            edge(LOCAL, cls, LOCAL);
+        }
+        edge(LOCAL, AT, DOMAIN_START);
+        edge(DOMAIN_START, LETTER, LABEL);
+        edge(DOMAIN_START, DIGIT, LABEL);
+        edge(LABEL, LETTER, LABEL);
+        edge(LABEL, DIGIT, LABEL);
+        edge(LABEL, HYPHEN, LABEL_HYPHEN);
+        edge(LABEL, DOT, TLD_START);
+        edge(LABEL_HYPHEN, LETTER, LABEL);
+        edge(LABEL_HYPHEN, DIGIT, LABEL);
+        edge(LABEL_HYPHEN, HYPHEN, LABEL_HYPHEN);
+        edge(TLD_START, LETTER, TLD_ONE);
+        edge(TLD_ONE, LETTER, TLD);
+        edge(TLD, LETTER, TLD);
+        edge(TLD, DOT, SUFFIX_START);
+        edge(SUFFIX_START, LETTER, SUFFIX_ONE);
+        edge(SUFFIX_ONE, LETTER, SUFFIX);
+        edge(SUFFIX, LETTER, SUFFIX);
+
+        for (int state = 0; state < REJECT; state++) {
+            StringBuilder loop = new StringBuilder();
+            for (char c = 0; c < 128; c++) {
+                if (next(state, c) == state) {
+                    loop.append(c);
+                }
+            }
+            SELF_LOOPS[state] = loop.length() == 0 ? null : ByteClassifier.AsciiSet.of(loop);
+        }
+
+        reasons(START, FailureReason.BAD_LOCAL_PART, FailureReason.EMPTY);
+        reasons(LOCAL, FailureReason.BAD_LOCAL_PART, FailureReason.MISSING_AT);
+        reasons(DOMAIN_START, FailureReason.BAD_DOMAIN, FailureReason.BAD_DOMAIN);
+        reasons(LABEL, FailureReason.BAD_DOMAIN, FailureReason.MISSING_TLD);
+        reasons(LABEL_HYPHEN, FailureReason.BAD_DOMAIN, FailureReason.BAD_DOMAIN);
+        for (int state : new int[] {TLD_START, TLD_ONE, TLD, SUFFIX_START, SUFFIX_ONE, SUFFIX}) {
+            reasons(state, FailureReason.BAD_TLD, FailureReason.BAD_TLD);
+        }
+    }
+
+    private EmailScanner() {}
+
+    private static void edge(int from, int cls, int to) {
+        TRANSITIONS[from * CLASS_COUNT + cls] = (byte) to;
+    }
+
+    private static void reasons(int state, FailureReason onReject, FailureReason atEnd) {
+        REJECT_REASON[state] = onReject;
+        END_REASON[state] = atEnd;
+    }
+
+    /**
+     * Takes one DFA step, for scans that drive several rules over the same characters.
+     * Returns {@link #REJECT} once the input can no longer match.
+     */
+    static int next(int state, char c) {
+        return TRANSITIONS[state * CLASS_COUNT + (c < 128 ? CHAR_CLASS[c] : OTHER)];
+    }
+
+    static boolean isAccepting(int state) {
+        return state == TLD || state == SUFFIX;
+    }
+
+    /**
+     * Runs the DFA over {@code input[from, to)}; the whole range must match.
+     */
+    static boolean matches(CharSequence input, int from, int to) {
+        return check(input, from, to) == FailureReason.VALID;
+    }
+
+    /**
+     * Runs the DFA over the bytes {@code bytes[from, to)} (absolute indexes); the whole range must match.
+     *
+     * <p>Wherever the DFA sits in a state that loops on a class of characters, such as the local part
+     * or a domain label, the run is skipped with {@link ByteClassifier#span}, which can test many bytes
+     * per step. Bytes outside ASCII are rejected like any other character the grammar lacks, so the
+     * bytes need not be checked as UTF-8 first.</p>
+     */
+    static boolean matches(ByteBuffer bytes, int from, int to) {
+        ByteClassifier classifier = ByteClassifier.INSTANCE;
+        int state = START;
+        int i = from;
+        while (i < to) {
+            ByteClassifier.AsciiSet loop = SELF_LOOPS[state];
+            if (loop != null) {
+                i = classifier.span(bytes, i, to, loop);
+                if (i == to) {
+                    break;
+                }
+            }
+            int b = bytes.get(i++);
+            state = b < 0 ? REJECT : TRANSITIONS[state * CLASS_COUNT + CHAR_CLASS[b]];
+            if (state == REJECT) {
+                return false;
+            }
+        }
+        return isAccepting(state);
+    }
+
+    /**
+     * Like {@link #matches(ByteBuffer, int, int)}, for a byte array.
+     */
+    static boolean matches(byte[] bytes, int from, int to) {
+        ByteClassifier classifier = ByteClassifier.INSTANCE;
+        int state = START;
+        int i = from;
+        while (i < to) {
+            ByteClassifier.AsciiSet loop = SELF_LOOPS[state];
+            if (loop != null) {
+                i = classifier.span(bytes, i, to, loop);
+                if (i == to) {
+                    break;
+                }
+            }
+            int b = bytes[i++];
+            state = b < 0 ? REJECT : TRANSITIONS[state * CLASS_COUNT + CHAR_CLASS[b]];
+            if (state == REJECT) {
+                return false;
+            }
+        }
+        return isAccepting(state);
+    }
+
+    /**
+     * Runs the DFA over {@code input[from, to)} and returns {@link FailureReason#VALID} or a result
+     * code for the first character the DFA rejects, or for {@code to} if the input ends too early.
+     */
+    static int check(CharSequence input, int from, int to) {
+        int state = START;
+        for (int i = from; i < to; i++) {
+            char c = input.charAt(i);
+            int cls = c < 128 ? CHAR_CLASS[c] : OTHER;
+            int next = TRANSITIONS[state * CLASS_COUNT + cls];
+            if (next == REJECT) {
+                return REJECT_REASON[state].at(i);
+            }
+            state = next;
+        }
+        return state == TLD || state == SUFFIX ? FailureReason.VALID : END_REASON[state].at(to);
+    }
+}
@@ -0,0 +1,57 @@
+package inputvalidator;
+
+/**
+ * A reusable holder for the instant produced by
+ * {@link InputValidator#validateDateTime(CharSequence, EpochTimestamp)}.
+ *
+ * <p>Keeping one instance per thread lets callers validate and convert timestamps without
+ * creating any {@code java.time} objects.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * EpochTimestamp timestamp = new EpochTimestamp();
+ * if (InputValidator.validateDateTime("2023-03-25T12:34:56.5+01:00", timestamp)) {
+ *     long millis = timestamp.epochMilli(); // 1679744096500
+ * }
+ * }
+ * </pre>
+ */
+public final class EpochTimestamp {
+
+    private long epochSecond;
+    private int nano;
+
+    /**
+     * Returns the seconds since 1970-01-01T00:00:00Z of the last successfully validated timestamp.
+     *
+     * @return the epoch second.
+     */
+    public long epochSecond() {
+        return epochSecond;
+    }
+
+    /**
+     * Returns the nanosecond-of-second of the last successfully validated timestamp.
+     *
+     * @return the nanoseconds, from 0 to 999,999,999.
+     */
+    public int nano() {
+        return nano;
+    }
+
+    /**
+     * Returns the last successfully validated timestamp as milliseconds since the epoch,
+     * dropping any sub-millisecond digits.
+     *
+     * @return the epoch millisecond.
+     */
+    public long epochMilli() {
+        return epochSecond * 1000 + nano / 1_000_000;
+    }
+
+    void set(long epochSecond, int nano) {
+        this.epochSecond = epochSecond;
+        this.nano = nano;
+    }
+}
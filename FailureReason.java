@@ -0,0 +1,111 @@
+package inputvalidator;
+
+/**
+ * Why an input failed validation, as reported by the {@code check*} methods of {@link InputValidator}.
+ *
+ * <p>Those methods return a primitive {@code int} result code instead of an object: {@link #VALID}
+ * ({@code 0}) on success, otherwise the ordinal of the reason in the low eight bits and the offset
+ * of the offending character in the remaining bits. Decoding goes through a static table, so
+ * reporting a failure allocates nothing and throws nothing.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * int result = InputValidator.checkPassword("Aa1!aaa");
+ * if (result != FailureReason.VALID) {
+ *     FailureReason reason = FailureReason.of(result); // FailureReason.TOO_SHORT
+ *     int offset = FailureReason.offsetOf(result);      // 7
+ * }
+ * }
+ * </pre>
+ */
+public enum FailureReason {
+    NONE("valid"),
+    NULL_INPUT("input is null"),
+    EMPTY("input is empty"),
+    TOO_SHORT("input is too short"),
+    TOO_LONG("input is too long"),
+    WHITESPACE("whitespace is not allowed"),
+    MISSING_UPPERCASE("no uppercase letter"),
+    MISSING_LOWERCASE("no lowercase letter"),
+    MISSING_DIGIT("no digit"),
+    MISSING_SPECIAL("no special character"),
+    REPEATED_CHARACTER("character repeated more than twice in a row"),
+    WEAK_PASSWORD("password is too common"),
+    BAD_LOCAL_PART("invalid character in the local part"),
+    MISSING_AT("no '@'"),
+    BAD_DOMAIN("invalid domain name"),
+    MISSING_TLD("no top-level domain"),
+    BAD_TLD("invalid top-level domain"),
+    BAD_FORMAT("does not match the expected format"),
+    INVALID_DATE("no such date"),
+    TOO_EARLY("date is too far in the past"),
+    FUTURE_DATE("date is not in the past"),
+    BAD_SCHEME("scheme is not http or https"),
+    BAD_HOST("invalid host name"),
+    BAD_PORT("invalid port"),
+    MISSING_DIGITS("no digits"),
+    BAD_EXPONENT("exponent has no digits"),
+    UNEXPECTED_CHARACTER("unexpected character"),
+    UNKNOWN_COUNTRY("unknown country");
+
+    /**
+     * The result code of an input that passed validation.
+     */
+    public static final int VALID = 0;
+
+    /**
+     * The largest offset a result code can carry; later offsets are reported as this value.
+     */
+    public static final int MAX_OFFSET = (1 << 24) - 1;
+
+    private static final int REASON_BITS = 8;
+    private static final int REASON_MASK = (1 << REASON_BITS) - 1;
+    private static final FailureReason[] BY_ORDINAL = values();
+
+    private final String message;
+
+    FailureReason(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Returns a short English description of the reason, e.g. {@code "no uppercase letter"}.
+     *
+     * @return a constant string; never null.
+     */
+    public String message() {
+        return message;
+    }
+
+    /**
+     * Decodes the reason from a result code.
+     *
+     * @param code a result code returned by a {@code check*} method.
+     * @return the reason, or {@link #NONE} if the code is {@link #VALID}.
+     * @throws IllegalArgumentException if the code was not produced by a {@code check*} method.
+     */
+    public static FailureReason of(int code) {
+        int ordinal = code & REASON_MASK;
+        if (ordinal >= BY_ORDINAL.length) {
+            throw new IllegalArgumentException("Not a result code: " + code);
+        }
+        return BY_ORDINAL[ordinal];
+    }
+
+    /**
+     * Decodes the offset of the offending character from a result code. For inputs that are too
+     * short or end early, this is the length of the input.
+     *
+     * @param code a result code returned by a {@code check*} method.
+     * @return the offset into the checked input, or {@code 0} if the code is {@link #VALID}.
+     */
+    public static int offsetOf(int code) {
+        return code >>> REASON_BITS;
+    }
+
+    // Encodes this reason and the offset of the offending character into a result code
+    int at(int offset) {
+        return Math.min(offset, MAX_OFFSET) << REASON_BITS | ordinal();
+    }
+}
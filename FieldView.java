@@ -0,0 +1,157 @@
+package inputvalidator;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Reusable {@link CharSequence} over one field of a byte buffer or array.
+ *
+ * <p>ASCII fields are read straight from the bytes; anything else is decoded once into an
+ * internal {@code char} array that grows to the longest such field and is then reused, so
+ * moving the view from field to field allocates nothing. {@link #acquire()} hands out one view
+ * per thread for the byte overloads of {@link Validator}.</p>
+ */
+final class FieldView implements CharSequence {
+
+    private static final char[] NO_CHARS = {};
+    // The largest decode buffer, in chars (4 KiB), that a released view keeps for the next field
+    private static final int MAX_RETAINED_CHARS = 2048;
+    private static final ThreadLocal<FieldView> CURRENT = ThreadLocal.withInitial(FieldView::new);
+
+    // One of the two is set while an ASCII field is in view
+    private ByteBuffer bytes;
+    private byte[] array;
+    private int offset;
+    private int length;
+    private boolean ascii;
+    // Allocated on the first field that is not ASCII
+    private char[] chars = NO_CHARS;
+    private boolean inUse;
+
+    /**
+     * Returns the calling thread's view, or a new one if that is in use further up the stack, as when
+     * a validator reading bytes calls another. Pair with {@link #release()}.
+     */
+    static FieldView acquire() {
+        FieldView view = CURRENT.get();
+        if (view.inUse) {
+            return new FieldView();
+        }
+        view.inUse = true;
+        return view;
+    }
+
+    /**
+     * Hands the view back after {@link #acquire()}, dropping the bytes it pointed at and wiping the
+     * characters it decoded, so that no field outlives the call. A decode buffer grown past 4 KiB
+     * is let go rather than kept for the life of the thread.
+     */
+    void release() {
+        bytes = null;
+        array = null;
+        if (!ascii) {
+            Arrays.fill(chars, 0, length, '\0');
+        }
+        if (chars.length > MAX_RETAINED_CHARS) {
+            chars = NO_CHARS;
+        }
+        length = 0;
+        inUse = false;
+    }
+
+    /**
+     * Points the view at the ASCII bytes {@code bytes[from, to)}.
+     */
+    void setAscii(ByteBuffer bytes, int from, int to) {
+        this.bytes = bytes;
+        this.array = null;
+        this.offset = from;
+        this.length = to - from;
+        this.ascii = true;
+    }
+
+    /**
+     * Points the view at the UTF-8 bytes {@code bytes[from, to)} and returns {@code false} if they
+     * are malformed. ASCII is read in place; anything else is decoded.
+     */
+    boolean setUtf8(ByteBuffer bytes, int from, int to) {
+        if (Utf8.skipAscii(bytes, from, to) == to) {
+            setAscii(bytes, from, to);
+            return true;
+        }
+        return setUtf8(bytes, from, to, false);
+    }
+
+    /**
+     * Like {@link #setUtf8(ByteBuffer, int, int)}, for a byte array. Only fields that need decoding
+     * are read through a buffer.
+     */
+    boolean setUtf8(byte[] bytes, int from, int to) {
+        if (Utf8.skipAscii(bytes, from, to) != to) {
+            return setUtf8(ByteBuffer.wrap(bytes), from, to, false);
+        }
+        this.bytes = null;
+        this.array = bytes;
+        this.offset = from;
+        this.length = to - from;
+        this.ascii = true;
+        return true;
+    }
+
+    /**
+     * Decodes the UTF-8 bytes {@code bytes[from, to)} into the view and returns {@code false}
+     * if they are malformed. With {@code unescapeQuotes}, every {@code ""} pair becomes {@code "}.
+     */
+    boolean setUtf8(ByteBuffer bytes, int from, int to, boolean unescapeQuotes) {
+        if (chars.length < to - from) {
+            chars = Arrays.copyOf(chars, Math.max(to - from, Math.max(64, chars.length * 2)));
+        }
+        int n = Utf8.decode(bytes, from, to, chars);
+        if (n < 0) {
+            Arrays.fill(chars, 0, to - from, '\0'); // Whatever decoded before the bad byte
+            return false;
+        }
+        if (unescapeQuotes) {
+            int w = 0;
+            for (int r = 0; r < n; r++) {
+                chars[w++] = chars[r];
+                if (chars[r] == '"') {
+                    r++; // Skip the second quote of the pair
+                }
+            }
+            n = w;
+        }
+        this.length = n;
+        this.ascii = false;
+        return true;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, length);
+        if (!ascii) {
+            return chars[index];
+        }
+        return (char) (array != null ? array[offset + index] : bytes.get(offset + index));
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(charAt(i));
+        }
+        return builder.toString();
+    }
+}
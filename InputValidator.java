@@ -1,37 +1,41 @@
 package inputvalidator;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.Arrays;
-import java.util.List;
-import java.util.regex.Pattern;
+import inputvalidator.ValidationMetrics.Kind;
+
+import java.time.Clock;
+import java.util.Objects;
 
 public class InputValidator {
 
-    // Optimized Patterns
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(
-            "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9]([a-zA-Z0-9-]*[a-zA-Z0-9])?\\.[a-zA-Z]{2,}(\\.[a-zA-Z]{2,})?$"
-    );
+    // Password rules, checked by a single scan in validatePassword
+    private static final int MIN_PASSWORD_LENGTH = 8;
+    private static final int MAX_PASSWORD_LENGTH = 128;
+    private static final String PASSWORD_SPECIALS = "!@#$%^&*()_+-=[]{};':\"\\|,.<>?/`~";
+
+    private static final int HAS_UPPERCASE = 1;
+    private static final int HAS_LOWERCASE = 1 << 1;
+    private static final int HAS_DIGIT = 1 << 2;
+    private static final int HAS_SPECIAL = 1 << 3;
+    private static final int ALL_PASSWORD_CLASSES = HAS_UPPERCASE | HAS_LOWERCASE | HAS_DIGIT | HAS_SPECIAL;
+
+    private static final String[] WEAK_PASSWORDS = {
+            "password", "123456", "qwerty", "letmein", "12345678", "password1", "password1!"
+    };
 
-    private static final Pattern PASSWORD_PATTERN = Pattern.compile(
-            "^(?=.*[A-Z])(?=.*[a-z])(?=.*\\d)(?=.*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>?/`~])\\S{8,128}$"
-    );
+    /**
+     * Returned by {@link #tryParseInt(CharSequence, int, int)} when the input is not a valid {@code int}.
+     */
+    public static final long NOT_AN_INT = Long.MIN_VALUE;
 
-    private static final Pattern ISO8601_DATETIME_PATTERN = Pattern.compile(
-            "^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}(\\.\\d+)?(?:Z|[+-]\\d{2}:\\d{2})$"
-    );
+    // Date of birth rules
+    private static final int DATE_LENGTH = DateScanner.DATE_LENGTH;
+    private static final long EPOCH_DAY_1900_01_01 = -25567;
 
-    private static final Pattern URL_PATTERN = Pattern.compile(
-            "^(https?://)([\\w-]+\\.)+[a-zA-Z]{2,6}(:\\d{1,5})?(?:/[\\w\\-.~:@!$&'()*+,;=%]*)?$",
-            Pattern.CASE_INSENSITIVE
-    );
+    // Source of "today" for date of birth checks
+    private static volatile TodayCache today = new TodayCache(Clock.systemDefaultZone());
 
-    private static final List<String> VALID_COUNTRIES = Arrays.asList(
-            "United States", "Canada", "United Kingdom", "Sri Lanka", "India",
-            "Australia", "Germany", "France", "Italy", "Spain", "Japan",
-            "China", "Brazil", "South Africa", "New Zealand"
-    );
+    // Optional breach corpus consulted after the built-in weak passwords
+    private static volatile WeakPasswordStore weakPasswordStore;
 
     // Private constructor to prevent instantiation
     private InputValidator() {}
@@ -52,7 +56,76 @@ public class InputValidator {
      * </pre>
      */
     public static boolean validateEmail(String email) {
-        return email != null && EMAIL_PATTERN.matcher(email.trim()).matches();
+        long start = ValidationMetrics.start();
+        boolean valid = Rules.EMAIL.test(email);
+        return ValidationMetrics.record(Kind.EMAIL, start, valid, email);
+    }
+
+    /**
+     * Validates an email address held in a region of a larger character sequence,
+     * without copying it out first.
+     *
+     * Accepts exactly what {@link #validateEmail(String)} accepts for the same characters,
+     * including leading and trailing whitespace, in time linear in {@code length}.
+     *
+     * @param input  the characters to read from. Must not be null.
+     * @param offset the index of the first character of the email address.
+     * @param length the number of characters in the email address.
+     * @return {@code true} if the email is valid, {@code false} otherwise.
+     * @throws IndexOutOfBoundsException if the region lies outside {@code input}.
+     *
+     * <pre>
+     * Example:
+     * boolean isValid = validateEmail("to: test@example.com", 4, 16); // returns true
+     * </pre>
+     */
+    public static boolean validateEmail(CharSequence input, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, input.length());
+        long start = ValidationMetrics.start();
+        boolean valid = Rules.EMAIL.test(input, offset, offset + length);
+        return ValidationMetrics.record(Kind.EMAIL, start, valid, input, offset, offset + length);
+    }
+
+    /**
+     * Checks an email address against the grammar of {@link #validateEmail(String)} and reports
+     * where it stops matching, without allocating.
+     *
+     * @param email the email address to check. Ignores leading/trailing whitespace.
+     * @return {@link FailureReason#VALID} if the email is valid, otherwise a result code whose reason
+     *         is one of {@code NULL_INPUT}, {@code EMPTY}, {@code BAD_LOCAL_PART}, {@code MISSING_AT},
+     *         {@code BAD_DOMAIN}, {@code MISSING_TLD} or {@code BAD_TLD}.
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * int result = checkEmail("user@example.c");
+     * FailureReason reason = FailureReason.of(result); // BAD_TLD
+     * int offset = FailureReason.offsetOf(result);      // 14, where the input ended
+     * }
+     * </pre>
+     */
+    public static int checkEmail(CharSequence email) {
+        if (email == null) {
+            return FailureReason.NULL_INPUT.at(0);
+        }
+        int from = trimStart(email, 0, email.length());
+        return EmailScanner.check(email, from, trimEnd(email, from, email.length()));
+    }
+
+    /**
+     * Checks an email address held in a region of a larger character sequence, like
+     * {@link #checkEmail(CharSequence)}, without copying it out first.
+     *
+     * @param input  the characters to read from. Must not be null.
+     * @param offset the index of the first character of the email address.
+     * @param length the number of characters in the email address.
+     * @return {@link FailureReason#VALID} or a result code, with the offset counted from the start of {@code input}.
+     * @throws IndexOutOfBoundsException if the region lies outside {@code input}.
+     */
+    public static int checkEmail(CharSequence input, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, input.length());
+        int from = trimStart(input, offset, offset + length);
+        return EmailScanner.check(input, from, trimEnd(input, from, offset + length));
     }
 
     /**
@@ -63,7 +136,7 @@ public class InputValidator {
      *   <li>At least 8 characters and no more than 128 characters.</li>
      *   <li>Includes at least one uppercase letter, one lowercase letter, one number, and one special character.</li>
      *   <li>Does not contain more than two consecutive identical characters.</li>
-     *   <li>Not a weak or predictable password.</li>
+     *   <li>Not a weak or predictable password, nor in the installed {@link WeakPasswordStore}.</li>
      * </ul>
      *
      * @param password the password to validate, as a {@code String}.
@@ -78,59 +151,279 @@ public class InputValidator {
      * </pre>
      */
     public static boolean validatePassword(String password) {
-        if (password == null || password.trim().isEmpty() || password.length() < 8 || password.length() > 128) {
-            return false;
+        long start = ValidationMetrics.start();
+        boolean valid = Rules.PASSWORD.test(password);
+        return ValidationMetrics.record(Kind.PASSWORD, start, valid, password);
+    }
+
+    /**
+     * Checks a password against the rules of {@link #validatePassword(String)} and reports the first
+     * rule it breaks, without allocating.
+     *
+     * @param password the password to check.
+     * @return {@link FailureReason#VALID} if the password is strong, otherwise a result code whose
+     *         reason is one of {@code NULL_INPUT}, {@code TOO_SHORT}, {@code TOO_LONG}, {@code WHITESPACE},
+     *         {@code MISSING_UPPERCASE}, {@code MISSING_LOWERCASE}, {@code MISSING_DIGIT},
+     *         {@code MISSING_SPECIAL}, {@code REPEATED_CHARACTER} or {@code WEAK_PASSWORD}.
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * int result = checkPassword("Aa1!aaab");
+     * FailureReason reason = FailureReason.of(result); // REPEATED_CHARACTER
+     * int offset = FailureReason.offsetOf(result);      // 6, the third 'a'
+     * }
+     * </pre>
+     */
+    public static int checkPassword(CharSequence password) {
+        return password == null ? FailureReason.NULL_INPUT.at(0) : passwordFailure(password);
+    }
+
+    // validatePassword for any character sequence, so that callers need not build a String
+    static boolean isStrongPassword(CharSequence password) {
+        return passwordFailure(password) == FailureReason.VALID;
+    }
+
+    private static int passwordFailure(CharSequence password) {
+        int length = password.length();
+        if (length < MIN_PASSWORD_LENGTH) {
+            return FailureReason.TOO_SHORT.at(length);
+        }
+        if (length > MAX_PASSWORD_LENGTH) {
+            return FailureReason.TOO_LONG.at(MAX_PASSWORD_LENGTH);
         }
 
-        if (!PASSWORD_PATTERN.matcher(password).matches()) {
-            return false;
+        // Single pass over the code points, mirroring PASSWORD_PATTERN and the repeat check:
+        // character classes only count before the first line terminator (where ".*" stops),
+        // and a line terminator anywhere disables the repeat rule for the same reason.
+        int classes = 0;
+        int codePoints = 0;
+        int repeatedAt = -1;
+        boolean lineTerminatorSeen = false;
+        for (int i = 0; i < length; ) {
+            int cp = Character.codePointAt(password, i);
+            if (isPatternWhitespace(cp)) {
+                return FailureReason.WHITESPACE.at(i);
+            }
+            if (isLineTerminator(cp)) {
+                lineTerminatorSeen = true;
+            } else if (!lineTerminatorSeen) {
+                classes |= passwordCharClass(cp);
+            }
+
+            int width = Character.charCount(cp);
+            if (repeatedAt < 0 && repeatsTwice(password, i, width)) {
+                repeatedAt = i + 2 * width;
+            }
+            i += width;
+            codePoints++;
+        }
+
+        if (codePoints < MIN_PASSWORD_LENGTH) {
+            return FailureReason.TOO_SHORT.at(length);
+        }
+        if (classes != ALL_PASSWORD_CLASSES) {
+            return missingPasswordClass(classes).at(length);
         }
 
         // Reject passwords with more than two consecutive repeating characters
-        if (password.matches(".*(.)\\1\\1.*")) {
-            return false;
+        if (repeatedAt >= 0 && !lineTerminatorSeen) {
+            return FailureReason.REPEATED_CHARACTER.at(repeatedAt);
         }
 
         // Reject weak or predictable passwords
-        List<String> weakPasswords = Arrays.asList(
-                "password", "123456", "qwerty", "letmein", "12345678", "password1", "password1!"
-        );
-        return weakPasswords.stream().noneMatch(pw -> pw.equalsIgnoreCase(password));
+        for (String weak : WEAK_PASSWORDS) {
+            if (equalsIgnoreCase(weak, password)) {
+                return FailureReason.WEAK_PASSWORD.at(0);
+            }
+        }
+        WeakPasswordStore store = weakPasswordStore;
+        if (store != null && store.contains(password)) {
+            return FailureReason.WEAK_PASSWORD.at(0);
+        }
+        return FailureReason.VALID;
+    }
+
+    // Whether the width chars at i appear twice more right after them. Like the backreferences of
+    // (.)\1\1, compares UTF-16 units, so a lone high surrogate repeats even when the next copy
+    // starts a surrogate pair.
+    private static boolean repeatsTwice(CharSequence password, int i, int width) {
+        if (i + 3 * width > password.length()) {
+            return false;
+        }
+        for (int k = i; k < i + width; k++) {
+            char c = password.charAt(k);
+            if (password.charAt(k + width) != c || password.charAt(k + 2 * width) != c) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static FailureReason missingPasswordClass(int classes) {
+        if ((classes & HAS_UPPERCASE) == 0) {
+            return FailureReason.MISSING_UPPERCASE;
+        }
+        if ((classes & HAS_LOWERCASE) == 0) {
+            return FailureReason.MISSING_LOWERCASE;
+        }
+        return (classes & HAS_DIGIT) == 0 ? FailureReason.MISSING_DIGIT : FailureReason.MISSING_SPECIAL;
+    }
+
+    /**
+     * Installs a breached-password store that {@link #validatePassword(String)} consults
+     * in addition to its built-in list of weak passwords.
+     *
+     * @param store the store to consult, or {@code null} to use only the built-in list.
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * InputValidator.setWeakPasswordStore(WeakPasswordStore.open(Paths.get("breached.wps")));
+     * }
+     * </pre>
+     */
+    public static void setWeakPasswordStore(WeakPasswordStore store) {
+        weakPasswordStore = store;
+    }
+
+    // Same comparison as String.equalsIgnoreCase, one char at a time
+    private static boolean equalsIgnoreCase(String weak, CharSequence password) {
+        if (weak.length() != password.length()) {
+            return false;
+        }
+        for (int i = 0; i < weak.length(); i++) {
+            char a = weak.charAt(i);
+            char b = password.charAt(i);
+            if (a == b) {
+                continue;
+            }
+            char upperA = Character.toUpperCase(a);
+            char upperB = Character.toUpperCase(b);
+            if (upperA != upperB && Character.toLowerCase(upperA) != Character.toLowerCase(upperB)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int passwordCharClass(int cp) {
+        if (cp >= 'A' && cp <= 'Z') {
+            return HAS_UPPERCASE;
+        }
+        if (cp >= 'a' && cp <= 'z') {
+            return HAS_LOWERCASE;
+        }
+        if (cp >= '0' && cp <= '9') {
+            return HAS_DIGIT;
+        }
+        return cp < 128 && PASSWORD_SPECIALS.indexOf(cp) >= 0 ? HAS_SPECIAL : 0;
+    }
+
+    // Characters excluded by \S (ASCII whitespace only, as java.util.regex defines it)
+    private static boolean isPatternWhitespace(int cp) {
+        return cp == ' ' || cp == '\t' || cp == '\n' || cp == 0x0B || cp == '\f' || cp == '\r';
+    }
+
+    // Characters that "." refuses to match outside of DOTALL mode
+    private static boolean isLineTerminator(int cp) {
+        return cp == '\n' || cp == '\r' || cp == '\u0085' || cp == '\u2028' || cp == '\u2029';
     }
 
     /**
      * Validates if the input date of birth is in the past and follows the {@code YYYY-MM-DD} format.
      *
      * @param dob the date of birth to validate, as a {@code String}.
-     *            It must adhere to the {@code YYYY-MM-DD} format and represent a valid date in the past.
+     *            It must adhere to the {@code YYYY-MM-DD} format and represent a valid date in the past,
+     *            no earlier than 1900-01-01. "Today" comes from the clock set by {@link #setClock(Clock)}.
      * @return {@code true} if the date is valid and in the past, {@code false} otherwise.
      *
      * <p>Example:</p>
      * <pre>
      * {@code
      * boolean isValid = validateDateOfBirth("2000-01-01"); // true
-     * boolean isInvalid = validateDateOfBirth("2025-01-01"); // false
+     * boolean isInvalid = validateDateOfBirth("2000-02-30"); // false
      * }
      * </pre>
      */
     public static boolean validateDateOfBirth(String dob) {
-        if (dob == null || dob.trim().isEmpty()) {
+        long start = ValidationMetrics.start();
+        boolean valid = Rules.DATE_OF_BIRTH.test(dob);
+        return ValidationMetrics.record(Kind.DATE_OF_BIRTH, start, valid, dob);
+    }
+
+    // validateDateOfBirth for any character sequence
+    static boolean isDateOfBirth(CharSequence dob) {
+        int from = trimStart(dob, 0, dob.length());
+        int to = trimEnd(dob, from, dob.length());
+        if (to - from != DATE_LENGTH) {
             return false;
         }
+        long epochDay = DateScanner.parseDate(dob, from);
+        return epochDay >= EPOCH_DAY_1900_01_01 && epochDay < today.epochDay();
+    }
 
-        try {
-            LocalDate date = LocalDate.parse(dob.trim(), DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-            return date.isBefore(LocalDate.now()) && !date.isBefore(LocalDate.of(1900, 1, 1));
-        } catch (DateTimeParseException e) {
-            return false;
+    /**
+     * Checks a date of birth against the rules of {@link #validateDateOfBirth(String)} and reports
+     * the first one it breaks, without allocating.
+     *
+     * @param dob the date of birth to check. Ignores leading/trailing whitespace.
+     * @return {@link FailureReason#VALID} if the date is valid and in the past, otherwise a result code
+     *         whose reason is one of {@code NULL_INPUT}, {@code BAD_FORMAT}, {@code INVALID_DATE},
+     *         {@code TOO_EARLY} or {@code FUTURE_DATE}.
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * int result = checkDateOfBirth("2000-02-30");
+     * FailureReason reason = FailureReason.of(result); // INVALID_DATE
+     * int offset = FailureReason.offsetOf(result);      // 8, the day
+     * }
+     * </pre>
+     */
+    public static int checkDateOfBirth(CharSequence dob) {
+        if (dob == null) {
+            return FailureReason.NULL_INPUT.at(0);
+        }
+        int from = trimStart(dob, 0, dob.length());
+        int to = trimEnd(dob, from, dob.length());
+        int code = DateScanner.checkDate(dob, from, to);
+        if (code != FailureReason.VALID) {
+            return code;
         }
+        if (to != from + DATE_LENGTH) {
+            return FailureReason.BAD_FORMAT.at(from + DATE_LENGTH);
+        }
+
+        long epochDay = DateScanner.parseDate(dob, from);
+        if (epochDay < EPOCH_DAY_1900_01_01) {
+            return FailureReason.TOO_EARLY.at(from);
+        }
+        return epochDay < today.epochDay() ? FailureReason.VALID : FailureReason.FUTURE_DATE.at(from);
+    }
+
+    /**
+     * Sets the clock that decides what "today" is for {@link #validateDateOfBirth(String)}.
+     *
+     * @param clock the clock to use, e.g. {@code Clock.fixed(...)} in tests. Must not be null.
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * InputValidator.setClock(Clock.systemUTC());
+     * }
+     * </pre>
+     */
+    public static void setClock(Clock clock) {
+        today = new TodayCache(Objects.requireNonNull(clock, "clock"));
     }
 
     /**
      * Validates if the input string matches the ISO 8601 datetime format.
      *
      * @param dateTime the datetime string to validate, as a {@code String}.
-     *                 It must adhere to the ISO 8601 format, e.g., {@code 2023-11-19T12:45:30+01:00}.
+     *                 It must adhere to the ISO 8601 format, e.g., {@code 2023-11-19T12:45:30+01:00},
+     *                 with in-range fields, at most nine fraction digits and an offset within &plusmn;18:00.
      * @return {@code true} if the input is a valid ISO 8601 datetime string, {@code false} otherwise.
      *
      * <p>Example:</p>
@@ -138,15 +431,66 @@ public class InputValidator {
      * {@code
      * boolean isValid = validateDateTime("2023-11-19T12:45:30+01:00"); // true
      * boolean isInvalid = validateDateTime("2023/11/19 12:45:30"); // false
+     * boolean isAlsoInvalid = validateDateTime("2023-13-45T99:99:99Z"); // false
      * }
      * </pre>
      */
     public static boolean validateDateTime(String dateTime) {
-        return dateTime != null && ISO8601_DATETIME_PATTERN.matcher(dateTime.trim()).matches();
+        return validateDateTime(dateTime, null);
+    }
+
+    /**
+     * Validates an ISO 8601 datetime and, if it is valid, converts it to an instant in the same scan.
+     *
+     * Accepts exactly what {@link #validateDateTime(String)} accepts.
+     *
+     * @param dateTime the datetime to validate. Ignores leading/trailing spaces.
+     * @param result   receives the epoch second and nanosecond on success; may be null to only validate.
+     *                 Left unchanged if the input is invalid.
+     * @return {@code true} if the input is a valid ISO 8601 datetime string, {@code false} otherwise.
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * EpochTimestamp timestamp = new EpochTimestamp();
+     * boolean isValid = validateDateTime("1970-01-01T01:00:00+01:00", timestamp); // true, epochSecond() == 0
+     * }
+     * </pre>
+     */
+    public static boolean validateDateTime(CharSequence dateTime, EpochTimestamp result) {
+        long start = ValidationMetrics.start();
+        boolean valid = Rules.DATE_TIME.test(dateTime, result);
+        return ValidationMetrics.record(Kind.DATE_TIME, start, valid, dateTime);
+    }
+
+    /**
+     * Checks a datetime against the rules of {@link #validateDateTime(String)} and reports the field
+     * that breaks them, without allocating.
+     *
+     * @param dateTime the datetime to check. Ignores leading/trailing whitespace.
+     * @return {@link FailureReason#VALID} if the datetime is valid, otherwise a result code whose reason
+     *         is one of {@code NULL_INPUT}, {@code BAD_FORMAT}, {@code INVALID_DATE} or
+     *         {@code UNEXPECTED_CHARACTER}, at the first character of the offending field.
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * int result = checkDateTime("2023-11-19T24:00:00Z");
+     * FailureReason reason = FailureReason.of(result); // BAD_FORMAT
+     * int offset = FailureReason.offsetOf(result);      // 11, the hour
+     * }
+     * </pre>
+     */
+    public static int checkDateTime(CharSequence dateTime) {
+        if (dateTime == null) {
+            return FailureReason.NULL_INPUT.at(0);
+        }
+        int from = trimStart(dateTime, 0, dateTime.length());
+        return DateScanner.checkDateTime(dateTime, from, trimEnd(dateTime, from, dateTime.length()), null);
     }
 
     /**
-     * Checks if the input string matches a predefined list of valid countries.
+     * Checks if the input string is the English name of an ISO 3166-1 country (see {@link Country}).
      *
      * @param country the country name to validate, as a {@code String}.
      *                Case-insensitive and ignores leading/trailing spaces.
@@ -161,13 +505,105 @@ public class InputValidator {
      * </pre>
      */
     public static boolean validateCountry(String country) {
-        if (country == null || country.trim().isEmpty()) {
-            return false;
+        long start = ValidationMetrics.start();
+        boolean valid = Rules.COUNTRY.test(country);
+        return ValidationMetrics.record(Kind.COUNTRY, start, valid, country);
+    }
+
+    /**
+     * Checks a country name like {@link #validateCountry(String)}, without allocating.
+     *
+     * @param country the country name to check. Case-insensitive and ignores leading/trailing spaces.
+     * @return {@link FailureReason#VALID} if the name is known, otherwise a result code whose reason is
+     *         {@code NULL_INPUT}, {@code EMPTY} or {@code UNKNOWN_COUNTRY} at the first non-blank character.
+     */
+    public static int checkCountry(CharSequence country) {
+        if (country == null) {
+            return FailureReason.NULL_INPUT.at(0);
+        }
+        int from = trimStart(country, 0, country.length());
+        if (from == country.length()) {
+            return FailureReason.EMPTY.at(from);
+        }
+        return Country.fromName(country) == null ? FailureReason.UNKNOWN_COUNTRY.at(from) : FailureReason.VALID;
+    }
+
+    /**
+     * Checks if the input string is an ISO 3166-1 alpha-2, alpha-3 or numeric country code.
+     *
+     * @param code the country code to validate, as a {@code String}.
+     *             Case-insensitive and ignores leading/trailing spaces; numeric codes have three digits.
+     * @return {@code true} if the input is an assigned country code, {@code false} otherwise.
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * boolean isValid = validateCountryCode("LK"); // true
+     * boolean isAlsoValid = validateCountryCode("144"); // true
+     * boolean isInvalid = validateCountryCode("XX"); // false
+     * }
+     * </pre>
+     */
+    public static boolean validateCountryCode(String code) {
+        long start = ValidationMetrics.start();
+        boolean valid = Rules.COUNTRY_CODE.test(code);
+        return ValidationMetrics.record(Kind.COUNTRY_CODE, start, valid, code);
+    }
+
+    /**
+     * Checks if the input string is an ISO 3166-1 country code in the given format.
+     *
+     * @param code the country code to validate, as a {@code String}.
+     *             Case-insensitive and ignores leading/trailing spaces.
+     * @param type the code format to accept. Must not be null.
+     * @return {@code true} if the input is an assigned code of that format, {@code false} otherwise.
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * boolean isValid = validateCountryCode("LKA", Country.CodeType.ALPHA_3); // true
+     * boolean isInvalid = validateCountryCode("LK", Country.CodeType.ALPHA_3); // false
+     * }
+     * </pre>
+     */
+    public static boolean validateCountryCode(String code, Country.CodeType type) {
+        long start = ValidationMetrics.start();
+        boolean valid = Rules.countryCode(type).test(code);
+        return ValidationMetrics.record(Kind.COUNTRY_CODE, start, valid, code);
+    }
+
+    /**
+     * Checks a country code like {@link #validateCountryCode(String)}, without allocating.
+     *
+     * @param code the country code to check. Case-insensitive and ignores leading/trailing spaces.
+     * @return {@link FailureReason#VALID} if the code is assigned, otherwise a result code whose reason is
+     *         {@code NULL_INPUT}, {@code EMPTY} or {@code UNKNOWN_COUNTRY} at the first non-blank character.
+     */
+    public static int checkCountryCode(CharSequence code) {
+        return countryCodeFailure(code, code != null && Country.fromCode(code) != null);
+    }
+
+    /**
+     * Checks a country code like {@link #validateCountryCode(String, Country.CodeType)}, without allocating.
+     *
+     * @param code the country code to check. Case-insensitive and ignores leading/trailing spaces.
+     * @param type the code format to accept. Must not be null.
+     * @return the same result codes as {@link #checkCountryCode(CharSequence)}.
+     */
+    public static int checkCountryCode(CharSequence code, Country.CodeType type) {
+        Objects.requireNonNull(type, "type");
+        return countryCodeFailure(code, code != null && Country.fromCode(code, type) != null);
+    }
+
+    private static int countryCodeFailure(CharSequence code, boolean known) {
+        if (code == null) {
+            return FailureReason.NULL_INPUT.at(0);
+        }
+        int from = trimStart(code, 0, code.length());
+        if (from == code.length()) {
+            return FailureReason.EMPTY.at(from);
         }
-        String normalizedCountry = country.trim().toLowerCase();
-        return VALID_COUNTRIES.stream()
-                              .map(String::toLowerCase)
-                              .anyMatch(validCountry -> validCountry.equals(normalizedCountry));
+        return known ? FailureReason.VALID : FailureReason.UNKNOWN_COUNTRY.at(from);
     }
 
     /**
@@ -186,7 +622,57 @@ public class InputValidator {
      * </pre>
      */
     public static boolean validateWebsiteURL(String url) {
-        return url != null && URL_PATTERN.matcher(url.trim()).matches();
+        return validateWebsiteURL(url, null);
+    }
+
+    /**
+     * Validates a website URL and records where its scheme, host, port, path, query and fragment are.
+     *
+     * Accepts exactly what {@link #validateWebsiteURL(String)} accepts, in time linear in the input length.
+     *
+     * @param url        the website URL to validate. Ignores leading/trailing spaces.
+     * @param components receives the component offsets on success, for reuse across calls; may be null.
+     * @return {@code true} if the input is a valid URL, {@code false} otherwise.
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * UrlComponents components = new UrlComponents();
+     * boolean isValid = validateWebsiteURL("https://example.com:8443/a?q=1#top", components); // true
+     * int port = components.port(); // 8443
+     * }
+     * </pre>
+     */
+    public static boolean validateWebsiteURL(CharSequence url, UrlComponents components) {
+        long start = ValidationMetrics.start();
+        boolean valid = Rules.WEBSITE_URL.test(url, components);
+        return ValidationMetrics.record(Kind.WEBSITE_URL, start, valid, url);
+    }
+
+    /**
+     * Checks a website URL against the grammar of {@link #validateWebsiteURL(String)} and reports
+     * where it stops matching, without allocating.
+     *
+     * @param url the website URL to check. Ignores leading/trailing whitespace.
+     * @return {@link FailureReason#VALID} if the URL is valid, otherwise a result code whose reason is
+     *         one of {@code NULL_INPUT}, {@code BAD_SCHEME}, {@code BAD_HOST}, {@code MISSING_TLD},
+     *         {@code BAD_TLD}, {@code BAD_PORT} or {@code UNEXPECTED_CHARACTER}.
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * int result = checkWebsiteURL("http://example.com:port");
+     * FailureReason reason = FailureReason.of(result); // BAD_PORT
+     * int offset = FailureReason.offsetOf(result);      // 19
+     * }
+     * </pre>
+     */
+    public static int checkWebsiteURL(CharSequence url) {
+        if (url == null) {
+            return FailureReason.NULL_INPUT.at(0);
+        }
+        int from = trimStart(url, 0, url.length());
+        return UrlScanner.check(url, from, trimEnd(url, from, url.length()), null);
     }
 
     /**
@@ -205,7 +691,28 @@ public class InputValidator {
      * </pre>
      */
     public static boolean validateString(String input) {
-        return input != null && !input.trim().isEmpty();
+        long start = ValidationMetrics.start();
+        boolean valid = Rules.NON_BLANK.test(input);
+        return ValidationMetrics.record(Kind.STRING, start, valid, input);
+    }
+
+    // validateString for any character sequence, without trimming a copy
+    static boolean isNonBlank(CharSequence input) {
+        return trimStart(input, 0, input.length()) < input.length();
+    }
+
+    /**
+     * Checks a string like {@link #validateString(String)}, without trimming a copy.
+     *
+     * @param input the string to check.
+     * @return {@link FailureReason#VALID} if it has a non-whitespace character, otherwise a result code
+     *         whose reason is {@code NULL_INPUT}, or {@code EMPTY} at the end of the input.
+     */
+    public static int checkString(CharSequence input) {
+        if (input == null) {
+            return FailureReason.NULL_INPUT.at(0);
+        }
+        return isNonBlank(input) ? FailureReason.VALID : FailureReason.EMPTY.at(input.length());
     }
 
     /**
@@ -213,6 +720,7 @@ public class InputValidator {
      *
      * @param number the number to validate, as a {@code String}.
      *               It must represent a valid numeric value, including integers and decimals.
+     *               Accepts exactly what {@link Double#parseDouble(String)} accepts, without parsing or throwing.
      * @return {@code true} if the input is a valid number, {@code false} otherwise.
      *
      * <p>Example:</p>
@@ -224,14 +732,204 @@ public class InputValidator {
      * </pre>
      */
     public static boolean validateNumber(String number) {
-        if (number == null || number.trim().isEmpty()) {
-            return false;
+        return validateNumber(number, NumberSyntax.JAVA_DOUBLE);
+    }
+
+    /**
+     * Checks if the input string is a valid number in the given syntax.
+     *
+     * @param number the number to validate, as a {@code String}. Ignores leading/trailing spaces.
+     * @param syntax the grammar to accept, e.g. {@link NumberSyntax#STRICT_DECIMAL} to reject
+     *               {@code NaN}, {@code Infinity}, hexadecimal literals and type suffixes. Must not be null.
+     * @return {@code true} if the input is a valid number, {@code false} otherwise.
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * boolean isValid = validateNumber("1e-3", NumberSyntax.STRICT_DECIMAL); // true
+     * boolean isInvalid = validateNumber("NaN", NumberSyntax.STRICT_DECIMAL); // false
+     * }
+     * </pre>
+     */
+    public static boolean validateNumber(String number, NumberSyntax syntax) {
+        Objects.requireNonNull(syntax, "syntax");
+        long start = ValidationMetrics.start();
+        boolean valid = Rules.number(syntax).test(number);
+        return ValidationMetrics.record(Kind.NUMBER, start, valid, number);
+    }
+
+    // validateNumber for any character sequence
+    static boolean isNumber(CharSequence number, NumberSyntax syntax) {
+        int from = trimStart(number, 0, number.length());
+        int to = trimEnd(number, from, number.length());
+        return NumberScanner.matches(number, from, to, syntax);
+    }
+
+    /**
+     * Checks a number against the grammar of {@link #validateNumber(String, NumberSyntax)} and reports
+     * where it stops matching, without allocating.
+     *
+     * @param number the number to check. Ignores leading/trailing whitespace.
+     * @param syntax the grammar to accept. Must not be null.
+     * @return {@link FailureReason#VALID} if the number is valid, otherwise a result code whose reason
+     *         is one of {@code NULL_INPUT}, {@code EMPTY}, {@code MISSING_DIGITS}, {@code BAD_EXPONENT},
+     *         {@code TOO_SHORT} or {@code UNEXPECTED_CHARACTER}.
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * int result = checkNumber("123abc", NumberSyntax.STRICT_DECIMAL);
+     * FailureReason reason = FailureReason.of(result); // UNEXPECTED_CHARACTER
+     * int offset = FailureReason.offsetOf(result);      // 3
+     * }
+     * </pre>
+     */
+    public static int checkNumber(CharSequence number, NumberSyntax syntax) {
+        Objects.requireNonNull(syntax, "syntax");
+        if (number == null) {
+            return FailureReason.NULL_INPUT.at(0);
         }
-        try {
-            Double.parseDouble(number.trim());
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
+        int from = trimStart(number, 0, number.length());
+        return NumberScanner.check(number, from, trimEnd(number, from, number.length()), syntax);
+    }
+
+    /**
+     * Checks if the input matches a caller-supplied regular expression, in time linear in the input length.
+     *
+     * <p>Patterns are compiled by {@link LinearPattern} and kept in a bounded cache, so tenants can
+     * define their own field formats without exposing the service to catastrophic backtracking.</p>
+     *
+     * @param input   the string to validate, as a {@code String}. The whole string must match.
+     * @param pattern the regular expression, in the syntax {@link LinearPattern} supports. Must not be null.
+     * @return {@code true} if the input matches the pattern, {@code false} otherwise.
+     * @throws java.util.regex.PatternSyntaxException if the pattern is malformed or uses an unsupported construct.
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * boolean isValid = validatePattern("ABC-1234", "[A-Z]{3}-\\d{4}"); // true
+     * boolean isInvalid = validatePattern("ABC-12", "[A-Z]{3}-\\d{4}"); // false
+     * }
+     * </pre>
+     */
+    public static boolean validatePattern(String input, String pattern) {
+        LinearPattern compiled = LinearPattern.cached(Objects.requireNonNull(pattern, "pattern"));
+        long start = ValidationMetrics.start();
+        boolean valid = input != null && compiled.matches(input);
+        return ValidationMetrics.record(Kind.PATTERN, start, valid, input);
+    }
+
+    /**
+     * Validates and parses a number in one pass.
+     *
+     * @param number the number to parse. Accepts exactly what {@link #validateNumber(String)} accepts.
+     * @return the same value as {@link Double#parseDouble(String)}, or {@link Double#NaN} if the input
+     *         is not a valid number (a valid {@code "NaN"} also yields {@code NaN}).
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * double value = parseDoubleOrNaN("123.45"); // 123.45
+     * double invalid = parseDoubleOrNaN("123abc"); // NaN
+     * }
+     * </pre>
+     */
+    public static double parseDoubleOrNaN(CharSequence number) {
+        return number == null ? Double.NaN : parseDoubleOrNaN(number, 0, number.length());
+    }
+
+    /**
+     * Validates and parses the number in {@code number[from, to)} in one pass, ignoring
+     * leading/trailing spaces inside the range.
+     *
+     * @param number the characters to read from. Must not be null.
+     * @param from   the index of the first character.
+     * @param to     the index after the last character.
+     * @return the parsed value, or {@link Double#NaN} if the range is not a valid number.
+     * @throws IndexOutOfBoundsException if the range lies outside {@code number}.
+     */
+    public static double parseDoubleOrNaN(CharSequence number, int from, int to) {
+        Objects.checkFromToIndex(from, to, number.length());
+        int start = trimStart(number, from, to);
+        return NumberParser.parseDouble(number, start, trimEnd(number, start, to));
+    }
+
+    /**
+     * Validates and parses a base-10 {@code long}: an optional sign followed by ASCII digits.
+     *
+     * @param number       the number to parse. Ignores leading/trailing spaces.
+     * @param defaultValue the value to return if the input is not a valid {@code long}.
+     * @return the parsed value, or {@code defaultValue} if the input is malformed or out of range.
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * long value = parseLongOrDefault("-42", 0L); // -42
+     * long fallback = parseLongOrDefault("4.2", 0L); // 0
+     * }
+     * </pre>
+     */
+    public static long parseLongOrDefault(CharSequence number, long defaultValue) {
+        return number == null ? defaultValue : parseLongOrDefault(number, 0, number.length(), defaultValue);
+    }
+
+    /**
+     * Validates and parses the base-10 {@code long} in {@code number[from, to)}, ignoring
+     * leading/trailing spaces inside the range.
+     *
+     * @param number       the characters to read from. Must not be null.
+     * @param from         the index of the first character.
+     * @param to           the index after the last character.
+     * @param defaultValue the value to return if the range is not a valid {@code long}.
+     * @return the parsed value, or {@code defaultValue} if the range is malformed or out of range.
+     * @throws IndexOutOfBoundsException if the range lies outside {@code number}.
+     */
+    public static long parseLongOrDefault(CharSequence number, int from, int to, long defaultValue) {
+        Objects.checkFromToIndex(from, to, number.length());
+        int start = trimStart(number, from, to);
+        return NumberParser.parseLong(number, start, trimEnd(number, start, to), defaultValue);
+    }
+
+    /**
+     * Validates and parses the base-10 {@code int} in {@code number[from, to)}, ignoring
+     * leading/trailing spaces inside the range.
+     *
+     * <p>The result is widened to {@code long} so that failure can be reported without boxing
+     * or exceptions: any value other than {@link #NOT_AN_INT} is the parsed {@code int}.</p>
+     *
+     * @param number the characters to read from. Must not be null.
+     * @param from   the index of the first character.
+     * @param to     the index after the last character.
+     * @return the parsed value, or {@link #NOT_AN_INT} if the range is malformed or out of range.
+     * @throws IndexOutOfBoundsException if the range lies outside {@code number}.
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * long result = tryParseInt("id=42;", 3, 5);
+     * if (result != InputValidator.NOT_AN_INT) {
+     *     int id = (int) result; // 42
+     * }
+     * }
+     * </pre>
+     */
+    public static long tryParseInt(CharSequence number, int from, int to) {
+        long value = parseLongOrDefault(number, from, to, NOT_AN_INT);
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? value : NOT_AN_INT;
+    }
+
+    // Same notion of whitespace as String.trim(), applied to a region in place
+    static int trimStart(CharSequence input, int from, int to) {
+        while (from < to && input.charAt(from) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    static int trimEnd(CharSequence input, int from, int to) {
+        while (to > from && input.charAt(to - 1) <= ' ') {
+            to--;
         }
+        return to;
     }
 }
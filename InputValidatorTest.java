@@ -1,7 +1,58 @@
 package validatortest;
 
+import inputvalidator.AdaptiveValidator;
+import inputvalidator.BatchValidator;
+import inputvalidator.Country;
+import inputvalidator.CsvValidator;
+import inputvalidator.EpochTimestamp;
+import inputvalidator.FailureReason;
 import inputvalidator.InputValidator;
+import inputvalidator.LinearPattern;
+import inputvalidator.NumberSyntax;
+import inputvalidator.ParallelBatchValidator;
+import inputvalidator.UrlComponents;
+import inputvalidator.ValidationCache;
+import inputvalidator.ValidationEvents;
+import inputvalidator.ValidationMetrics;
+import inputvalidator.ValidatorProcessor;
+import inputvalidator.Validator;
 import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import jdk.jfr.Recording;
+import jdk.jfr.ValueDescriptor;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class InputValidatorTest {
@@ -28,6 +79,45 @@ public class InputValidatorTest {
 
     }
 
+    @Test
+    public void testValidateEmailRegion() {
+        assertTrue(InputValidator.validateEmail("to: test@example.com", 4, 16));
+        assertTrue(InputValidator.validateEmail(new StringBuilder(" a@b.co "), 0, 8)); // Whitespace is ignored
+        assertFalse(InputValidator.validateEmail("to: test@example.com", 0, 20));
+        assertFalse(InputValidator.validateEmail("test@example.com", 0, 14)); // Region ends inside the TLD
+        assertThrows(IndexOutOfBoundsException.class, () -> InputValidator.validateEmail("a@b.co", 2, 5));
+    }
+
+    @Test
+    public void testValidateEmailMatchesLegacyRegex() {
+        Pattern legacy = Pattern.compile(
+                "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9]([a-zA-Z0-9-]*[a-zA-Z0-9])?\\.[a-zA-Z]{2,}(\\.[a-zA-Z]{2,})?$"
+        );
+        String[] fragments = {"a", "Z", "7", "-", ".", "_", "%", "+", "@", " ", "\n", "\u00e9", "co", "ab.cd", "x-y"};
+        Random random = new Random(7);
+        for (int i = 0; i < 300_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int parts = random.nextInt(10);
+            for (int j = 0; j < parts; j++) {
+                sb.append(fragments[random.nextInt(fragments.length)]);
+            }
+            String email = sb.toString();
+            boolean expected = legacy.matcher(email.trim()).matches();
+            assertEquals(expected, InputValidator.validateEmail(email), email);
+            assertEquals(expected, InputValidator.validateEmail("<" + email + ">", 1, email.length()), email);
+        }
+    }
+
+    @Test
+    public void testValidateEmailHostileInputIsLinear() {
+        StringBuilder sb = new StringBuilder("user@");
+        for (int i = 0; i < 100_000; i++) {
+            sb.append("a-");
+        }
+        String hostile = sb.append('!').toString();
+        assertTimeout(Duration.ofSeconds(1), () -> assertFalse(InputValidator.validateEmail(hostile)));
+    }
+
 
     @Test
     public void testValidatePassword() {
@@ -55,14 +145,120 @@ public class InputValidatorTest {
         assertFalse(InputValidator.validatePassword("NoSpecialCharacter1")); // Missing special character
     }
 
+    @Test
+    public void testValidatePasswordEdgeCases() {
+        assertFalse(InputValidator.validatePassword("Password1!")); // Weak, case-insensitive
+        assertFalse(InputValidator.validatePassword("Aa1! Aa1!")); // Contains a space
+        assertFalse(InputValidator.validatePassword("ab1!\u2028Abcd")); // Classes must appear before a line terminator
+        assertTrue(InputValidator.validatePassword("Aa1!\u2028aaa!")); // Repeat rule stops at a line terminator
+        assertFalse(InputValidator.validatePassword("Aa1!\uD83D\uDE00xy")); // 8 chars but only 7 code points
+        assertFalse(InputValidator.validatePassword("Aa1!xy\uD83D\uDE00\uD83D\uDE00\uD83D\uDE00")); // Repeated emoji
+    }
+
+    @Test
+    public void testValidatePasswordMatchesLegacyRegex() {
+        Pattern legacy = Pattern.compile(
+                "^(?=.*[A-Z])(?=.*[a-z])(?=.*\\d)(?=.*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>?/`~])\\S{8,128}$"
+        );
+        String[] weak = {"password", "123456", "qwerty", "letmein", "12345678", "password1", "password1!"};
+        String alphabet = "aAzZ09!~ \t\u0085\u2028\u00e9\uD83D\uDE00\uD800\uD83D\uDE00";
+        Random random = new Random(42);
+        for (int i = 0; i < 300_000; i++) {
+            StringBuilder sb = new StringBuilder(i == 0 ? "Aa1!xy\uD83D\uD83D\uD83D\uDE00" : "");
+            int length = random.nextInt(14);
+            for (int j = 0; j < length; j++) {
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String password = sb.toString();
+            boolean expected = !password.trim().isEmpty()
+                    && password.length() >= 8 && password.length() <= 128
+                    && legacy.matcher(password).matches()
+                    && !password.matches(".*(.)\\1\\1.*")
+                    && Arrays.stream(weak).noneMatch(pw -> pw.equalsIgnoreCase(password));
+            assertEquals(expected, InputValidator.validatePassword(password), password);
+        }
+        // The legacy backreference compares UTF-16 units: three lone high surrogates, the last one paired
+        assertFalse(InputValidator.validatePassword("Aa1!xy\uD83D\uD83D\uD83D\uDE00"));
+    }
+
     @Test
     public void testValidateDateOfBirth() {
-        assertTrue(InputValidator.validateDateOfBirth("2000-01-01"));
-        assertFalse(InputValidator.validateDateOfBirth("2025-01-01")); // Future date
-        assertFalse(InputValidator.validateDateOfBirth("2000-13-01")); // Invalid month
-        assertFalse(InputValidator.validateDateOfBirth("2000-01-32")); // Invalid day
-        assertFalse(InputValidator.validateDateOfBirth("invalid-date"));
-        assertFalse(InputValidator.validateDateOfBirth(null));
+        InputValidator.setClock(Clock.fixed(Instant.parse("2024-11-19T12:00:00Z"), ZoneOffset.UTC));
+        try {
+            assertTrue(InputValidator.validateDateOfBirth("2000-01-01"));
+            assertFalse(InputValidator.validateDateOfBirth("2025-01-01")); // Future date
+            assertFalse(InputValidator.validateDateOfBirth("2000-13-01")); // Invalid month
+            assertFalse(InputValidator.validateDateOfBirth("2000-01-32")); // Invalid day
+            assertFalse(InputValidator.validateDateOfBirth("invalid-date"));
+            assertFalse(InputValidator.validateDateOfBirth(null));
+        } finally {
+            InputValidator.setClock(Clock.systemDefaultZone());
+        }
+    }
+
+    @Test
+    public void testValidateDateOfBirthCalendarRules() {
+        InputValidator.setClock(Clock.fixed(Instant.parse("2024-11-19T12:00:00Z"), ZoneOffset.UTC));
+        try {
+            assertTrue(InputValidator.validateDateOfBirth(" 1900-01-01 ")); // Earliest date, spaces ignored
+            assertTrue(InputValidator.validateDateOfBirth("2000-02-29")); // Leap year divisible by 400
+            assertTrue(InputValidator.validateDateOfBirth("2024-11-18")); // Yesterday
+            assertFalse(InputValidator.validateDateOfBirth("2024-11-19")); // Today is not in the past
+            assertFalse(InputValidator.validateDateOfBirth("1899-12-31")); // Before 1900
+            assertFalse(InputValidator.validateDateOfBirth("1900-02-29")); // 1900 is not a leap year
+            assertFalse(InputValidator.validateDateOfBirth("2001-02-29"));
+            assertFalse(InputValidator.validateDateOfBirth("2000-04-31"));
+            assertFalse(InputValidator.validateDateOfBirth("2000-00-10"));
+            assertFalse(InputValidator.validateDateOfBirth("2000-1-01")); // Not zero-padded
+            assertFalse(InputValidator.validateDateOfBirth("2000/01/01"));
+            assertFalse(InputValidator.validateDateOfBirth("+2000-01-01"));
+
+            LocalDate date = LocalDate.of(1900, 1, 1);
+            LocalDate today = LocalDate.of(2024, 11, 19);
+            for (; date.isBefore(today); date = date.plusDays(1)) {
+                assertTrue(InputValidator.validateDateOfBirth(date.toString()), date.toString());
+            }
+        } finally {
+            InputValidator.setClock(Clock.systemDefaultZone());
+        }
+    }
+
+    @Test
+    public void testValidateDateOfBirthFollowsClock() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-11-19T23:59:59.500Z"));
+        InputValidator.setClock(clock);
+        try {
+            assertFalse(InputValidator.validateDateOfBirth("2024-11-19"));
+            clock.instant = Instant.parse("2024-11-20T00:00:00Z"); // Midnight rollover, well within a second
+            assertTrue(InputValidator.validateDateOfBirth("2024-11-19"));
+            clock.instant = Instant.parse("2024-11-18T10:00:00Z"); // Clock moved backwards
+            assertFalse(InputValidator.validateDateOfBirth("2024-11-18"));
+        } finally {
+            InputValidator.setClock(Clock.systemDefaultZone());
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
     }
 
     @Test
@@ -74,6 +270,49 @@ public class InputValidatorTest {
         assertFalse(InputValidator.validateDateTime(null));
     }
 
+    @Test
+    public void testValidateDateTimeFieldRanges() {
+        assertTrue(InputValidator.validateDateTime("2024-02-29T23:59:59.123456789-18:00"));
+        assertTrue(InputValidator.validateDateTime(" 0000-01-01T00:00:00Z "));
+        assertFalse(InputValidator.validateDateTime("2023-13-45T99:99:99Z"));
+        assertFalse(InputValidator.validateDateTime("2023-02-29T00:00:00Z")); // Not a leap year
+        assertFalse(InputValidator.validateDateTime("2023-01-01T24:00:00Z"));
+        assertFalse(InputValidator.validateDateTime("2023-01-01T00:60:00Z"));
+        assertFalse(InputValidator.validateDateTime("2023-01-01T00:00:60Z"));
+        assertFalse(InputValidator.validateDateTime("2023-01-01T00:00:00+18:30")); // Offset out of range
+        assertFalse(InputValidator.validateDateTime("2023-01-01T00:00:00+01:60"));
+        assertFalse(InputValidator.validateDateTime("2023-01-01T00:00:00.1234567890Z")); // More than nanoseconds
+        assertFalse(InputValidator.validateDateTime("2023-01-01T00:00:00.Z"));
+        assertFalse(InputValidator.validateDateTime("2023-01-01T00:00:00+0100"));
+        assertFalse(InputValidator.validateDateTime("2023-01-01t00:00:00z"));
+    }
+
+    @Test
+    public void testValidateDateTimeConvertsToEpoch() {
+        EpochTimestamp timestamp = new EpochTimestamp();
+        assertTrue(InputValidator.validateDateTime("1970-01-01T01:00:00+01:00", timestamp));
+        assertEquals(0L, timestamp.epochSecond());
+        assertEquals(0, timestamp.nano());
+
+        assertFalse(InputValidator.validateDateTime("2023-13-01T00:00:00Z", timestamp));
+        assertEquals(0L, timestamp.epochSecond()); // Unchanged on failure
+
+        Random random = new Random(5);
+        for (int i = 0; i < 50_000; i++) {
+            OffsetDateTime expected = OffsetDateTime.ofInstant(
+                    Instant.ofEpochSecond(random.nextInt() * 8L, random.nextInt(1_000_000_000)),
+                    ZoneOffset.ofTotalSeconds((random.nextInt(36) - 18) * 3600 + (random.nextBoolean() ? 0 : 1800)));
+            String text = expected.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+            if (expected.getYear() < 0 || expected.getYear() > 9999) {
+                continue;
+            }
+            assertTrue(InputValidator.validateDateTime(text, timestamp), text);
+            assertEquals(expected.toEpochSecond(), timestamp.epochSecond(), text);
+            assertEquals(expected.getNano(), timestamp.nano(), text);
+            assertEquals(expected.toInstant().toEpochMilli(), timestamp.epochMilli(), text);
+        }
+    }
+
     @Test
     public void testValidateCountry()
     {
@@ -95,6 +334,59 @@ public class InputValidatorTest {
 
     }
 
+    @Test
+    public void testCountryFromName() {
+        assertSame(Country.SRI_LANKA, Country.fromName(" SRI lanka\t"));
+        assertSame(Country.NEW_ZEALAND, Country.fromName(new StringBuilder("new zealand")));
+        assertEquals("United Kingdom", Country.fromName("united kingdom").displayName());
+        for (Country country : Country.values()) {
+            assertSame(country, Country.fromName(country.displayName().toUpperCase()));
+        }
+        assertNull(Country.fromName("Sri  Lanka"));
+        assertNull(Country.fromName("Atlantis"));
+        assertNull(Country.fromName(""));
+        assertNull(Country.fromName(null));
+    }
+
+    @Test
+    public void testCountryRegistry() {
+        assertEquals(249, Country.values().length);
+        assertSame(Country.UNITED_STATES, Country.fromName("United States of America")); // Official name
+        assertSame(Country.SOUTH_KOREA, Country.fromName("south korea")); // Common name
+        assertSame(Country.SOUTH_KOREA, Country.fromName("Korea, Republic of")); // ISO short name
+        assertSame(Country.COTE_D_IVOIRE, Country.fromName("CÔTE D'IVOIRE"));
+        for (Country country : Country.values()) {
+            assertSame(country, Country.fromCode(country.alpha2().toLowerCase()));
+            assertSame(country, Country.fromCode(" " + country.alpha3() + " "));
+            assertSame(country, Country.fromCode(String.format("%03d", country.numericCode())));
+            assertSame(country, Country.fromNumericCode(country.numericCode()));
+            assertSame(country, Country.fromCode(country.alpha2(), Country.CodeType.ALPHA_2));
+            assertSame(country, Country.fromCode(country.alpha3(), Country.CodeType.ALPHA_3));
+        }
+        assertSame(Country.AFGHANISTAN, Country.fromCode("004", Country.CodeType.NUMERIC));
+        assertNull(Country.fromCode("LK", Country.CodeType.ALPHA_3));
+        assertNull(Country.fromCode("LKA", Country.CodeType.NUMERIC));
+        assertNull(Country.fromCode("XX"));
+        assertNull(Country.fromCode("4"));
+        assertNull(Country.fromCode("000"));
+        assertNull(Country.fromCode("U1"));
+        assertNull(Country.fromNumericCode(-1));
+        assertNull(Country.fromNumericCode(1000));
+    }
+
+    @Test
+    public void testValidateCountryCode() {
+        assertTrue(InputValidator.validateCountryCode("LK"));
+        assertTrue(InputValidator.validateCountryCode(" lka "));
+        assertTrue(InputValidator.validateCountryCode("144"));
+        assertTrue(InputValidator.validateCountryCode("usa", Country.CodeType.ALPHA_3));
+        assertFalse(InputValidator.validateCountryCode("US", Country.CodeType.NUMERIC));
+        assertFalse(InputValidator.validateCountryCode("ZZ"));
+        assertFalse(InputValidator.validateCountryCode("Sri Lanka"));
+        assertFalse(InputValidator.validateCountryCode(""));
+        assertFalse(InputValidator.validateCountryCode(null));
+    }
+
 
     @Test
     public void testValidateWebsiteURL() {
@@ -106,6 +398,76 @@ public class InputValidatorTest {
         assertFalse(InputValidator.validateWebsiteURL("www.example.com")); // No scheme
     }
 
+    @Test
+    public void testValidateWebsiteURLComponents() {
+        UrlComponents components = new UrlComponents();
+        String url = " HTTPS://www.example.com:8443/a/b;c?q=1&r=/x?#frag/ment ";
+        assertTrue(InputValidator.validateWebsiteURL(url, components));
+        assertEquals("HTTPS", slice(components, UrlComponents.Component.SCHEME));
+        assertEquals("www.example.com", slice(components, UrlComponents.Component.HOST));
+        assertEquals("8443", slice(components, UrlComponents.Component.PORT));
+        assertEquals(8443, components.port());
+        assertEquals("/a/b;c", slice(components, UrlComponents.Component.PATH));
+        assertEquals("q=1&r=/x?", slice(components, UrlComponents.Component.QUERY));
+        assertEquals("frag/ment", slice(components, UrlComponents.Component.FRAGMENT));
+
+        assertTrue(InputValidator.validateWebsiteURL("http://example.com", components));
+        assertFalse(components.isPresent(UrlComponents.Component.PORT));
+        assertFalse(components.isPresent(UrlComponents.Component.PATH));
+        assertEquals(-1, components.port());
+        assertEquals(-1, components.start(UrlComponents.Component.QUERY));
+
+        assertFalse(InputValidator.validateWebsiteURL("http://example.com:123456"));
+        assertFalse(InputValidator.validateWebsiteURL("http://example.c0m"));
+        assertFalse(InputValidator.validateWebsiteURL("http://.example.com"));
+        assertFalse(InputValidator.validateWebsiteURL("http://example.com/a b"));
+        assertFalse(InputValidator.validateWebsiteURL("http:\u001a//example.com"));
+        assertFalse(InputValidator.validateWebsiteURL("ftp://example.com"));
+    }
+
+    @Test
+    public void testValidateWebsiteURLAcceptsLegacyPattern() {
+        Pattern legacy = Pattern.compile(
+                "^(https?://)([\\w-]+\\.)+[a-zA-Z]{2,6}(:\\d{1,5})?(?:/[\\w\\-.~:@!$&'()*+,;=%]*)?$",
+                Pattern.CASE_INSENSITIVE
+        );
+        String[] labels = {"a", "Zz", "_", "-", "9", "a-b", ""};
+        String[] tlds = {"com", "io", "museum", "c", "abcdefg", "c0m"};
+        String[] tails = {":", "8080", "/", "%", "~", "?", "#", " ", "\u00e9", "a", ".", "-", "@", "'"};
+        Random random = new Random(9);
+        int accepted = 0;
+        for (int i = 0; i < 300_000; i++) {
+            StringBuilder sb = new StringBuilder(random.nextBoolean() ? "http://" : "HTTPS://");
+            for (int j = random.nextInt(3); j >= 0; j--) {
+                sb.append(labels[random.nextInt(labels.length)]).append('.');
+            }
+            sb.append(tlds[random.nextInt(tlds.length)]);
+            for (int j = random.nextInt(6); j > 0; j--) {
+                sb.append(tails[random.nextInt(tails.length)]);
+            }
+            String url = sb.toString();
+            if (legacy.matcher(url.trim()).matches()) {
+                accepted++;
+                assertTrue(InputValidator.validateWebsiteURL(url), url);
+            }
+        }
+        assertTrue(accepted > 1000);
+    }
+
+    @Test
+    public void testValidateWebsiteURLHostileInputIsLinear() {
+        StringBuilder sb = new StringBuilder("http://");
+        for (int i = 0; i < 100_000; i++) {
+            sb.append("a.");
+        }
+        String hostile = sb.append('!').toString();
+        assertTimeout(Duration.ofSeconds(1), () -> assertFalse(InputValidator.validateWebsiteURL(hostile)));
+    }
+
+    private static String slice(UrlComponents components, UrlComponents.Component component) {
+        return components.source().subSequence(components.start(component), components.end(component)).toString();
+    }
+
     @Test
     public void testValidateString() {
         assertTrue(InputValidator.validateString("Valid String"));
@@ -121,4 +483,848 @@ public class InputValidatorTest {
         assertFalse(InputValidator.validateNumber("123a"));
         assertFalse(InputValidator.validateNumber("abc"));
     }
+
+    @Test
+    public void testValidateNumberMatchesParseDouble() {
+        String[] samples = {"1", "-1", "+.5", "5.", ".", "1e10", "1E+10", "1e", "1e-", "2f", "2.D", ".e1",
+                "NaN", "-NaN", "nan", "Infinity", "+Infinity", "Infinityd", "0x1p3", "0X1.8P-2f", "0x.8p1",
+                "0x1", "0xp1", "0x1.p", " 42 ", "\t7\n", "1..2", "1.2.3", "--1", "+", "", " ", "1_000", "١٢"};
+        for (String sample : samples) {
+            assertEquals(parses(sample), InputValidator.validateNumber(sample), sample);
+        }
+
+        String[] fragments = {"0", "7", "9", ".", "-", "+", "e", "E", "x", "X", "p", "P", "a", "f", "F", "d", "D",
+                "NaN", "Infinity", " ", "\u0000"};
+        Random random = new Random(11);
+        for (int i = 0; i < 300_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int parts = random.nextInt(8);
+            for (int j = 0; j < parts; j++) {
+                sb.append(fragments[random.nextInt(fragments.length)]);
+            }
+            String number = sb.toString();
+            assertEquals(parses(number), InputValidator.validateNumber(number), number);
+        }
+        assertFalse(InputValidator.validateNumber(null));
+    }
+
+    @Test
+    public void testValidateNumberStrictDecimal() {
+        assertTrue(InputValidator.validateNumber("-12.5", NumberSyntax.STRICT_DECIMAL));
+        assertTrue(InputValidator.validateNumber(" 1e-3 ", NumberSyntax.STRICT_DECIMAL));
+        assertTrue(InputValidator.validateNumber(".5", NumberSyntax.STRICT_DECIMAL));
+        assertFalse(InputValidator.validateNumber("NaN", NumberSyntax.STRICT_DECIMAL));
+        assertFalse(InputValidator.validateNumber("-Infinity", NumberSyntax.STRICT_DECIMAL));
+        assertFalse(InputValidator.validateNumber("0x1p3", NumberSyntax.STRICT_DECIMAL));
+        assertFalse(InputValidator.validateNumber("2f", NumberSyntax.STRICT_DECIMAL));
+        assertFalse(InputValidator.validateNumber("1e", NumberSyntax.STRICT_DECIMAL));
+    }
+
+    @Test
+    public void testCheckReportsReasonAndOffset() {
+        assertEquals(FailureReason.VALID, InputValidator.checkEmail(" test@example.com "));
+        assertFailure(FailureReason.NULL_INPUT, 0, InputValidator.checkEmail(null));
+        assertFailure(FailureReason.MISSING_AT, 15, InputValidator.checkEmail("userexample.com"));
+        assertFailure(FailureReason.BAD_DOMAIN, 5, InputValidator.checkEmail("user@-example.com"));
+        assertFailure(FailureReason.MISSING_TLD, 12, InputValidator.checkEmail("user@example"));
+        assertFailure(FailureReason.BAD_TLD, 14, InputValidator.checkEmail("user@example.c"));
+
+        assertEquals(FailureReason.VALID, InputValidator.checkPassword("Aa1!secure"));
+        assertFailure(FailureReason.TOO_SHORT, 7, InputValidator.checkPassword("Aa1!aaa"));
+        assertFailure(FailureReason.WHITESPACE, 3, InputValidator.checkPassword("Aa1 secure!"));
+        assertFailure(FailureReason.MISSING_UPPERCASE, 10, InputValidator.checkPassword("password1!"));
+        assertFailure(FailureReason.MISSING_SPECIAL, 9, InputValidator.checkPassword("Aa1bcdefg"));
+        assertFailure(FailureReason.REPEATED_CHARACTER, 6, InputValidator.checkPassword("Aa1!aaab"));
+        assertFailure(FailureReason.WEAK_PASSWORD, 0, InputValidator.checkPassword("Password1!"));
+
+        InputValidator.setClock(Clock.fixed(Instant.parse("2024-06-15T12:00:00Z"), ZoneOffset.UTC));
+        try {
+            assertEquals(FailureReason.VALID, InputValidator.checkDateOfBirth("2000-01-01"));
+            assertFailure(FailureReason.BAD_FORMAT, 4, InputValidator.checkDateOfBirth("2000/01/01"));
+            assertFailure(FailureReason.BAD_FORMAT, 10, InputValidator.checkDateOfBirth("2000-01-011"));
+            assertFailure(FailureReason.INVALID_DATE, 5, InputValidator.checkDateOfBirth("2000-13-01"));
+            assertFailure(FailureReason.INVALID_DATE, 8, InputValidator.checkDateOfBirth("2023-02-29"));
+            assertFailure(FailureReason.TOO_EARLY, 1, InputValidator.checkDateOfBirth(" 1899-12-31"));
+            assertFailure(FailureReason.FUTURE_DATE, 0, InputValidator.checkDateOfBirth("2024-06-15"));
+        } finally {
+            InputValidator.setClock(Clock.systemDefaultZone());
+        }
+
+        assertEquals(FailureReason.VALID, InputValidator.checkWebsiteURL("https://example.com/a?q=1"));
+        assertFailure(FailureReason.BAD_SCHEME, 0, InputValidator.checkWebsiteURL("htp://example.com"));
+        assertFailure(FailureReason.BAD_HOST, 10, InputValidator.checkWebsiteURL("http://ex..com"));
+        assertFailure(FailureReason.MISSING_TLD, 16, InputValidator.checkWebsiteURL("http://localhost"));
+        assertFailure(FailureReason.BAD_PORT, 19, InputValidator.checkWebsiteURL("http://example.com:port"));
+        assertFailure(FailureReason.UNEXPECTED_CHARACTER, 20,
+                InputValidator.checkWebsiteURL("http://example.com/a b"));
+
+        assertEquals(FailureReason.VALID, InputValidator.checkNumber("-1e3", NumberSyntax.STRICT_DECIMAL));
+        assertFailure(FailureReason.EMPTY, 1, InputValidator.checkNumber(" ", NumberSyntax.JAVA_DOUBLE));
+        assertFailure(FailureReason.MISSING_DIGITS, 1, InputValidator.checkNumber("-", NumberSyntax.JAVA_DOUBLE));
+        assertFailure(FailureReason.BAD_EXPONENT, 1, InputValidator.checkNumber("1e", NumberSyntax.JAVA_DOUBLE));
+        assertFailure(FailureReason.UNEXPECTED_CHARACTER, 3,
+                InputValidator.checkNumber("123abc", NumberSyntax.JAVA_DOUBLE));
+        assertFailure(FailureReason.MISSING_DIGITS, 0, InputValidator.checkNumber("NaN", NumberSyntax.STRICT_DECIMAL));
+
+        assertEquals(FailureReason.VALID, InputValidator.checkCountry("sri lanka"));
+        assertFailure(FailureReason.EMPTY, 2, InputValidator.checkCountry("  "));
+        assertFailure(FailureReason.UNKNOWN_COUNTRY, 1, InputValidator.checkCountry(" Atlantis"));
+
+        assertEquals(FailureReason.VALID, InputValidator.checkDateTime(" 2024-02-29T23:59:59.5+01:00"));
+        assertFailure(FailureReason.NULL_INPUT, 0, InputValidator.checkDateTime(null));
+        assertFailure(FailureReason.BAD_FORMAT, 4, InputValidator.checkDateTime("2023/11/19 12:45:30"));
+        assertFailure(FailureReason.INVALID_DATE, 8, InputValidator.checkDateTime("2023-02-29T00:00:00Z"));
+        assertFailure(FailureReason.BAD_FORMAT, 10, InputValidator.checkDateTime("2023-01-01t00:00:00Z"));
+        assertFailure(FailureReason.BAD_FORMAT, 11, InputValidator.checkDateTime("2023-01-01T24:00:00Z"));
+        assertFailure(FailureReason.BAD_FORMAT, 17, InputValidator.checkDateTime("2023-01-01T00:00:60Z"));
+        assertFailure(FailureReason.BAD_FORMAT, 29, InputValidator.checkDateTime("2023-01-01T00:00:00.1234567890Z"));
+        assertFailure(FailureReason.BAD_FORMAT, 19, InputValidator.checkDateTime("2023-01-01T00:00:00"));
+        assertFailure(FailureReason.BAD_FORMAT, 23, InputValidator.checkDateTime("2023-01-01T00:00:00+01:60"));
+        assertFailure(FailureReason.UNEXPECTED_CHARACTER, 20, InputValidator.checkDateTime("2023-01-01T00:00:00Zx"));
+
+        assertEquals(FailureReason.VALID, InputValidator.checkCountryCode(" lk "));
+        assertEquals(FailureReason.VALID, InputValidator.checkCountryCode("LKA", Country.CodeType.ALPHA_3));
+        assertFailure(FailureReason.UNKNOWN_COUNTRY, 0, InputValidator.checkCountryCode("LK", Country.CodeType.ALPHA_3));
+        assertFailure(FailureReason.UNKNOWN_COUNTRY, 1, InputValidator.checkCountryCode(" XX"));
+        assertFailure(FailureReason.EMPTY, 1, InputValidator.checkCountryCode(" "));
+
+        assertEquals(FailureReason.VALID, InputValidator.checkString(" x "));
+        assertFailure(FailureReason.EMPTY, 3, InputValidator.checkString(" \t "));
+        assertFailure(FailureReason.NULL_INPUT, 0, InputValidator.checkString(null));
+
+        assertEquals(FailureReason.VALID, InputValidator.checkEmail("to: test@example.com;", 4, 16));
+        assertFailure(FailureReason.BAD_TLD, 18, InputValidator.checkEmail("to: user@example.c;", 4, 14));
+        assertThrows(IndexOutOfBoundsException.class, () -> InputValidator.checkEmail("a@b.com", 3, 10));
+
+        assertEquals(FailureReason.NONE, FailureReason.of(FailureReason.VALID));
+        assertThrows(IllegalArgumentException.class, () -> FailureReason.of(255));
+    }
+
+    @Test
+    public void testCheckAgreesWithValidate() {
+        String alphabet = "aZ09.-@_+!: /\u00e9";
+        Random random = new Random(16);
+        for (int i = 0; i < 100_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(16);
+            for (int j = 0; j < length; j++) {
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String input = sb.toString();
+            assertEquals(InputValidator.validateEmail(input),
+                    InputValidator.checkEmail(input) == FailureReason.VALID, input);
+            assertEquals(InputValidator.validatePassword(input),
+                    InputValidator.checkPassword(input) == FailureReason.VALID, input);
+            assertEquals(InputValidator.validateWebsiteURL(input),
+                    InputValidator.checkWebsiteURL(input) == FailureReason.VALID, input);
+            assertEquals(InputValidator.validateNumber(input),
+                    InputValidator.checkNumber(input, NumberSyntax.JAVA_DOUBLE) == FailureReason.VALID, input);
+            assertEquals(InputValidator.validateString(input),
+                    InputValidator.checkString(input) == FailureReason.VALID, input);
+            assertEquals(InputValidator.validateCountryCode(input),
+                    InputValidator.checkCountryCode(input) == FailureReason.VALID, input);
+        }
+
+        String dateTimes = "0123456789-:.+TZ ";
+        for (int i = 0; i < 100_000; i++) {
+            char[] dateTime = "2000-01-01T12:30:45.5+01:00".toCharArray();
+            for (int j = random.nextInt(3); j >= 0; j--) {
+                dateTime[random.nextInt(dateTime.length)] = dateTimes.charAt(random.nextInt(dateTimes.length()));
+            }
+            String input = new String(dateTime, 0, random.nextInt(4) == 0 ? random.nextInt(dateTime.length) : dateTime.length);
+            assertEquals(InputValidator.validateDateTime(input),
+                    InputValidator.checkDateTime(input) == FailureReason.VALID, input);
+        }
+
+        String dates = "0123456789-/ ";
+        for (int i = 0; i < 100_000; i++) {
+            char[] date = "2000-01-01".toCharArray();
+            for (int j = random.nextInt(3); j >= 0; j--) {
+                date[random.nextInt(date.length)] = dates.charAt(random.nextInt(dates.length()));
+            }
+            String dob = new String(date);
+            assertEquals(InputValidator.validateDateOfBirth(dob),
+                    InputValidator.checkDateOfBirth(dob) == FailureReason.VALID, dob);
+        }
+    }
+
+    private static void assertFailure(FailureReason reason, int offset, int code) {
+        assertEquals(reason, FailureReason.of(code));
+        assertEquals(offset, FailureReason.offsetOf(code));
+    }
+
+    @Test
+    public void testParseDoubleOrNaNMatchesParseDouble() {
+        String[] samples = {"0", "-0", "123.45", "1e23", "8.98846567431158e307", "1.7976931348623157e308",
+                "1.7976931348623159e308", "4.9e-324", "2.4e-324", "2.5e-324", "2.2250738585072011e-308",
+                "9007199254740993", "0.1", "0.30000000000000004", "123456789012345678901234567890",
+                "1.00000000000000011102230246251565404236316680908203125", "7.2057594037927933e16",
+                "1e-400", "1e400", "0x1.8p1", "-Infinity", "NaN", "2.5f", ".5", "5.", "  42\t",
+                "9999999999999999999", "9887569366807642000", "-9.8875693668076420000e+02", "18446744073709551615e-5"};
+        for (String sample : samples) {
+            assertEquals(Double.doubleToLongBits(Double.parseDouble(sample)),
+                    Double.doubleToLongBits(InputValidator.parseDoubleOrNaN(sample)), sample);
+        }
+
+        Random random = new Random(3);
+        for (int i = 0; i < 400_000; i++) {
+            String number;
+            switch (i % 4) {
+                case 0:
+                    number = Double.toString(Double.longBitsToDouble(random.nextLong() & 0x7FFFFFFFFFFFFFFFL));
+                    break;
+                case 1:
+                    number = (random.nextLong() >>> random.nextInt(64)) + "e" + (random.nextInt(700) - 350);
+                    break;
+                case 2:
+                    // 19 digits, above Long.MAX_VALUE as often as not
+                    number = Long.toUnsignedString(random.nextLong() | 1L << 62) + "e" + (random.nextInt(60) - 40);
+                    break;
+                default:
+                    number = random.nextInt(1_000_000) + "." + random.nextInt(1_000_000);
+                    break;
+            }
+            if (number.equals("NaN")) {
+                continue;
+            }
+            assertEquals(Double.doubleToLongBits(Double.parseDouble(number)),
+                    Double.doubleToLongBits(InputValidator.parseDoubleOrNaN(number)), number);
+        }
+
+        assertTrue(Double.isNaN(InputValidator.parseDoubleOrNaN("123abc")));
+        assertTrue(Double.isNaN(InputValidator.parseDoubleOrNaN("")));
+        assertTrue(Double.isNaN(InputValidator.parseDoubleOrNaN(null)));
+        assertEquals(1.5, InputValidator.parseDoubleOrNaN("x=1.5;", 2, 5));
+    }
+
+    @Test
+    public void testParseLongAndInt() {
+        assertEquals(-42L, InputValidator.parseLongOrDefault("-42", 0L));
+        assertEquals(42L, InputValidator.parseLongOrDefault(" +42 ", 0L));
+        assertEquals(Long.MIN_VALUE, InputValidator.parseLongOrDefault("-9223372036854775808", 0L));
+        assertEquals(Long.MAX_VALUE, InputValidator.parseLongOrDefault("9223372036854775807", 0L));
+        assertEquals(7L, InputValidator.parseLongOrDefault("9223372036854775808", 7L)); // Overflow
+        assertEquals(7L, InputValidator.parseLongOrDefault("4.2", 7L));
+        assertEquals(7L, InputValidator.parseLongOrDefault("-", 7L));
+        assertEquals(7L, InputValidator.parseLongOrDefault(null, 7L));
+
+        assertEquals(42L, InputValidator.tryParseInt("id=42;", 3, 5));
+        assertEquals(Integer.MIN_VALUE, InputValidator.tryParseInt("-2147483648", 0, 11));
+        assertEquals(InputValidator.NOT_AN_INT, InputValidator.tryParseInt("2147483648", 0, 10));
+        assertEquals(InputValidator.NOT_AN_INT, InputValidator.tryParseInt("12a", 0, 3));
+        assertEquals(InputValidator.NOT_AN_INT, InputValidator.tryParseInt("", 0, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> InputValidator.tryParseInt("12", 1, 3));
+    }
+
+    @Test
+    public void testBatchValidationMatchesSingleCalls() {
+        String[] samples = {
+                "test@example.com", "invalid-email", "Aa1!secure", "password1!", "2000-01-01", "2000-02-30",
+                "2023-11-19T10:15:30Z", "2023-13-45T99:99:99Z", "Sri Lanka", "Atlantis", "LK", "XX",
+                "https://example.com/a?q=1", "htp://example.com", "ValidString", " ", "123.45", "123abc", null, ""
+        };
+        Random random = new Random(12);
+        String[] inputs = new String[1000];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = samples[random.nextInt(samples.length)];
+        }
+        int from = 37;
+        int to = 901;
+
+        long[] bits = BatchValidator.newResultBits(to - from);
+        Arrays.fill(bits, -1L); // Stale results must be overwritten
+        int valid = BatchValidator.validateEmails(inputs, from, to, bits);
+        int expected = 0;
+        for (int i = from; i < to; i++) {
+            assertEquals(InputValidator.validateEmail(inputs[i]), BatchValidator.isValid(bits, i - from));
+            expected += InputValidator.validateEmail(inputs[i]) ? 1 : 0;
+        }
+        assertEquals(expected, valid);
+        assertEquals(0, bits[bits.length - 1] >>> ((to - from) & 63)); // Bits past the batch are cleared
+
+        List<String> list = Arrays.asList(inputs);
+        long[] listBits = BatchValidator.newResultBits(to - from);
+        assertEquals(BatchValidator.validatePasswords(inputs, from, to, bits),
+                BatchValidator.validatePasswords(list, from, to, listBits));
+        assertArrayEquals(bits, listBits);
+        for (int i = from; i < to; i++) {
+            assertEquals(InputValidator.validatePassword(inputs[i]), BatchValidator.isValid(bits, i - from));
+        }
+
+        BatchValidator.validateDatesOfBirth(list, from, to, bits);
+        BatchValidator.validateDateTimes(inputs, from, to, listBits);
+        for (int i = from; i < to; i++) {
+            assertEquals(InputValidator.validateDateOfBirth(inputs[i]), BatchValidator.isValid(bits, i - from));
+            assertEquals(InputValidator.validateDateTime(inputs[i]), BatchValidator.isValid(listBits, i - from));
+        }
+        BatchValidator.validateCountries(inputs, from, to, bits);
+        BatchValidator.validateCountryCodes(list, from, to, listBits);
+        for (int i = from; i < to; i++) {
+            assertEquals(InputValidator.validateCountry(inputs[i]), BatchValidator.isValid(bits, i - from));
+            assertEquals(InputValidator.validateCountryCode(inputs[i]), BatchValidator.isValid(listBits, i - from));
+        }
+        BatchValidator.validateWebsiteURLs(list, from, to, bits);
+        BatchValidator.validateStrings(inputs, from, to, listBits);
+        for (int i = from; i < to; i++) {
+            assertEquals(InputValidator.validateWebsiteURL(inputs[i]), BatchValidator.isValid(bits, i - from));
+            assertEquals(InputValidator.validateString(inputs[i]), BatchValidator.isValid(listBits, i - from));
+        }
+        assertEquals(BatchValidator.validateNumbers(inputs, from, to, bits),
+                BatchValidator.validateNumbers(list, from, to, listBits));
+        for (int i = from; i < to; i++) {
+            assertEquals(InputValidator.validateNumber(inputs[i]), BatchValidator.isValid(bits, i - from));
+        }
+
+        assertEquals(0, BatchValidator.validateEmails(inputs, 5, 5, new long[0])); // Empty batch
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> BatchValidator.validateEmails(inputs, 0, 1001, new long[16]));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> BatchValidator.validateEmails(inputs, 0, 65, new long[1]));
+    }
+
+    @Test
+    public void testParallelBatchValidationMatchesSequential() {
+        String[] samples = {
+                "test@example.com", "invalid-email", "user.name+alias@example.co.uk", "a@b", null,
+                "123.45", "123abc", "1e-3", "NaN", " "
+        };
+        Random random = new Random(13);
+        String[] inputs = new String[300_000];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = samples[random.nextInt(samples.length)];
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelBatchValidator parallel = new ParallelBatchValidator(pool);
+            for (int[] range : new int[][] {{0, inputs.length}, {5, inputs.length - 3}, {100, 200}, {7, 7}}) {
+                int from = range[0];
+                int to = range[1];
+                long[] expected = BatchValidator.newResultBits(to - from);
+                long[] actual = BatchValidator.newResultBits(to - from);
+                Arrays.fill(actual, -1L);
+                assertEquals(BatchValidator.validateEmails(inputs, from, to, expected),
+                        parallel.validateEmails(inputs, from, to, actual));
+                assertArrayEquals(expected, actual);
+
+                Arrays.fill(actual, -1L);
+                assertEquals(BatchValidator.validateNumbers(inputs, from, to, expected),
+                        parallel.validateNumbers(inputs, from, to, actual));
+                assertArrayEquals(expected, actual);
+            }
+            assertThrows(IndexOutOfBoundsException.class,
+                    () -> parallel.validateEmails(inputs, 0, inputs.length, new long[10]));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testValidatePattern() {
+        assertTrue(InputValidator.validatePattern("ABC-1234", "[A-Z]{3}-\\d{4}"));
+        assertFalse(InputValidator.validatePattern("ABC-12", "[A-Z]{3}-\\d{4}"));
+        assertFalse(InputValidator.validatePattern(null, "a*"));
+        assertTrue(InputValidator.validatePattern("", "^a*$"));
+        assertTrue(InputValidator.validatePattern("user@example.com",
+                "[a-zA-Z0-9._%+-]+@[a-zA-Z0-9](?:[a-zA-Z0-9-]*[a-zA-Z0-9])?\\.[a-zA-Z]{2,}(\\.[a-zA-Z]{2,})?"));
+        assertTrue(InputValidator.validatePattern("\uD83D\uDE00", ".")); // One code point
+        assertTrue(LinearPattern.compile("a|b").matches("xbx", 1, 2));
+        assertTrue(LinearPattern.compile("\\uD83D\\uDE00").matches("\uD83D\uDE00"));
+        assertTrue(LinearPattern.compile("[\\uD83D\\uDE00-\\uD83D\\uDE4F]+").matches("\uD83D\uDE00\uD83D\uDE4F"));
+        assertFalse(LinearPattern.compile("[\\uD83D\\uDE00-\\uD83D\\uDE4F]").matches("\uD83D\uDE50"));
+        assertTrue(LinearPattern.compile("\\uD83Dx\\uDE00?").matches("\uD83Dx"));
+
+        String nested = "(".repeat(100) + "a" + ")".repeat(100);
+        assertTrue(LinearPattern.compile(nested).matches("a"));
+        assertThrows(PatternSyntaxException.class, () -> LinearPattern.compile("(" + nested + ")"));
+        assertThrows(PatternSyntaxException.class, () -> LinearPattern.compile("(".repeat(20_000) + ")".repeat(20_000)));
+
+        // Patterns with thousands of DFA states each spend the shared cache's budget; answers stay the same
+        Random random = new Random(20);
+        for (int i = 0; i < 12; i++) {
+            String regex = "[ab]*a[ab]{11}" + (char) ('c' + i);
+            StringBuilder input = new StringBuilder();
+            for (int j = 0; j < 8000; j++) {
+                input.append(random.nextBoolean() ? 'a' : 'b');
+            }
+            for (String end : new String[] {"", String.valueOf((char) ('c' + i))}) {
+                String candidate = input + end;
+                assertEquals(Pattern.matches(regex, candidate), InputValidator.validatePattern(candidate, regex), regex);
+            }
+        }
+
+        String[] unsupported = {"(a)\\1", "(?=a)", "(?!a)", "(?<=a)b", "(?i)a", "a*+", "\\bword", "\\p{L}",
+                "[a-z&&[^b]]", "[[a]]", "a^", "$a", "(a", "a)", "*a", "a**", "a{2,1}", "a{1001}", "[]", "[z-a]",
+                "\\", "\\Qa\\E", "(?<name>a)"};
+        for (String pattern : unsupported) {
+            assertThrows(PatternSyntaxException.class, () -> LinearPattern.compile(pattern), pattern);
+        }
+    }
+
+    @Test
+    public void testLinearPatternMatchesJavaRegex() {
+        String[] atoms = {"a", "b", ".", "\\d", "\\w", "\\s", "\\S", "[ab]", "[^a]", "[a-c0-9_]", "[-a]", "\\.",
+                "\\u00e9", "\\x41"};
+        String[] quantifiers = {"", "", "", "*", "+", "?", "{2}", "{1,3}", "{0,}", "*?", "{2,}"};
+        String alphabet = "abcA09_. \n\u00e9";
+        Random random = new Random(20);
+        for (int p = 0; p < 2_000; p++) {
+            // Two levels of nesting; deeper random patterns can make the backtracking reference take minutes
+            String regex = randomRegex(random, atoms, quantifiers, 2);
+            Pattern reference = Pattern.compile(regex);
+            LinearPattern linear = LinearPattern.compile(regex);
+            for (int i = 0; i < 50; i++) {
+                StringBuilder sb = new StringBuilder();
+                int length = random.nextInt(8);
+                for (int j = 0; j < length; j++) {
+                    sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                String input = sb.toString();
+                assertEquals(reference.matcher(input).matches(), linear.matches(input), regex + " on " + input);
+            }
+        }
+    }
+
+    @Test
+    public void testLinearPatternHostileInputIsLinear() {
+        LinearPattern nested = LinearPattern.compile("(a+)+b");
+        LinearPattern counted = LinearPattern.compile("(a|aa){1,1000}c");
+        String hostile = "a".repeat(50_000);
+        assertTimeout(Duration.ofSeconds(1), () -> {
+            assertFalse(nested.matches(hostile));
+            assertFalse(counted.matches(hostile));
+        });
+    }
+
+    private static String randomRegex(Random random, String[] atoms, String[] quantifiers, int depth) {
+        StringBuilder sb = new StringBuilder();
+        int items = 1 + random.nextInt(3);
+        for (int i = 0; i < items; i++) {
+            int choice = random.nextInt(10);
+            if (depth > 0 && choice == 0) {
+                sb.append("(").append(randomRegex(random, atoms, quantifiers, depth - 1)).append(")");
+            } else if (depth > 0 && choice == 1) {
+                sb.append("(?:").append(randomRegex(random, atoms, quantifiers, depth - 1))
+                        .append("|").append(randomRegex(random, atoms, quantifiers, depth - 1)).append(")");
+            } else {
+                sb.append(atoms[random.nextInt(atoms.length)]);
+            }
+            sb.append(quantifiers[random.nextInt(quantifiers.length)]);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testValidationCache() {
+        ValidationCache countries = new ValidationCache(InputValidator::validateCountry, 100);
+        assertEquals(128, countries.capacity());
+        assertTrue(countries.test("Sri Lanka"));
+        assertTrue(countries.test(new String("Sri Lanka")));
+        assertFalse(countries.test("Atlantis"));
+        assertFalse(countries.test("Atlantis"));
+        assertFalse(countries.test(null));
+        assertEquals(2, countries.hits());
+        assertEquals(2, countries.misses());
+
+        countries.setEnabled(false);
+        assertTrue(countries.test("Sri Lanka"));
+        assertEquals(2, countries.hits());
+        countries.setEnabled(true);
+        assertTrue(countries.test("Sri Lanka"));
+        assertEquals(3, countries.hits());
+
+        countries.clear();
+        countries.resetCounters();
+        assertTrue(countries.test("Sri Lanka"));
+        assertEquals(0, countries.hits());
+        assertEquals(1, countries.misses());
+        assertThrows(IllegalArgumentException.class, () -> new ValidationCache(InputValidator::validateEmail, 0));
+    }
+
+    @Test
+    public void testValidationCacheEvictsAndStaysCorrect() throws InterruptedException {
+        ValidationCache emails = new ValidationCache(InputValidator::validateEmail, 64);
+        String[] inputs = new String[1000];
+        Random random = new Random(17);
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = random.nextBoolean() ? "user" + i + "@example.com" : "user" + i + "@example";
+        }
+
+        Thread[] threads = new Thread[4];
+        boolean[] failed = new boolean[threads.length];
+        for (int t = 0; t < threads.length; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                Random local = new Random(id);
+                for (int i = 0; i < 50_000; i++) {
+                    // Skewed towards a few hot inputs, like real traffic
+                    String input = inputs[local.nextInt(1 + local.nextInt(inputs.length))];
+                    if (emails.test(input) != InputValidator.validateEmail(input)) {
+                        failed[id] = true;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (boolean f : failed) {
+            assertFalse(f);
+        }
+        assertEquals(threads.length * 50_000L, emails.hits() + emails.misses());
+        assertTrue(emails.hits() > 0);
+        assertTrue(emails.misses() > 64);
+    }
+
+    @Test
+    public void testValidationMetrics() throws Exception {
+        ValidationMetrics.reset();
+        InputValidator.validateEmail("test@example.com");
+        assertEquals(0, ValidationMetrics.snapshot(ValidationMetrics.Kind.EMAIL).calls()); // Off by default
+
+        ValidationMetrics.enable();
+        try {
+            assertTrue(InputValidator.validateEmail("test@example.com"));
+            assertFalse(InputValidator.validateEmail("invalid-email"));
+            assertFalse(InputValidator.validateEmail(null));
+            assertTrue(InputValidator.validateEmail("to: a@b.co", 4, 6));
+            assertTrue(InputValidator.validateNumber("1e3"));
+            assertFalse(InputValidator.validateDateTime("2023-13-45T99:99:99Z"));
+            BatchValidator.validateCountries(new String[] {"Sri Lanka", "Atlantis"}, 0, 2, new long[1]);
+            // CSV files are not recorded, whatever their columns
+            Path csv = Files.createTempFile("metrics", ".csv");
+            try {
+                Files.write(csv, "test@example.com,2023-11-19T12:45:30Z,http://example.com\n".getBytes(StandardCharsets.UTF_8));
+                new CsvValidator(CsvValidator.Rule.EMAIL, CsvValidator.Rule.DATE_TIME, CsvValidator.Rule.WEBSITE_URL).validate(csv);
+            } finally {
+                Files.delete(csv);
+            }
+        } finally {
+            ValidationMetrics.disable();
+        }
+
+        ValidationMetrics.Snapshot emails = ValidationMetrics.snapshot(ValidationMetrics.Kind.EMAIL);
+        assertEquals(ValidationMetrics.Kind.EMAIL, emails.kind());
+        assertEquals(4, emails.calls());
+        assertEquals(2, emails.accepted());
+        assertEquals(2, emails.rejected());
+        assertTrue(emails.meanNanos() >= 0);
+        assertTrue(emails.percentileNanos(50) <= emails.percentileNanos(99));
+        assertTrue(emails.percentileNanos(100) <= emails.maxNanos());
+        assertThrows(IllegalArgumentException.class, () -> emails.percentileNanos(101));
+        assertEquals(1, ValidationMetrics.snapshot(ValidationMetrics.Kind.NUMBER).accepted());
+        assertEquals(1, ValidationMetrics.snapshot(ValidationMetrics.Kind.DATE_TIME).rejected());
+        assertEquals(1, ValidationMetrics.snapshot(ValidationMetrics.Kind.DATE_TIME).calls());
+        assertEquals(0, ValidationMetrics.snapshot(ValidationMetrics.Kind.WEBSITE_URL).calls());
+        assertEquals(2, ValidationMetrics.snapshot(ValidationMetrics.Kind.COUNTRY).calls());
+        assertEquals(0, ValidationMetrics.snapshot(ValidationMetrics.Kind.PASSWORD).maxNanos());
+
+        ValidationMetrics.registerMBeans();
+        ValidationMetrics.registerMBeans();
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("inputvalidator:type=ValidationMetrics,validator=EMAIL");
+            assertEquals(4L, server.getAttribute(name, "Calls"));
+            assertEquals(2L, server.getAttribute(name, "Rejected"));
+            server.invoke(name, "reset", null, null);
+            assertEquals(0, ValidationMetrics.snapshot(ValidationMetrics.Kind.EMAIL).calls());
+        } finally {
+            ValidationMetrics.unregisterMBeans();
+        }
+        ValidationMetrics.reset();
+    }
+
+    @Test
+    public void testValidationEvents() throws IOException {
+        Path file = Files.createTempFile("validation", ".jfr");
+        ValidationEvents.setRejectionSampleInterval(1);
+        try (Recording recording = new Recording()) {
+            recording.enable("inputvalidator.SlowValidation").withThreshold(Duration.ZERO);
+            recording.enable("inputvalidator.RejectedValidation");
+            recording.start();
+            assertTrue(InputValidator.validateEmail("test@example.com"));
+            assertFalse(InputValidator.validateEmail("user@example"));
+            assertFalse(InputValidator.validatePassword("Secret-Password-Aa1!  "));
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            List<RecordedEvent> rejected = new ArrayList<>();
+            int slow = 0;
+            for (RecordedEvent event : events) {
+                for (ValueDescriptor field : event.getFields()) {
+                    Object value = event.getValue(field.getName());
+                    assertFalse(value instanceof String && ((String) value).contains("@"), field.getName());
+                }
+                if (event.getEventType().getName().equals("inputvalidator.RejectedValidation")) {
+                    rejected.add(event);
+                } else if (event.getEventType().getName().equals("inputvalidator.SlowValidation")) {
+                    slow++;
+                }
+            }
+            assertEquals(3, slow);
+            assertEquals(2, rejected.size());
+            assertEquals("EMAIL", rejected.get(0).getString("validator"));
+            assertEquals(12, rejected.get(0).getInt("inputLength"));
+            assertEquals("MISSING_TLD", rejected.get(0).getString("reason"));
+            assertEquals(FailureReason.MISSING_TLD, FailureReason.of(rejected.get(0).getInt("reasonCode")));
+            assertEquals("PASSWORD", rejected.get(1).getString("validator"));
+            assertEquals("WHITESPACE", rejected.get(1).getString("reason"));
+            assertEquals(20, FailureReason.offsetOf(rejected.get(1).getInt("reasonCode")));
+        } finally {
+            ValidationEvents.setRejectionSampleInterval(100);
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testValidatorCombinators() {
+        Validator contactEmail = Validator.nonBlank().and(Validator.email()).and(Validator.maxLength(20));
+        assertTrue(contactEmail.test(" test@example.com "));
+        assertFalse(contactEmail.test("someone@example.com.au"));
+        assertFalse(contactEmail.test("   "));
+        assertFalse(contactEmail.test(null));
+
+        Validator countryOrCode = Validator.country().or(Validator.countryCode());
+        assertTrue(countryOrCode.test("Sri Lanka"));
+        assertTrue(countryOrCode.test("LK"));
+        assertFalse(countryOrCode.test("Atlantis"));
+
+        Validator notANumber = Validator.not(Validator.number(NumberSyntax.STRICT_DECIMAL));
+        assertTrue(notANumber.test("NaN"));
+        assertFalse(notANumber.test("1e-3"));
+        assertTrue(notANumber.test(null));
+        assertFalse(notANumber.negate().test("NaN"));
+
+        Validator code = Validator.length(4, 8).and(Validator.pattern("[A-Z]+-\\d+")).and(Validator.minLength(6));
+        assertTrue(code.test("ABC-12"));
+        assertFalse(code.test("AB-1"));
+        assertFalse(code.test("ABCD-12345"));
+        assertFalse(Validator.minLength(5).and(Validator.maxLength(4)).test("1234"));
+        assertThrows(IllegalArgumentException.class, () -> Validator.length(3, 2));
+    }
+
+    @Test
+    public void testFusedValidatorMatchesSeparateChecks() {
+        Validator fused = Validator.nonBlank().and(Validator.email()).and(Validator.maxLength(254))
+                .and(Validator.nonBlank());
+        Random random = new Random(21);
+        String alphabet = "ab1.-_@ \t";
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder input = new StringBuilder();
+            if (i % 2 == 0) {
+                input.append(" user").append(i % 7 == 0 ? "" : "@example.").append("com ");
+            }
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                input.insert(random.nextInt(input.length() + 1), alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String s = input.toString();
+            boolean expected = InputValidator.validateString(s) && InputValidator.validateEmail(s) && s.length() <= 254;
+            assertEquals(expected, fused.test(s), s);
+        }
+    }
+
+    @Test
+    public void testValidatorRunsLengthChecksFirst() {
+        AtomicInteger calls = new AtomicInteger();
+        Validator expensive = input -> {
+            calls.incrementAndGet();
+            return true;
+        };
+        Validator rule = expensive.and(Validator.email()).and(Validator.maxLength(10));
+        assertFalse(rule.test("someone@example.com"));
+        assertFalse(rule.test("a@b"));
+        assertEquals(0, calls.get());
+        assertTrue(rule.test("a@b.com"));
+        assertEquals(1, calls.get());
+
+        Validator either = expensive.or(Validator.minLength(3));
+        assertTrue(either.test("abc"));
+        assertEquals(1, calls.get());
+        assertTrue(Validator.not(Validator.not(expensive)) == expensive);
+    }
+
+    @Test
+    public void testAdaptiveValidatorMovesCheapRejectingRulesFirst() {
+        AtomicInteger slowCalls = new AtomicInteger();
+        Validator slowNeverRejects = input -> {
+            slowCalls.incrementAndGet();
+            return InputValidator.validatePattern(input + "!", "(a|b|[a-z0-9@. ])*!?!");
+        };
+        Validator fastRejectsOften = input -> input.length() > 0 && input.charAt(0) != 'x';
+        AdaptiveValidator validator = new AdaptiveValidator(1, slowNeverRejects, Validator.email(), fastRejectsOften);
+        assertArrayEquals(new int[] {0, 1, 2}, validator.order());
+
+        Random random = new Random(22);
+        for (int i = 0; i < 2 * AdaptiveValidator.WINDOW; i++) {
+            String input = (random.nextBoolean() ? "x" : "") + "user" + i + "@example.com";
+            boolean expected = input.charAt(0) != 'x';
+            assertEquals(expected, validator.test(input), input);
+        }
+        int[] order = validator.order();
+        assertEquals(0, order[order.length - 1], Arrays.toString(order));
+        assertEquals("AdaptiveValidator" + Arrays.toString(order), validator.toString());
+
+        // Unsampled calls now stop at the cheap rule and never reach the slow one
+        AdaptiveValidator rarelySampled = new AdaptiveValidator(Integer.MAX_VALUE, fastRejectsOften, slowNeverRejects);
+        slowCalls.set(0);
+        assertFalse(rarelySampled.test("xuser@example.com"));
+        assertTrue(rarelySampled.test("user@example.com"));
+        assertEquals(1, slowCalls.get());
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveValidator(1));
+    }
+
+    @Test
+    public void testAdaptiveValidatorSampledCallsStopAtFirstRejection() {
+        AtomicInteger laterCalls = new AtomicInteger();
+        Validator firstChar = input -> {
+            laterCalls.incrementAndGet();
+            return input.charAt(0) != 'x';
+        };
+        AdaptiveValidator validator = new AdaptiveValidator(1, Validator.nonBlank(), firstChar);
+        // Fewer calls than a window, so the order stays put and null never reaches charAt
+        for (int i = 0; i < 64; i++) {
+            assertFalse(validator.test(null));
+            assertFalse(validator.test(i % 2 == 0 ? " " : "x"));
+            assertTrue(validator.test("user"));
+        }
+        assertEquals(64 + 32, laterCalls.get());
+    }
+
+    @Test
+    public void testGeneratedValidator() throws Exception {
+        Path dir = Files.createTempDirectory("generated");
+        Path source = dir.resolve("SignUp.java");
+        Files.writeString(source, String.join("\n",
+                "package dto;",
+                "import inputvalidator.*;",
+                "public record SignUp(@Email String email, @StrongPassword String password,",
+                "        @CountryName String country, @NumberString(syntax = NumberSyntax.STRICT_DECIMAL) String amount) {",
+                "    public static class Profile {",
+                "        @WebsiteUrl public String homepage;",
+                "        @DateOfBirth private String dob;",
+                "        public Profile(String homepage, String dob) { this.homepage = homepage; this.dob = dob; }",
+                "        String getDob() { return dob; }",
+                "    }",
+                "}"));
+        assertEquals(0, compile(dir, source));
+        assertTrue(Files.exists(dir.resolve("dto/SignUpValidator.java")));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {dir.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> signUp = loader.loadClass("dto.SignUp");
+            Method firstInvalidField = loader.loadClass("dto.SignUpValidator").getMethod("firstInvalidField", signUp);
+            Object valid = signUp.getConstructors()[0].newInstance("test@example.com", "Str0ng&Secure", "Sri Lanka", "12.5");
+            Object badCountry = signUp.getConstructors()[0].newInstance("test@example.com", "Str0ng&Secure", "Atlantis", "12.5");
+            Object badAmount = signUp.getConstructors()[0].newInstance("test@example.com", "Str0ng&Secure", "Sri Lanka", "NaN");
+            assertNull(firstInvalidField.invoke(null, valid));
+            assertEquals("country", firstInvalidField.invoke(null, badCountry));
+            assertEquals("amount", firstInvalidField.invoke(null, badAmount));
+
+            Class<?> profile = loader.loadClass("dto.SignUp$Profile");
+            Method isValid = loader.loadClass("dto.SignUp_ProfileValidator").getMethod("isValid", profile);
+            assertEquals(true, isValid.invoke(null, profile.getConstructors()[0].newInstance("http://example.com", "2000-01-01")));
+            assertEquals(false, isValid.invoke(null, profile.getConstructors()[0].newInstance("http://example.com", null)));
+        }
+
+        Files.writeString(source, "package dto; public class SignUp { @inputvalidator.Email int email; }");
+        assertNotEquals(0, compile(dir, source));
+    }
+
+    private static int compile(Path dir, Path source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        return compiler.run(null, null, new ByteArrayOutputStream(),
+                "-processor", ValidatorProcessor.class.getName(),
+                "-cp", System.getProperty("java.class.path"), "-d", dir.toString(), "-s", dir.toString(),
+                source.toString());
+    }
+
+    @Test
+    public void testValidateUtf8Bytes() {
+        byte[] record = "to: test@example.com; dob=2000-01-01; Curaçao; Str0ng&Secure€".getBytes(StandardCharsets.UTF_8);
+        assertTrue(Validator.email().test(record, 4, 16));
+        assertFalse(Validator.email().test(record, 4, 17));
+        assertTrue(Validator.dateOfBirth().test(record, 26, 10));
+        assertTrue(Validator.country().test(record, 38, 8));
+        assertTrue(Validator.password().test(record, 48, record.length - 48));
+        assertThrows(IndexOutOfBoundsException.class, () -> Validator.email().test(record, 60, 20));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(record.length).put(record);
+        assertTrue(Validator.email().test(direct, 4, 16));
+        assertTrue(Validator.country().test(direct, 38, 8));
+        assertEquals(record.length, direct.position());
+
+        byte[] overlong = {'a', '@', 'b', '.', 'c', 'o', (byte) 0xC0, (byte) 0xAF};
+        assertFalse(Validator.nonBlank().test(overlong, 0, overlong.length));
+        assertFalse(Validator.not(Validator.email()).test(overlong, 0, overlong.length));
+
+        // A lambda reading another field while its own is in view gets a view of its own
+        byte[] pair = "Curaçao|test@example.com".getBytes(StandardCharsets.UTF_8);
+        Validator countryThenEmail = input -> Validator.country().test(input)
+                && Validator.email().negate().negate().test(pair, 9, pair.length - 9)
+                && input.toString().equals("Curaçao");
+        assertTrue(countryThenEmail.test(pair, 0, 8));
+        assertTrue(countryThenEmail.test(ByteBuffer.wrap(pair), 0, 8));
+        assertFalse(countryThenEmail.test(pair, 9, pair.length - 9));
+
+        // The view is wiped once the call returns, so a decoded field does not linger on the thread
+        CharSequence[] seen = new CharSequence[1];
+        Validator keeps = input -> {
+            seen[0] = input;
+            return input.toString().equals("S3cr\u00e9t");
+        };
+        byte[] secret = "S3cr\u00e9t".getBytes(StandardCharsets.UTF_8);
+        assertTrue(keeps.test(secret, 0, secret.length));
+        assertEquals(0, seen[0].length());
+
+        Random random = new Random(24);
+        String[] samples = {"test@example.com", " user.name+tag@sub.example.org ", "12.5e3", "http://example.com/a?b=c",
+                "Sri Lanka", "Réunion", "2023-11-19T12:45:30Z", "", "x@y", "Ünïcödé@example.com"};
+        Validator[] validators = {Validator.email(), Validator.number(NumberSyntax.JAVA_DOUBLE), Validator.websiteURL(),
+                Validator.country(), Validator.dateTime(), Validator.nonBlank()};
+        for (int i = 0; i < 1000; i++) {
+            String sample = samples[random.nextInt(samples.length)];
+            byte[] bytes = ("##" + sample + "##").getBytes(StandardCharsets.UTF_8);
+            int length = bytes.length - 4;
+            for (Validator validator : validators) {
+                assertEquals(validator.test(sample), validator.test(bytes, 2, length), sample);
+            }
+        }
+    }
+
+    @Test
+    public void testEmailBytesMatchEmailString() {
+        Random random = new Random(25);
+        String alphabet = "abcXYZ019._%+-@ \t~\u00e9";
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder input = new StringBuilder();
+            int runs = random.nextInt(4);
+            for (int run = 0; run < runs; run++) {
+                char c = alphabet.charAt(random.nextInt(alphabet.length()));
+                int length = random.nextInt(80);
+                for (int j = 0; j < length; j++) {
+                    input.append(random.nextInt(8) == 0 ? alphabet.charAt(random.nextInt(alphabet.length())) : c);
+                }
+            }
+            if (i % 2 == 0) {
+                input.insert(random.nextInt(input.length() + 1), "user@example.com");
+            }
+            String s = input.toString();
+            byte[] bytes = ("[" + s + "]").getBytes(StandardCharsets.UTF_8);
+            assertEquals(InputValidator.validateEmail(s), Validator.email().test(bytes, 1, bytes.length - 2), s);
+            assertEquals(InputValidator.validateEmail(s), Validator.email().test(ByteBuffer.wrap(bytes), 1, bytes.length - 2), s);
+        }
+        byte[] longLocalPart = ("a".repeat(200) + "@" + "b".repeat(100) + ".com").getBytes(StandardCharsets.UTF_8);
+        assertTrue(Validator.email().test(ByteBuffer.allocateDirect(longLocalPart.length).put(longLocalPart), 0, longLocalPart.length));
+    }
+
+    private static boolean parses(String number) {
+        try {
+            Double.parseDouble(number);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,779 @@
+package inputvalidator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A regular expression that always matches in time linear in the input length.
+ *
+ * <p>The pattern is compiled to a Thompson NFA, which is then run as a DFA whose states are built
+ * lazily the first time an input reaches them, so there is no backtracking and no input can make a
+ * match slow. Transitions on ASCII characters are cached per state; once a pattern has built
+ * {@value #MAX_DFA_STATES} states, new states are no longer cached and the scan steps the NFA
+ * directly, which is still linear. The patterns {@link InputValidator#validatePattern(String, String)}
+ * keeps in its shared cache also draw on one budget of {@value #MAX_CACHED_DFA_STATES} states between
+ * them, so the cache cannot pin more than a few megabytes however many patterns pass through it.
+ * Compiled patterns are immutable and thread-safe.</p>
+ *
+ * <p>The supported syntax is the subset of {@link java.util.regex.Pattern} the built-in validators
+ * use, with the same meaning:</p>
+ * <ul>
+ *   <li>literal characters, and {@code \t \n \r \f \a \e \xhh \\uhhhh} and escaped punctuation;</li>
+ *   <li>{@code .}, {@code \d \D \w \W \s \S}, and character classes such as {@code [a-z_%+-]} or
+ *       {@code [^\s@]};</li>
+ *   <li>groups {@code (...)} and {@code (?:...)}, nested at most {@value #MAX_NESTING} deep, and
+ *       alternation {@code |};</li>
+ *   <li>quantifiers {@code * + ? {n} {n,} {n,m}} (at most {@value #MAX_REPEAT}), greedy or lazy;</li>
+ *   <li>{@code ^} at the start and {@code $} at the end, which are implied anyway since the whole
+ *       input must match.</li>
+ * </ul>
+ * <p>Everything else, such as backreferences, lookaround, possessive quantifiers, inline flags,
+ * word boundaries, Unicode properties and class intersections, is rejected by {@link #compile(String)}.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * LinearPattern sku = LinearPattern.compile("[A-Z]{3}-\\d{4,6}");
+ * boolean isValid = sku.matches("ABC-12345"); // true
+ * boolean isInvalid = sku.matches("abc-1");   // false
+ * }
+ * </pre>
+ */
+public final class LinearPattern {
+
+    static final int MAX_REPEAT = 1000;
+    static final int MAX_DFA_STATES = 4096;
+    static final int MAX_CACHED_DFA_STATES = 16_384;
+    static final int MAX_NESTING = 100;
+    private static final int MAX_NFA_STATES = 20_000;
+    private static final int CACHE_SIZE = 256;
+
+    // NFA state kinds
+    private static final int CLASS = 0;
+    private static final int SPLIT = 1;
+    private static final int MATCH = 2;
+
+    private static final int MAX_CODE_POINT = Character.MAX_CODE_POINT;
+    private static final int[] DIGIT = {'0', '9'};
+    private static final int[] WORD = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+    private static final int[] SPACE = {'\t', '\r', ' ', ' '};
+    private static final int[] NOT_LINE_TERMINATOR = complement(
+            new int[] {'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029});
+
+    private static final ConcurrentHashMap<String, LinearPattern> CACHE = new ConcurrentHashMap<>();
+    // The DFA states the patterns in CACHE may still build; replaced, along with the cache, once spent
+    private static volatile AtomicInteger cacheBudget = new AtomicInteger(MAX_CACHED_DFA_STATES);
+
+    private final String pattern;
+    private final int[] kinds;
+    private final int[] outs;
+    private final int[] alternatives;
+    private final int[][] ranges;
+    private final DfaState initial;
+    private final ConcurrentHashMap<Key, DfaState> dfaStates = new ConcurrentHashMap<>();
+    // The DFA states this pattern may still cache, shared with the other patterns of the same cache
+    private final AtomicInteger budget;
+
+    private LinearPattern(String pattern, Nfa nfa, int start, AtomicInteger budget) {
+        this.pattern = pattern;
+        this.budget = budget;
+        this.kinds = Arrays.copyOf(nfa.kinds, nfa.size);
+        this.outs = Arrays.copyOf(nfa.outs, nfa.size);
+        this.alternatives = Arrays.copyOf(nfa.alternatives, nfa.size);
+        this.ranges = Arrays.copyOf(nfa.ranges, nfa.size);
+        this.initial = state(closure(new int[] {start}, 1));
+    }
+
+    /**
+     * Compiles a regular expression.
+     *
+     * @param regex the expression, in the subset of {@link java.util.regex.Pattern} syntax listed above.
+     *              Must not be null.
+     * @return the compiled pattern.
+     * @throws PatternSyntaxException if the expression is malformed, uses an unsupported construct,
+     *                                repeats more than {@value #MAX_REPEAT} times or nests groups more
+     *                                than {@value #MAX_NESTING} deep.
+     */
+    public static LinearPattern compile(String regex) {
+        return compile(regex, new AtomicInteger(MAX_DFA_STATES));
+    }
+
+    private static LinearPattern compile(String regex, AtomicInteger budget) {
+        Parser parser = new Parser(regex);
+        Node root = parser.parse();
+        Nfa nfa = new Nfa(regex);
+        int start = nfa.compile(root, nfa.add(MATCH, -1, -1, null));
+        return new LinearPattern(regex, nfa, start, budget);
+    }
+
+    /**
+     * Returns the compiled form of {@code regex} from a bounded cache shared by the whole process,
+     * compiling it on a miss. When the cache is full an arbitrary entry makes room, and once its
+     * patterns have spent their shared DFA budget the cache starts over.
+     */
+    static LinearPattern cached(String regex) {
+        LinearPattern compiled = CACHE.get(regex);
+        if (compiled == null) {
+            compiled = compile(regex, cacheBudget());
+            if (CACHE.size() >= CACHE_SIZE) {
+                Iterator<String> victims = CACHE.keySet().iterator();
+                if (victims.hasNext()) {
+                    CACHE.remove(victims.next());
+                }
+            }
+            CACHE.putIfAbsent(regex, compiled);
+        }
+        return compiled;
+    }
+
+    // Patterns dropped by a reset keep their spent budget, so they stop caching states and are let go
+    private static AtomicInteger cacheBudget() {
+        AtomicInteger budget = cacheBudget;
+        if (budget.get() > 0) {
+            return budget;
+        }
+        synchronized (CACHE) {
+            if (cacheBudget.get() == 0) {
+                CACHE.clear();
+                cacheBudget = new AtomicInteger(MAX_CACHED_DFA_STATES);
+            }
+            return cacheBudget;
+        }
+    }
+
+    /**
+     * Returns the expression this pattern was compiled from.
+     *
+     * @return the source expression.
+     */
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Checks whether the whole input matches, like {@link java.util.regex.Matcher#matches()}.
+     *
+     * @param input the characters to match. Must not be null.
+     * @return {@code true} if the input matches, {@code false} otherwise.
+     */
+    public boolean matches(CharSequence input) {
+        return matches(input, 0, input.length());
+    }
+
+    /**
+     * Checks whether {@code input[from, to)} matches as a whole.
+     *
+     * @param input the characters to read from. Must not be null.
+     * @param from  the index of the first character.
+     * @param to    the index after the last character.
+     * @return {@code true} if the range matches, {@code false} otherwise.
+     * @throws IndexOutOfBoundsException if the range lies outside {@code input}.
+     */
+    public boolean matches(CharSequence input, int from, int to) {
+        Objects.checkFromToIndex(from, to, input.length());
+        DfaState current = initial;
+        for (int i = from; i < to; ) {
+            char c = input.charAt(i++);
+            int cp = c;
+            if (Character.isHighSurrogate(c) && i < to && Character.isLowSurrogate(input.charAt(i))) {
+                cp = Character.toCodePoint(c, input.charAt(i++));
+            }
+            DfaState next = cp < 128 ? current.next[cp] : null;
+            if (next == null) {
+                next = step(current, cp);
+            }
+            if (next.states.length == 0) {
+                return false;
+            }
+            current = next;
+        }
+        return current.accepting;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    // Computes the transition of `from` on `cp`, caching it when the DFA has room
+    private DfaState step(DfaState from, int cp) {
+        int[] targets = new int[from.states.length];
+        int count = 0;
+        for (int s : from.states) {
+            if (kinds[s] == CLASS && contains(ranges[s], cp)) {
+                targets[count++] = outs[s];
+            }
+        }
+        DfaState next = state(closure(targets, count));
+        if (cp < 128 && next.cached) {
+            from.next[cp] = next;
+        }
+        return next;
+    }
+
+    private DfaState state(int[] states) {
+        Key key = new Key(states);
+        DfaState existing = dfaStates.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        boolean accepting = false;
+        for (int s : states) {
+            accepting |= kinds[s] == MATCH;
+        }
+        if (dfaStates.size() >= MAX_DFA_STATES || !take(budget)) {
+            return new DfaState(states, accepting, false);
+        }
+        DfaState created = new DfaState(states, accepting, true);
+        existing = dfaStates.putIfAbsent(key, created);
+        if (existing != null) {
+            budget.incrementAndGet(); // Another thread cached the same state first
+            return existing;
+        }
+        return created;
+    }
+
+    private static boolean take(AtomicInteger budget) {
+        int left;
+        do {
+            left = budget.get();
+            if (left == 0) {
+                return false;
+            }
+        } while (!budget.compareAndSet(left, left - 1));
+        return true;
+    }
+
+    // The CLASS and MATCH states reachable from seeds[0, count) through SPLITs, sorted
+    private int[] closure(int[] seeds, int count) {
+        boolean[] seen = new boolean[kinds.length];
+        int[] stack = new int[kinds.length];
+        int depth = 0;
+        for (int i = 0; i < count; i++) {
+            if (!seen[seeds[i]]) {
+                seen[seeds[i]] = true;
+                stack[depth++] = seeds[i];
+            }
+        }
+        int[] result = new int[kinds.length];
+        int size = 0;
+        while (depth > 0) {
+            int s = stack[--depth];
+            if (kinds[s] == SPLIT) {
+                for (int target : new int[] {outs[s], alternatives[s]}) {
+                    if (!seen[target]) {
+                        seen[target] = true;
+                        stack[depth++] = target;
+                    }
+                }
+            } else {
+                result[size++] = s;
+            }
+        }
+        int[] states = Arrays.copyOf(result, size);
+        Arrays.sort(states);
+        return states;
+    }
+
+    // Ranges are sorted, disjoint [low, high] pairs
+    private static boolean contains(int[] ranges, int cp) {
+        for (int i = 0; i < ranges.length && ranges[i] <= cp; i += 2) {
+            if (cp <= ranges[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sorts and merges arbitrary [low, high] pairs into canonical ranges.
+     */
+    static int[] normalize(int[] pairs, int length) {
+        long[] packed = new long[length / 2];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = (long) pairs[2 * i] << 32 | pairs[2 * i + 1];
+        }
+        Arrays.sort(packed);
+        int[] result = new int[length];
+        int size = 0;
+        for (long range : packed) {
+            int low = (int) (range >>> 32);
+            int high = (int) range;
+            if (size > 0 && low <= result[size - 1] + 1) {
+                result[size - 1] = Math.max(result[size - 1], high);
+            } else {
+                result[size++] = low;
+                result[size++] = high;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    static int[] complement(int[] ranges) {
+        int[] result = new int[ranges.length + 2];
+        int size = 0;
+        int next = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > next) {
+                result[size++] = next;
+                result[size++] = ranges[i] - 1;
+            }
+            next = ranges[i + 1] + 1;
+        }
+        if (next <= MAX_CODE_POINT) {
+            result[size++] = next;
+            result[size++] = MAX_CODE_POINT;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static final class DfaState {
+
+        final int[] states;
+        final boolean accepting;
+        final boolean cached;
+        // Transitions on ASCII characters, filled in as inputs take them
+        final DfaState[] next;
+
+        DfaState(int[] states, boolean accepting, boolean cached) {
+            this.states = states;
+            this.accepting = accepting;
+            this.cached = cached;
+            this.next = new DfaState[128];
+        }
+    }
+
+    private static final class Key {
+
+        final int[] states;
+        final int hash;
+
+        Key(int[] states) {
+            this.states = states;
+            this.hash = Arrays.hashCode(states);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(states, ((Key) o).states);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A parsed expression. Character sets are leaves; everything else is structure.
+     */
+    private static final class Node {
+
+        static final int SET = 0;
+        static final int CONCAT = 1;
+        static final int ALTERNATION = 2;
+        static final int REPEAT = 3;
+
+        final int type;
+        final int[] ranges;
+        final List<Node> children;
+        final int min;
+        final int max; // -1 for unbounded
+
+        private Node(int type, int[] ranges, List<Node> children, int min, int max) {
+            this.type = type;
+            this.ranges = ranges;
+            this.children = children;
+            this.min = min;
+            this.max = max;
+        }
+
+        static Node set(int[] ranges) {
+            return new Node(SET, ranges, null, 0, 0);
+        }
+
+        static Node of(int type, List<Node> children) {
+            return children.size() == 1 ? children.get(0) : new Node(type, null, children, 0, 0);
+        }
+
+        static Node repeat(Node child, int min, int max) {
+            List<Node> children = new ArrayList<>(1);
+            children.add(child);
+            return new Node(REPEAT, null, children, min, max);
+        }
+    }
+
+    /**
+     * Recursive-descent parser for the supported syntax.
+     */
+    private static final class Parser {
+
+        private final String regex;
+        private int pos;
+        private int depth;
+
+        Parser(String regex) {
+            this.regex = regex;
+        }
+
+        Node parse() {
+            if (regex.startsWith("^")) {
+                pos++;
+            }
+            Node root = alternation();
+            if (pos < regex.length()) {
+                throw error(regex.charAt(pos) == ')' ? "Unmatched closing ')'" : "Unsupported construct");
+            }
+            return root;
+        }
+
+        private Node alternation() {
+            List<Node> alternatives = new ArrayList<>();
+            alternatives.add(concatenation());
+            while (peek() == '|') {
+                pos++;
+                alternatives.add(concatenation());
+            }
+            return Node.of(Node.ALTERNATION, alternatives);
+        }
+
+        private Node concatenation() {
+            List<Node> items = new ArrayList<>();
+            while (pos < regex.length() && peek() != '|' && peek() != ')') {
+                if (peek() == '$' && pos == regex.length() - 1) {
+                    pos++;
+                    break;
+                }
+                items.add(repetition(atom()));
+            }
+            return Node.of(Node.CONCAT, items);
+        }
+
+        private Node repetition(Node atom) {
+            int min;
+            int max;
+            switch (peek()) {
+                case '*':
+                    min = 0;
+                    max = -1;
+                    pos++;
+                    break;
+                case '+':
+                    min = 1;
+                    max = -1;
+                    pos++;
+                    break;
+                case '?':
+                    min = 0;
+                    max = 1;
+                    pos++;
+                    break;
+                case '{':
+                    pos++;
+                    min = number();
+                    max = min;
+                    if (peek() == ',') {
+                        pos++;
+                        max = peek() == '}' ? -1 : number();
+                    }
+                    if (peek() != '}' || max != -1 && max < min) {
+                        throw error("Illegal repetition range");
+                    }
+                    pos++;
+                    break;
+                default:
+                    return atom;
+            }
+            if (peek() == '?') {
+                pos++; // A lazy quantifier matches the same inputs in full
+            } else if (peek() == '+') {
+                throw error("Possessive quantifiers are not supported");
+            }
+            if (isQuantifier(peek())) {
+                throw error("Dangling meta character '" + peek() + "'");
+            }
+            return Node.repeat(atom, min, max);
+        }
+
+        private int number() {
+            int start = pos;
+            long value = 0;
+            while (pos < regex.length() && regex.charAt(pos) >= '0' && regex.charAt(pos) <= '9') {
+                value = Math.min(value * 10 + regex.charAt(pos++) - '0', Integer.MAX_VALUE);
+            }
+            if (pos == start) {
+                throw error("Illegal repetition");
+            }
+            if (value > MAX_REPEAT) {
+                throw error("Repetition count above " + MAX_REPEAT);
+            }
+            return (int) value;
+        }
+
+        private Node atom() {
+            char c = regex.charAt(pos);
+            switch (c) {
+                case '(':
+                    if (depth == MAX_NESTING) {
+                        throw error("Groups nested more than " + MAX_NESTING + " deep");
+                    }
+                    pos++;
+                    if (peek() == '?') {
+                        if (pos + 1 < regex.length() && regex.charAt(pos + 1) == ':') {
+                            pos += 2;
+                        } else {
+                            throw error("Only (?:...) groups are supported");
+                        }
+                    }
+                    depth++;
+                    Node group = alternation();
+                    depth--;
+                    if (peek() != ')') {
+                        throw error("Unclosed group");
+                    }
+                    pos++;
+                    return group;
+                case '[':
+                    pos++;
+                    return Node.set(characterClass());
+                case '.':
+                    pos++;
+                    return Node.set(NOT_LINE_TERMINATOR);
+                case '\\':
+                    pos++;
+                    return Node.set(escape(false));
+                case '^':
+                case '$':
+                    throw error("Anchors are only supported at the start and end");
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw error("Dangling meta character '" + c + "'");
+                default:
+                    int cp = regex.codePointAt(pos);
+                    pos += Character.charCount(cp);
+                    return Node.set(new int[] {cp, cp});
+            }
+        }
+
+        private int[] characterClass() {
+            boolean negated = peek() == '^';
+            if (negated) {
+                pos++;
+            }
+            if (peek() == ']') {
+                throw error("Empty character class");
+            }
+            int[] pairs = new int[16];
+            int length = 0;
+            while (peek() != ']') {
+                if (pos >= regex.length()) {
+                    throw error("Unclosed character class");
+                }
+                if (peek() == '[' || regex.startsWith("&&", pos)) {
+                    throw error("Nested classes and intersections are not supported");
+                }
+                int[] item = classItem();
+                if (item.length == 2 && item[0] == item[1] && peek() == '-'
+                        && pos + 1 < regex.length() && regex.charAt(pos + 1) != ']') {
+                    pos++;
+                    int[] end = classItem();
+                    if (end.length != 2 || end[0] != end[1] || end[0] < item[0]) {
+                        throw error("Illegal character range");
+                    }
+                    item = new int[] {item[0], end[0]};
+                }
+                if (length + item.length > pairs.length) {
+                    pairs = Arrays.copyOf(pairs, Math.max(2 * pairs.length, length + item.length));
+                }
+                System.arraycopy(item, 0, pairs, length, item.length);
+                length += item.length;
+            }
+            pos++;
+            int[] ranges = normalize(pairs, length);
+            return negated ? complement(ranges) : ranges;
+        }
+
+        private int[] classItem() {
+            if (peek() == '\\') {
+                pos++;
+                return escape(true);
+            }
+            int cp = regex.codePointAt(pos);
+            pos += Character.charCount(cp);
+            return new int[] {cp, cp};
+        }
+
+        private int[] escape(boolean inClass) {
+            if (pos >= regex.length()) {
+                throw error("Trailing backslash");
+            }
+            char c = regex.charAt(pos++);
+            switch (c) {
+                case 'd':
+                    return DIGIT;
+                case 'D':
+                    return complement(DIGIT);
+                case 'w':
+                    return WORD;
+                case 'W':
+                    return complement(WORD);
+                case 's':
+                    return SPACE;
+                case 'S':
+                    return complement(SPACE);
+                case 't':
+                    return single('\t');
+                case 'n':
+                    return single('\n');
+                case 'r':
+                    return single('\r');
+                case 'f':
+                    return single('\f');
+                case 'a':
+                    return single('\u0007');
+                case 'e':
+                    return single('\u001B');
+                case 'x':
+                    return single(hex(2));
+                case 'u':
+                    return single(utf16Escape());
+                default:
+                    if (c < 128 && !Character.isLetterOrDigit(c)) {
+                        return single(c);
+                    }
+                    pos--;
+                    throw error("Unsupported escape \\" + c + (inClass ? " in character class" : ""));
+            }
+        }
+
+        // The code unit of a \\uhhhh escape, or the code point of a surrogate pair written as two
+        private int utf16Escape() {
+            int unit = hex(4);
+            if (Character.isHighSurrogate((char) unit) && regex.startsWith("\\u", pos)) {
+                int mark = pos;
+                pos += 2;
+                int low = hex(4);
+                if (Character.isLowSurrogate((char) low)) {
+                    return Character.toCodePoint((char) unit, (char) low);
+                }
+                pos = mark;
+            }
+            return unit;
+        }
+
+        private int hex(int digits) {
+            if (pos + digits > regex.length()) {
+                throw error("Illegal hexadecimal escape");
+            }
+            int value = 0;
+            for (int i = 0; i < digits; i++) {
+                int digit = Character.digit(regex.charAt(pos++), 16);
+                if (digit < 0) {
+                    throw error("Illegal hexadecimal escape");
+                }
+                value = value * 16 + digit;
+            }
+            return value;
+        }
+
+        private static int[] single(int cp) {
+            return new int[] {cp, cp};
+        }
+
+        private static boolean isQuantifier(int c) {
+            return c == '*' || c == '+' || c == '?' || c == '{';
+        }
+
+        private int peek() {
+            return pos < regex.length() ? regex.charAt(pos) : -1;
+        }
+
+        private PatternSyntaxException error(String description) {
+            return new PatternSyntaxException(description, regex, pos);
+        }
+    }
+
+    /**
+     * Growable NFA under construction. Nodes are compiled back to front: each one is given the
+     * state to continue with and returns its own entry state.
+     */
+    private static final class Nfa {
+
+        final String regex;
+        int[] kinds = new int[16];
+        int[] outs = new int[16];
+        int[] alternatives = new int[16];
+        int[][] ranges = new int[16][];
+        int size;
+
+        Nfa(String regex) {
+            this.regex = regex;
+        }
+
+        int add(int kind, int out, int alternative, int[] set) {
+            if (size == MAX_NFA_STATES) {
+                throw new PatternSyntaxException("Pattern is too large", regex, -1);
+            }
+            if (size == kinds.length) {
+                kinds = Arrays.copyOf(kinds, 2 * size);
+                outs = Arrays.copyOf(outs, 2 * size);
+                alternatives = Arrays.copyOf(alternatives, 2 * size);
+                ranges = Arrays.copyOf(ranges, 2 * size);
+            }
+            kinds[size] = kind;
+            outs[size] = out;
+            alternatives[size] = alternative;
+            ranges[size] = set;
+            return size++;
+        }
+
+        int compile(Node node, int next) {
+            switch (node.type) {
+                case Node.SET:
+                    return add(CLASS, next, -1, node.ranges);
+                case Node.CONCAT:
+                    for (int i = node.children.size() - 1; i >= 0; i--) {
+                        next = compile(node.children.get(i), next);
+                    }
+                    return next;
+                case Node.ALTERNATION:
+                    int entry = compile(node.children.get(node.children.size() - 1), next);
+                    for (int i = node.children.size() - 2; i >= 0; i--) {
+                        entry = add(SPLIT, compile(node.children.get(i), next), entry, null);
+                    }
+                    return entry;
+                default:
+                    return compileRepeat(node.children.get(0), node.min, node.max, next);
+            }
+        }
+
+        private int compileRepeat(Node child, int min, int max, int next) {
+            int tail;
+            if (max < 0) {
+                // A SPLIT that either runs the child again or leaves; its out is patched once the child exists
+                int loop = add(SPLIT, -1, next, null);
+                int body = compile(child, loop);
+                outs[loop] = body;
+                tail = loop;
+            } else {
+                // Optional copies nest: x{0,2} is (x(x)?)?
+                tail = next;
+                for (int i = min; i < max; i++) {
+                    tail = add(SPLIT, compile(child, tail), next, null);
+                }
+            }
+            for (int i = 0; i < min; i++) {
+                tail = compile(child, tail);
+            }
+            return tail;
+        }
+    }
+}
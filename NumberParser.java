@@ -0,0 +1,283 @@
+package inputvalidator;
+
+import java.math.BigInteger;
+
+/**
+ * Validates and parses numbers in a single pass, without boxing and without exceptions.
+ *
+ * <p>Decimal input is converted with the Clinger fast path when the significand and exponent are
+ * small enough to be exact, and with the Eisel–Lemire algorithm otherwise. The rare inputs that
+ * neither can round correctly (more than 19 significant digits, or an ambiguous 128-bit product)
+ * and hexadecimal literals fall back to {@link Double#parseDouble(String)}, so every result is
+ * identical to {@code parseDouble}.</p>
+ */
+final class NumberParser {
+
+    private static final int SMALLEST_POWER_OF_FIVE = -342;
+    private static final int LARGEST_POWER_OF_FIVE = 308;
+    private static final int MAX_SIGNIFICANT_DIGITS = 19;
+    private static final long MAX_EXACT_SIGNIFICAND = 1L << 53;
+
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // 128-bit approximations of 5^q for q in [-342, 308], high word first.
+    private static final long[] POWERS_OF_FIVE = new long[2 * (LARGEST_POWER_OF_FIVE - SMALLEST_POWER_OF_FIVE + 1)];
+
+    static {
+        BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+        BigInteger mask64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        for (int q = SMALLEST_POWER_OF_FIVE; q <= LARGEST_POWER_OF_FIVE; q++) {
+            BigInteger value;
+            if (q >= 0) {
+                value = BigInteger.valueOf(5).pow(q);
+                value = value.bitLength() <= 128 ? value.shiftLeft(128 - value.bitLength())
+                        : value.shiftRight(value.bitLength() - 128);
+            } else {
+                BigInteger power = BigInteger.valueOf(5).pow(-q);
+                int z = power.bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                value = BigInteger.ONE.shiftLeft(b).divide(power).add(BigInteger.ONE);
+                while (value.compareTo(two128) >= 0) {
+                    value = value.shiftRight(1);
+                }
+            }
+            int index = 2 * (q - SMALLEST_POWER_OF_FIVE);
+            POWERS_OF_FIVE[index] = value.shiftRight(64).longValue();
+            POWERS_OF_FIVE[index + 1] = value.and(mask64).longValue();
+        }
+    }
+
+    private NumberParser() {}
+
+    /**
+     * Parses {@code input[from, to)}, which the caller has already trimmed, and returns
+     * {@link Double#NaN} if it is not something {@link Double#parseDouble(String)} accepts.
+     */
+    static double parseDouble(CharSequence input, int from, int to) {
+        int i = from;
+        if (i == to) {
+            return Double.NaN;
+        }
+        boolean negative = false;
+        char c = input.charAt(i);
+        if (c == '+' || c == '-') {
+            negative = c == '-';
+            if (++i == to) {
+                return Double.NaN;
+            }
+            c = input.charAt(i);
+        }
+        if (c == 'N' || c == 'I' || c == '0' && i + 1 < to && (input.charAt(i + 1) | 0x20) == 'x') {
+            return parseSpecial(input, from, to, negative);
+        }
+
+        // Significand: keep up to 19 significant digits, which fit in a long read as unsigned, and
+        // track the decimal exponent of the rest
+        long significand = 0;
+        int significantDigits = 0;
+        long exponent = 0;
+        int digits = 0;
+        boolean pointSeen = false;
+        boolean truncated = false;
+        for (; i < to; i++) {
+            c = input.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+                int digit = c - '0';
+                if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+                    if (significantDigits > 0 || digit != 0) {
+                        significand = significand * 10 + digit;
+                        significantDigits++;
+                    }
+                    if (pointSeen) {
+                        exponent--;
+                    }
+                } else {
+                    truncated |= digit != 0;
+                    if (!pointSeen) {
+                        exponent++;
+                    }
+                }
+            } else if (c == '.' && !pointSeen) {
+                pointSeen = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+
+        if (i < to && (c == 'e' || c == 'E')) {
+            if (++i == to) {
+                return Double.NaN;
+            }
+            boolean negativeExponent = false;
+            c = input.charAt(i);
+            if (c == '+' || c == '-') {
+                negativeExponent = c == '-';
+                i++;
+            }
+            int start = i;
+            long explicit = 0;
+            for (; i < to && (c = input.charAt(i)) >= '0' && c <= '9'; i++) {
+                if (explicit < 1_000_000) {
+                    explicit = explicit * 10 + (c - '0');
+                }
+            }
+            if (i == start) {
+                return Double.NaN;
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+        if (i != to && (i != to - 1 || !isTypeSuffix(input.charAt(i)))) {
+            return Double.NaN;
+        }
+
+        if (truncated) {
+            return Double.parseDouble(input.subSequence(from, to).toString());
+        }
+        double value = toDouble(significand, exponent);
+        if (Double.isNaN(value)) {
+            return Double.parseDouble(input.subSequence(from, to).toString());
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a base-10 {@code long} from {@code input[from, to)}, which the caller has already
+     * trimmed: an optional sign followed by ASCII digits. Returns {@code defaultValue} if the
+     * input is malformed or out of range.
+     */
+    static long parseLong(CharSequence input, int from, int to, long defaultValue) {
+        int i = from;
+        if (i == to) {
+            return defaultValue;
+        }
+        boolean negative = false;
+        char c = input.charAt(i);
+        if (c == '+' || c == '-') {
+            negative = c == '-';
+            if (++i == to) {
+                return defaultValue;
+            }
+        }
+        // Accumulate negatively so that Long.MIN_VALUE is representable
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < to; i++) {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                return defaultValue;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return defaultValue;
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    private static double parseSpecial(CharSequence input, int from, int to, boolean negative) {
+        if (!NumberScanner.matches(input, from, to, NumberSyntax.JAVA_DOUBLE)) {
+            return Double.NaN;
+        }
+        char c = input.charAt(negative || input.charAt(from) == '+' ? from + 1 : from);
+        if (c == 'N') {
+            return Double.NaN;
+        }
+        if (c == 'I') {
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        return Double.parseDouble(input.subSequence(from, to).toString());
+    }
+
+    /**
+     * Returns {@code significand * 10^exponent} correctly rounded, with {@code significand} read as
+     * unsigned, or {@link Double#NaN} when
+     * the caller has to fall back to a slower exact algorithm.
+     */
+    private static double toDouble(long significand, long exponent) {
+        if (significand == 0 || exponent < SMALLEST_POWER_OF_FIVE) {
+            return 0.0;
+        }
+        if (exponent > LARGEST_POWER_OF_FIVE) {
+            return Double.POSITIVE_INFINITY;
+        }
+        int q = (int) exponent;
+        if (q >= -22 && q <= 22 && Long.compareUnsigned(significand, MAX_EXACT_SIGNIFICAND) <= 0) {
+            double value = significand;
+            return q < 0 ? value / EXACT_POWERS_OF_TEN[-q] : value * EXACT_POWERS_OF_TEN[q];
+        }
+        long bits = eiselLemire(significand, q);
+        return bits < 0 ? Double.NaN : Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * Eisel–Lemire conversion of {@code w * 10^q}; returns the IEEE 754 bits, or -1 if the
+     * 128-bit approximation cannot decide the rounding.
+     */
+    private static long eiselLemire(long w, int q) {
+        int leadingZeros = Long.numberOfLeadingZeros(w);
+        w <<= leadingZeros;
+
+        int index = 2 * (q - SMALLEST_POWER_OF_FIVE);
+        long high = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        long precisionMask = 0xFFFFFFFFFFFFFFFFL >>> 55;
+        if ((high & precisionMask) == precisionMask) {
+            long secondHigh = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+        if (low == 0xFFFFFFFFFFFFFFFFL && (q < -27 || q > 55)) {
+            return -1;
+        }
+
+        int upperBit = (int) (high >>> 63);
+        long mantissa = high >>> (upperBit + 9);
+        int power2 = ((217706 * q) >> 16) + 63 + upperBit - leadingZeros + 1023;
+        if (power2 <= 0) {
+            // Subnormal
+            if (-power2 + 1 >= 64) {
+                return 0;
+            }
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            power2 = mantissa < (1L << 52) ? 0 : 1;
+            return mantissa | (long) power2 << 52;
+        }
+        // Exactly halfway between two doubles: round to even instead of up
+        if (Long.compareUnsigned(low, 1) <= 0 && q >= -4 && q <= 23 && (mantissa & 3) == 1
+                && mantissa << (upperBit + 9) == high) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (2L << 52)) {
+            mantissa = 1L << 52;
+            power2++;
+        }
+        mantissa &= ~(1L << 52);
+        if (power2 >= 0x7FF) {
+            return 0x7FFL << 52;
+        }
+        return mantissa | (long) power2 << 52;
+    }
+
+    private static long unsignedMultiplyHigh(long x, long y) {
+        return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+
+    private static boolean isTypeSuffix(char c) {
+        return c == 'f' || c == 'F' || c == 'd' || c == 'D';
+    }
+}
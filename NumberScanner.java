@@ -0,0 +1,152 @@
+package inputvalidator;
+
+/**
+ * Decides whether a character range is a number without parsing it and without throwing.
+ *
+ * <p>In {@link NumberSyntax#JAVA_DOUBLE} mode the grammar is the one implemented by
+ * {@link Double#parseDouble(String)} (after trimming), so the scanner accepts exactly the strings
+ * that {@code parseDouble} parses. {@link NumberSyntax#STRICT_DECIMAL} is the decimal subset of it.</p>
+ */
+final class NumberScanner {
+
+    private NumberScanner() {}
+
+    /**
+     * Checks {@code input[from, to)}, which the caller has already trimmed.
+     */
+    static boolean matches(CharSequence input, int from, int to, NumberSyntax syntax) {
+        return check(input, from, to, syntax) == FailureReason.VALID;
+    }
+
+    /**
+     * Checks {@code input[from, to)}, which the caller has already trimmed, and returns
+     * {@link FailureReason#VALID} or a result code for the first character that does not fit.
+     */
+    static int check(CharSequence input, int from, int to, NumberSyntax syntax) {
+        int i = from;
+        if (i == to) {
+            return FailureReason.EMPTY.at(i);
+        }
+        char c = input.charAt(i);
+        if (c == '+' || c == '-') {
+            if (++i == to) {
+                return FailureReason.MISSING_DIGITS.at(i);
+            }
+            c = input.charAt(i);
+        }
+
+        boolean javaSyntax = syntax == NumberSyntax.JAVA_DOUBLE;
+        if (javaSyntax) {
+            if (c == 'N') {
+                return checkWord(input, i, to, "NaN");
+            }
+            if (c == 'I') {
+                return checkWord(input, i, to, "Infinity");
+            }
+            if (c == '0' && i + 1 < to && (input.charAt(i + 1) == 'x' || input.charAt(i + 1) == 'X')) {
+                return checkHex(input, i + 2, to);
+            }
+        }
+
+        // Digits with at most one decimal point; at least one digit overall
+        int digits = 0;
+        boolean pointSeen = false;
+        for (; i < to; i++) {
+            c = input.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c == '.' && !pointSeen) {
+                pointSeen = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return FailureReason.MISSING_DIGITS.at(i);
+        }
+
+        if (i < to && (c == 'e' || c == 'E')) {
+            int exponentEnd = skipExponent(input, i + 1, to);
+            if (exponentEnd < 0) {
+                return FailureReason.BAD_EXPONENT.at(i);
+            }
+            i = exponentEnd;
+        }
+        return checkEnd(input, i, to, javaSyntax);
+    }
+
+    // ([0-9a-fA-F]+\.?|[0-9a-fA-F]*\.[0-9a-fA-F]+)[pP][-+]?[0-9]+[fFdD]?
+    private static int checkHex(CharSequence input, int i, int to) {
+        int digits = 0;
+        boolean pointSeen = false;
+        for (; i < to; i++) {
+            char c = input.charAt(i);
+            if (isHexDigit(c)) {
+                digits++;
+            } else if (c == '.' && !pointSeen) {
+                pointSeen = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return FailureReason.MISSING_DIGITS.at(i);
+        }
+        if (i == to || (input.charAt(i) != 'p' && input.charAt(i) != 'P')) {
+            return FailureReason.BAD_EXPONENT.at(i);
+        }
+        int exponentEnd = skipExponent(input, i + 1, to);
+        if (exponentEnd < 0) {
+            return FailureReason.BAD_EXPONENT.at(i);
+        }
+        return checkEnd(input, exponentEnd, to, true);
+    }
+
+    // Only an optional type suffix may follow the number
+    private static int checkEnd(CharSequence input, int i, int to, boolean javaSyntax) {
+        if (i == to || javaSyntax && i == to - 1 && isTypeSuffix(input.charAt(i))) {
+            return FailureReason.VALID;
+        }
+        return FailureReason.UNEXPECTED_CHARACTER.at(javaSyntax && isTypeSuffix(input.charAt(i)) ? i + 1 : i);
+    }
+
+    /**
+     * Skips {@code [-+]?[0-9]+} starting at {@code i} and returns the index after it, or -1 if
+     * there are no digits.
+     */
+    private static int skipExponent(CharSequence input, int i, int to) {
+        if (i < to && (input.charAt(i) == '+' || input.charAt(i) == '-')) {
+            i++;
+        }
+        int start = i;
+        while (i < to && input.charAt(i) >= '0' && input.charAt(i) <= '9') {
+            i++;
+        }
+        return i == start ? -1 : i;
+    }
+
+    private static boolean isHexDigit(char c) {
+        return c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F';
+    }
+
+    private static boolean isTypeSuffix(char c) {
+        return c == 'f' || c == 'F' || c == 'd' || c == 'D';
+    }
+
+    // Returns the offset of the first character where input[from, to) and expected differ
+    private static int checkWord(CharSequence input, int from, int to, String expected) {
+        int length = Math.min(to - from, expected.length());
+        for (int i = 0; i < length; i++) {
+            if (input.charAt(from + i) != expected.charAt(i)) {
+                return FailureReason.UNEXPECTED_CHARACTER.at(from + i);
+            }
+        }
+        if (to - from < expected.length()) {
+            return FailureReason.TOO_SHORT.at(to);
+        }
+        if (to - from > expected.length()) {
+            return FailureReason.UNEXPECTED_CHARACTER.at(from + length);
+        }
+        return FailureReason.VALID;
+    }
+}
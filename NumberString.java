@@ -0,0 +1,28 @@
+package inputvalidator;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field that must pass {@link InputValidator#validateNumber(String, NumberSyntax)}.
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * record SignUp(@NumberString(syntax = NumberSyntax.STRICT_DECIMAL) String amount) {}
+ * }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface NumberString {
+
+    /**
+     * The grammar to accept.
+     */
+    NumberSyntax syntax() default NumberSyntax.JAVA_DOUBLE;
+}
@@ -0,0 +1,19 @@
+package inputvalidator;
+
+/**
+ * The number grammars {@link InputValidator#validateNumber(String, NumberSyntax)} can check against.
+ */
+public enum NumberSyntax {
+    /**
+     * Everything {@link Double#parseDouble(String)} accepts: decimal and hexadecimal floating-point
+     * literals, {@code NaN}, {@code Infinity}, and an optional {@code f}, {@code F}, {@code d} or
+     * {@code D} suffix.
+     */
+    JAVA_DOUBLE,
+
+    /**
+     * Plain decimal numbers only: an optional sign, digits with an optional decimal point,
+     * and an optional exponent, e.g. {@code -12.5} or {@code 1e-3}.
+     */
+    STRICT_DECIMAL
+}
@@ -0,0 +1,232 @@
+package inputvalidator;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Runs the {@link BatchValidator} checks over large arrays in parallel on a {@link ForkJoinPool}.
+ *
+ * <p>Results use the same bitset layout as {@link BatchValidator}. The batch is split into
+ * leaves whose sizes are multiples of 64 elements, so every worker writes whole words of its
+ * own region of {@code resultBits} and workers never contend on a word. Leaf size is chosen
+ * per call from the batch size, the pool's parallelism and the cost per element measured on
+ * earlier batches of the same validator; batches too small to be worth splitting run on the
+ * calling thread.</p>
+ *
+ * <p>Instances are thread-safe. Keep one per pool so the cost estimates carry over between
+ * batches.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * ParallelBatchValidator validator = new ParallelBatchValidator(); // common pool
+ * long[] valid = BatchValidator.newResultBits(emails.length);
+ * int count = validator.validateEmails(emails, 0, emails.length, valid);
+ * }
+ * </pre>
+ */
+public final class ParallelBatchValidator {
+
+    // Work per leaf that keeps scheduling overhead around 1%
+    private static final long TARGET_LEAF_NANOS = 100_000;
+    // Leaves per worker, so that workers that finish early can steal from slower ones
+    private static final int LEAVES_PER_WORKER = 4;
+    private static final int MAX_LEAF_SIZE = 1 << 20;
+
+    // Nanoseconds per element, in 1/256ths, until a validator has been measured
+    private static final long INITIAL_COST = 200 << 8;
+
+    private final ForkJoinPool pool;
+    // Moving average of the measured cost per element of each validator, in 1/256 ns.
+    // Updates race and may be lost, which only delays convergence.
+    private final AtomicLongArray costs = new AtomicLongArray(BatchValidator.VALIDATOR_COUNT);
+
+    /**
+     * Creates a validator that runs on {@link ForkJoinPool#commonPool()}.
+     */
+    public ParallelBatchValidator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a validator that runs on the given pool.
+     *
+     * @param pool the pool to split batches across. Must not be null.
+     */
+    public ParallelBatchValidator(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool, "pool");
+        for (int i = 0; i < BatchValidator.VALIDATOR_COUNT; i++) {
+            costs.set(i, INITIAL_COST);
+        }
+    }
+
+    /**
+     * Validates email addresses as {@link InputValidator#validateEmail(String)} does.
+     *
+     * @param in         the inputs. Must not be null, and must not be modified during the call.
+     * @param from       the index of the first element to validate.
+     * @param to         the index after the last element to validate.
+     * @param resultBits receives one bit per element, see {@link BatchValidator}.
+     * @return the number of valid elements.
+     * @throws IndexOutOfBoundsException if {@code [from, to)} lies outside {@code in}, or
+     *                                   {@code resultBits} has fewer than {@code ceil((to - from) / 64)} words.
+     */
+    public int validateEmails(String[] in, int from, int to, long[] resultBits) {
+        return validate(BatchValidator.EMAIL, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates passwords as {@link InputValidator#validatePassword(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public int validatePasswords(String[] in, int from, int to, long[] resultBits) {
+        return validate(BatchValidator.PASSWORD, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates dates of birth as {@link InputValidator#validateDateOfBirth(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public int validateDatesOfBirth(String[] in, int from, int to, long[] resultBits) {
+        return validate(BatchValidator.DATE_OF_BIRTH, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates ISO 8601 datetimes as {@link InputValidator#validateDateTime(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public int validateDateTimes(String[] in, int from, int to, long[] resultBits) {
+        return validate(BatchValidator.DATE_TIME, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates country names as {@link InputValidator#validateCountry(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public int validateCountries(String[] in, int from, int to, long[] resultBits) {
+        return validate(BatchValidator.COUNTRY, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates country codes as {@link InputValidator#validateCountryCode(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public int validateCountryCodes(String[] in, int from, int to, long[] resultBits) {
+        return validate(BatchValidator.COUNTRY_CODE, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates website URLs as {@link InputValidator#validateWebsiteURL(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public int validateWebsiteURLs(String[] in, int from, int to, long[] resultBits) {
+        return validate(BatchValidator.WEBSITE_URL, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates strings as {@link InputValidator#validateString(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public int validateStrings(String[] in, int from, int to, long[] resultBits) {
+        return validate(BatchValidator.STRING, in, from, to, resultBits);
+    }
+
+    /**
+     * Validates numbers as {@link InputValidator#validateNumber(String)} does.
+     *
+     * @see #validateEmails(String[], int, int, long[])
+     */
+    public int validateNumbers(String[] in, int from, int to, long[] resultBits) {
+        return validate(BatchValidator.NUMBER, in, from, to, resultBits);
+    }
+
+    /**
+     * Returns the number of elements each leaf task would validate for a batch of {@code count}
+     * elements; a batch no larger than this, or any batch on a single-threaded pool, runs on the
+     * calling thread.
+     */
+    int leafSize(int validator, int count) {
+        long costPerElement = Math.max(1, costs.get(validator));
+        // Small enough to balance the load, but never so small that scheduling dominates
+        long byParallelism = (long) count / ((long) pool.getParallelism() * LEAVES_PER_WORKER);
+        long byCost = (TARGET_LEAF_NANOS << 8) / costPerElement;
+        long size = Math.max(64, Math.min(Math.max(byParallelism, byCost), MAX_LEAF_SIZE));
+        return (int) ((size + 63) & ~63L);
+    }
+
+    private int validate(int validator, String[] in, int from, int to, long[] resultBits) {
+        BatchValidator.checkBatch(in.length, from, to, resultBits);
+        if (from == to) {
+            return 0;
+        }
+        int leafSize = leafSize(validator, to - from);
+        if (to - from <= leafSize || pool.getParallelism() == 1) {
+            return validateLeaf(validator, in, from, to, resultBits, 0);
+        }
+        ValidateTask task = new ValidateTask(validator, in, from, to, resultBits, 0, leafSize);
+        pool.invoke(task);
+        return task.valid;
+    }
+
+    private int validateLeaf(int validator, String[] in, int from, int to, long[] resultBits, int firstWord) {
+        long start = System.nanoTime();
+        int valid = BatchValidator.fill(validator, in, from, to, resultBits, firstWord);
+        long elapsed = System.nanoTime() - start;
+        long sample = (elapsed << 8) / (to - from);
+        long cost = costs.get(validator);
+        costs.set(validator, cost + (sample - cost) / 8);
+        return valid;
+    }
+
+    /**
+     * Validates {@code in[from, to)} into the words of {@code resultBits} from {@code firstWord},
+     * halving on 64-element boundaries until a range fits in one leaf.
+     */
+    private final class ValidateTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int validator;
+        private final String[] in;
+        private final int from;
+        private final int to;
+        private final long[] resultBits;
+        private final int firstWord;
+        private final int leafSize;
+        int valid;
+
+        ValidateTask(int validator, String[] in, int from, int to, long[] resultBits, int firstWord, int leafSize) {
+            this.validator = validator;
+            this.in = in;
+            this.from = from;
+            this.to = to;
+            this.resultBits = resultBits;
+            this.firstWord = firstWord;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                valid = validateLeaf(validator, in, from, to, resultBits, firstWord);
+                return;
+            }
+            int words = (to - from + 63) >>> 6;
+            int leftWords = words >>> 1;
+            int middle = from + (leftWords << 6);
+            ValidateTask left = new ValidateTask(validator, in, from, middle, resultBits, firstWord, leafSize);
+            ValidateTask right = new ValidateTask(validator, in, middle, to, resultBits, firstWord + leftWords, leafSize);
+            invokeAll(left, right);
+            valid = left.valid + right.valid;
+        }
+    }
+}
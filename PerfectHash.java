@@ -0,0 +1,189 @@
+package inputvalidator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Minimal perfect hash over a fixed set of case-insensitive keys (hash-and-displace).
+ *
+ * <p>Keys are hashed through {@link Character#toLowerCase(char)} one character at a time,
+ * so a lookup never builds a lowercase copy of its input. {@link #slot} maps every key to a
+ * distinct index in {@code [0, size)}; other inputs land on an arbitrary index, so callers
+ * must still compare the candidate they find there.</p>
+ *
+ * <p>The displacement search is the slow part, so it runs offline: {@link #main} prints the table
+ * for {@link Country}'s names, which is checked in and only verified at class initialization.</p>
+ */
+final class PerfectHash {
+
+    private static final int MAX_DISPLACEMENT = 1 << 20;
+
+    private final int[] displacements;
+    private final int size;
+
+    /**
+     * Wraps a displacement table computed ahead of time by {@link #displacements(CharSequence[])}
+     * for {@code size} keys.
+     *
+     * @throws IllegalArgumentException if the table does not have the length that many keys need.
+     */
+    PerfectHash(int size, int[] displacements) {
+        if (displacements.length != tableLength(size)) {
+            throw new IllegalArgumentException("Expected " + tableLength(size) + " displacements for "
+                    + size + " keys, got " + displacements.length);
+        }
+        this.size = size;
+        this.displacements = displacements;
+    }
+
+    /**
+     * Searches for the displacement table of the given keys. Deterministic, so it can run offline and
+     * its output be checked in; {@link #main} prints it.
+     *
+     * @throws IllegalArgumentException if two keys are equal ignoring case.
+     */
+    static int[] displacements(CharSequence[] keys) {
+        int size = keys.length;
+        int[] displacements = new int[tableLength(size)];
+        PerfectHash hash = new PerfectHash(size, displacements);
+
+        List<List<Long>> buckets = new ArrayList<>();
+        for (int i = 0; i < displacements.length; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (CharSequence key : keys) {
+            long h = hash(key, 0, key.length());
+            buckets.get(hash.bucket(h)).add(h);
+        }
+
+        // Place the largest buckets first, while most slots are still free.
+        Integer[] order = new Integer[displacements.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> buckets.get(b).size() - buckets.get(a).size());
+
+        boolean[] taken = new boolean[size];
+        int[] placed = new int[size];
+        for (int b : order) {
+            List<Long> bucket = buckets.get(b);
+            if (bucket.isEmpty()) {
+                break;
+            }
+            for (int d = 0; ; d++) {
+                if (d == MAX_DISPLACEMENT) {
+                    throw new IllegalArgumentException("Keys are not distinct ignoring case");
+                }
+                int count = 0;
+                for (long h : bucket) {
+                    int slot = hash.slot(h, d);
+                    if (taken[slot]) {
+                        break;
+                    }
+                    taken[slot] = true;
+                    placed[count++] = slot;
+                }
+                if (count == bucket.size()) {
+                    displacements[b] = d;
+                    break;
+                }
+                for (int i = 0; i < count; i++) {
+                    taken[placed[i]] = false;
+                }
+            }
+        }
+        return displacements;
+    }
+
+    /**
+     * Prints the displacement table of {@link Country}'s names, for pasting into
+     * {@code Country.NAME_DISPLACEMENTS} after the names change.
+     */
+    public static void main(String[] args) {
+        int[] table = displacements(Country.names());
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < table.length; i++) {
+            out.append(i % 16 == 0 ? (i == 0 ? "" : ",\n") + "            " : ", ").append(table[i]);
+        }
+        System.out.println(out);
+    }
+
+    /**
+     * Checks that {@code displacements} still maps {@code keys} to distinct slots.
+     */
+    static boolean isPerfect(CharSequence[] keys, int[] displacements) {
+        if (displacements.length != tableLength(keys.length)) {
+            return false;
+        }
+        PerfectHash hash = new PerfectHash(keys.length, displacements);
+        boolean[] taken = new boolean[keys.length];
+        for (CharSequence key : keys) {
+            int slot = hash.slot(key, 0, key.length());
+            if (taken[slot]) {
+                return false;
+            }
+            taken[slot] = true;
+        }
+        return true;
+    }
+
+    private static int tableLength(int size) {
+        return Math.max(1, size / 2);
+    }
+
+    /**
+     * Returns the slot for {@code input[from, to)}, in {@code [0, size)}.
+     */
+    int slot(CharSequence input, int from, int to) {
+        long hash = hash(input, from, to);
+        return slot(hash, displacements[bucket(hash)]);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int bucket(long hash) {
+        return (int) (((hash >>> 32) * displacements.length) >>> 32);
+    }
+
+    private int slot(long hash, int displacement) {
+        return (int) (((mix(hash + displacement * 0x9E3779B97F4A7C15L) >>> 32) * size) >>> 32);
+    }
+
+    private static long hash(CharSequence input, int from, int to) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            h = (h ^ Character.toLowerCase(input.charAt(i))) * 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Compares {@code input[from, to)} with {@code key} one character at a time,
+     * ignoring case the same way the hash does.
+     */
+    static boolean equalsIgnoreCase(String key, CharSequence input, int from, int to) {
+        if (key.length() != to - from) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char a = key.charAt(i);
+            char b = input.charAt(from + i);
+            if (a != b && Character.toLowerCase(a) != Character.toLowerCase(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,229 @@
+package inputvalidator;
+
+import inputvalidator.Rules.Length;
+import inputvalidator.Rules.Opaque;
+import inputvalidator.Rules.Rule;
+import inputvalidator.Rules.Scan;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Builds the rules behind {@link Validator#and}, {@link Validator#or} and {@link Validator#negate}.
+ *
+ * <p>Nested conjunctions are flattened, so {@code a.and(b).and(c)} is compiled once as a whole.
+ * Within it, all length limits are intersected into one {@link Length}, which runs first; all
+ * {@link Scan} rules are fused so they share one pass over the input; and the remaining rules run
+ * after them, cheapest first. Disjunctions are flattened and ordered by cost the same way. Rules
+ * are assumed to be side-effect free, so the order they run in cannot change the result.</p>
+ */
+final class RuleCompiler {
+
+    // How many scans share one pass: their states are packed into 16 bits each of one long
+    private static final int MAX_FUSED = 4;
+
+    private static final Comparator<Rule> BY_COST = Comparator.comparingInt(Rule::cost);
+
+    // Private constructor to prevent instantiation
+    private RuleCompiler() {}
+
+    static Validator and(Validator left, Validator right) {
+        List<Rule> sources = new ArrayList<>();
+        addConjuncts(left, sources);
+        addConjuncts(right, sources);
+
+        int min = 0;
+        int max = Integer.MAX_VALUE;
+        boolean limited = false;
+        List<Scan> scans = new ArrayList<>();
+        List<Rule> rest = new ArrayList<>();
+        for (Rule rule : sources) {
+            if (rule instanceof Length) {
+                min = Math.max(min, ((Length) rule).min);
+                max = Math.min(max, ((Length) rule).max);
+                limited = true;
+            } else if (rule instanceof Scan) {
+                scans.add((Scan) rule);
+            } else {
+                rest.add(rule);
+            }
+        }
+
+        List<Rule> steps = new ArrayList<>();
+        if (limited) {
+            steps.add(new Length(min, max));
+        }
+        if (scans.size() == 1) {
+            steps.add(scans.get(0));
+        } else {
+            for (int i = 0; i < scans.size(); i += MAX_FUSED) {
+                steps.add(new FusedScan(scans.subList(i, Math.min(i + MAX_FUSED, scans.size()))));
+            }
+        }
+        rest.sort(BY_COST);
+        steps.addAll(rest);
+        return new All(sources, steps);
+    }
+
+    static Validator or(Validator left, Validator right) {
+        List<Rule> alternatives = new ArrayList<>();
+        addDisjuncts(left, alternatives);
+        addDisjuncts(right, alternatives);
+        alternatives.sort(BY_COST);
+        return new Any(alternatives);
+    }
+
+    static Validator not(Validator validator) {
+        return validator instanceof Not ? ((Not) validator).negated : new Not(rule(validator));
+    }
+
+    private static void addConjuncts(Validator validator, List<Rule> into) {
+        if (validator instanceof All) {
+            into.addAll(((All) validator).sources);
+        } else {
+            into.add(rule(validator));
+        }
+    }
+
+    private static void addDisjuncts(Validator validator, List<Rule> into) {
+        if (validator instanceof Any) {
+            into.addAll(((Any) validator).alternatives);
+        } else {
+            into.add(rule(validator));
+        }
+    }
+
+    private static Rule rule(Validator validator) {
+        return validator instanceof Rule ? (Rule) validator : new Opaque(validator);
+    }
+
+    /**
+     * A compiled conjunction. Keeps the rules it was built from so it can be recompiled as part of
+     * a larger one.
+     */
+    static final class All extends Rule {
+
+        final List<Rule> sources;
+        private final Rule[] steps;
+        private final int cost;
+
+        All(List<Rule> sources, List<Rule> steps) {
+            this.sources = List.copyOf(sources);
+            this.steps = steps.toArray(new Rule[0]);
+            this.cost = this.steps[this.steps.length - 1].cost();
+        }
+
+        @Override
+        public boolean test(CharSequence input) {
+            for (Rule step : steps) {
+                if (!step.test(input)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        int cost() {
+            return cost;
+        }
+    }
+
+    /**
+     * A compiled disjunction, alternatives ordered cheapest first.
+     */
+    static final class Any extends Rule {
+
+        final List<Rule> alternatives;
+        private final Rule[] ordered;
+
+        Any(List<Rule> alternatives) {
+            this.alternatives = List.copyOf(alternatives);
+            this.ordered = alternatives.toArray(new Rule[0]);
+        }
+
+        @Override
+        public boolean test(CharSequence input) {
+            for (Rule alternative : ordered) {
+                if (alternative.test(input)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        int cost() {
+            return ordered[ordered.length - 1].cost();
+        }
+    }
+
+    static final class Not extends Rule {
+
+        final Validator negated;
+        private final Rule rule;
+
+        Not(Rule rule) {
+            this.negated = rule instanceof Opaque ? ((Opaque) rule).validator : rule;
+            this.rule = rule;
+        }
+
+        @Override
+        public boolean test(CharSequence input) {
+            return !rule.test(input);
+        }
+
+        @Override
+        int cost() {
+            return rule.cost();
+        }
+    }
+
+    /**
+     * Up to {@value #MAX_FUSED} scans driven over the input together. Stops at the first character
+     * that any of them rejects, and allocates nothing.
+     */
+    static final class FusedScan extends Rule {
+
+        private final Scan[] scans;
+
+        FusedScan(List<Scan> scans) {
+            this.scans = scans.toArray(new Scan[0]);
+        }
+
+        @Override
+        public boolean test(CharSequence input) {
+            if (input == null) {
+                return false;
+            }
+            long states = 0;
+            for (int k = 0; k < scans.length; k++) {
+                states |= (long) scans[k].initial() << (16 * k);
+            }
+            for (int i = 0; i < input.length(); i++) {
+                char c = input.charAt(i);
+                long next = 0;
+                for (int k = 0; k < scans.length; k++) {
+                    int state = scans[k].step((int) (states >>> (16 * k)) & Scan.MAX_STATE, c);
+                    if (state == Scan.DEAD) {
+                        return false;
+                    }
+                    next |= (long) state << (16 * k);
+                }
+                states = next;
+            }
+            for (int k = 0; k < scans.length; k++) {
+                if (!scans[k].accepts((int) (states >>> (16 * k)) & Scan.MAX_STATE)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        int cost() {
+            return Rules.SCAN;
+        }
+    }
+}
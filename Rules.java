@@ -0,0 +1,380 @@
+package inputvalidator;
+
+import java.nio.ByteBuffer;
+import java.util.function.Predicate;
+
+/**
+ * The built-in {@link Validator} rules and the node types {@link RuleCompiler} builds from them.
+ *
+ * <p>Every rule has a cost class. Length limits are {@link #LENGTH} and need no characters at all.
+ * {@link Scan} rules are {@link #SCAN}: a small state machine fed one character at a time, which
+ * lets the compiler run several of them in a single pass. The rest look the input up in a table
+ * ({@link #LOOKUP}), parse it ({@link #PARSE}), or are caller code the compiler cannot see into
+ * ({@link #OPAQUE}).</p>
+ */
+final class Rules {
+
+    // Cost classes, cheapest first
+    static final int LENGTH = 0;
+    static final int SCAN = 1;
+    static final int LOOKUP = 2;
+    static final int PARSE = 3;
+    static final int OPAQUE = 4;
+
+    static final Scan EMAIL = new EmailScan();
+    static final Scan NON_BLANK = new NonBlankScan();
+    static final Rule PASSWORD = new Leaf(LOOKUP, InputValidator::isStrongPassword);
+    static final Rule DATE_OF_BIRTH = new Leaf(PARSE, InputValidator::isDateOfBirth);
+    static final DateTime DATE_TIME = new DateTime();
+    static final Rule COUNTRY = new Leaf(LOOKUP, input -> Country.fromName(input) != null);
+    static final Rule COUNTRY_CODE = new Leaf(LOOKUP, input -> Country.fromCode(input) != null);
+    static final Url WEBSITE_URL = new Url();
+
+    private static final Rule[] NUMBERS = new Rule[NumberSyntax.values().length];
+    private static final Rule[] COUNTRY_CODES = new Rule[Country.CodeType.values().length];
+
+    static {
+        for (NumberSyntax syntax : NumberSyntax.values()) {
+            NUMBERS[syntax.ordinal()] = new Leaf(PARSE, input -> InputValidator.isNumber(input, syntax));
+        }
+        for (Country.CodeType type : Country.CodeType.values()) {
+            COUNTRY_CODES[type.ordinal()] = new Leaf(LOOKUP, input -> Country.fromCode(input, type) != null);
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private Rules() {}
+
+    static Rule number(NumberSyntax syntax) {
+        return NUMBERS[syntax.ordinal()];
+    }
+
+    static Rule countryCode(Country.CodeType type) {
+        return COUNTRY_CODES[type.ordinal()];
+    }
+
+    static Rule pattern(LinearPattern pattern) {
+        return new Leaf(PARSE, pattern::matches);
+    }
+
+    // Validator.test(byte[], int, int), after the bounds check
+    static boolean testUtf8(Validator validator, byte[] bytes, int from, int to) {
+        if (validator instanceof Rule) {
+            return ((Rule) validator).testUtf8(bytes, from, to);
+        }
+        FieldView view = FieldView.acquire();
+        try {
+            return view.setUtf8(bytes, from, to) && validator.test(view);
+        } finally {
+            view.release();
+        }
+    }
+
+    // Validator.test(ByteBuffer, int, int), after the bounds check
+    static boolean testUtf8(Validator validator, ByteBuffer bytes, int from, int to) {
+        if (validator instanceof Rule) {
+            return ((Rule) validator).testUtf8(bytes, from, to);
+        }
+        FieldView view = FieldView.acquire();
+        try {
+            return view.setUtf8(bytes, from, to) && validator.test(view);
+        } finally {
+            view.release();
+        }
+    }
+
+    /**
+     * A validator the compiler knows the cost of.
+     */
+    abstract static class Rule implements Validator {
+
+        abstract int cost();
+
+        // Validates input[from, to) as a field of its own; overridden by rules that need no copy
+        boolean test(CharSequence input, int from, int to) {
+            return test(input.subSequence(from, to));
+        }
+
+        // The two below are overridden by rules that can check the bytes without viewing them as characters
+        boolean testUtf8(byte[] bytes, int from, int to) {
+            FieldView view = FieldView.acquire();
+            try {
+                return view.setUtf8(bytes, from, to) && test(view);
+            } finally {
+                view.release();
+            }
+        }
+
+        boolean testUtf8(ByteBuffer bytes, int from, int to) {
+            FieldView view = FieldView.acquire();
+            try {
+                return view.setUtf8(bytes, from, to) && test(view);
+            } finally {
+                view.release();
+            }
+        }
+    }
+
+    /**
+     * Holds for inputs of {@code min} to {@code max} characters; an empty range never holds.
+     */
+    static final class Length extends Rule {
+
+        final int min;
+        final int max;
+
+        Length(int min, int max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public boolean test(CharSequence input) {
+            if (input == null) {
+                return false;
+            }
+            int length = input.length();
+            return length >= min && length <= max;
+        }
+
+        @Override
+        int cost() {
+            return LENGTH;
+        }
+    }
+
+    /**
+     * A rule decided by one left-to-right pass that keeps a state below {@link #MAX_STATE}.
+     * Rejects {@code null}.
+     */
+    abstract static class Scan extends Rule {
+
+        // Returned by step() once no continuation can be accepted
+        static final int DEAD = -1;
+        static final int MAX_STATE = 0xFFFF;
+
+        abstract int initial();
+
+        abstract int step(int state, char c);
+
+        abstract boolean accepts(int state);
+
+        @Override
+        public boolean test(CharSequence input) {
+            if (input == null) {
+                return false;
+            }
+            int state = initial();
+            for (int i = 0; i < input.length(); i++) {
+                state = step(state, input.charAt(i));
+                if (state == DEAD) {
+                    return false;
+                }
+            }
+            return accepts(state);
+        }
+
+        @Override
+        int cost() {
+            return SCAN;
+        }
+    }
+
+    /**
+     * {@link EmailScanner}'s DFA, extended to skip the whitespace that {@link InputValidator#validateEmail(String)} trims.
+     */
+    private static final class EmailScan extends Scan {
+
+        private static final int TRAILING = EmailScanner.REJECT + 1;
+
+        @Override
+        int initial() {
+            return EmailScanner.START;
+        }
+
+        @Override
+        int step(int state, char c) {
+            if (c <= ' ') {
+                if (state == EmailScanner.START) {
+                    return state;
+                }
+                return state == TRAILING || EmailScanner.isAccepting(state) ? TRAILING : DEAD;
+            }
+            if (state == TRAILING) {
+                return DEAD;
+            }
+            int next = EmailScanner.next(state, c);
+            return next == EmailScanner.REJECT ? DEAD : next;
+        }
+
+        @Override
+        boolean accepts(int state) {
+            return state == TRAILING || EmailScanner.isAccepting(state);
+        }
+
+        @Override
+        public boolean test(CharSequence input) {
+            if (input == null) {
+                return false;
+            }
+            return test(input, 0, input.length());
+        }
+
+        @Override
+        boolean test(CharSequence input, int from, int to) {
+            from = InputValidator.trimStart(input, from, to);
+            return EmailScanner.matches(input, from, InputValidator.trimEnd(input, from, to));
+        }
+
+        @Override
+        boolean testUtf8(byte[] bytes, int from, int to) {
+            while (from < to && isSpace(bytes[from])) {
+                from++;
+            }
+            while (to > from && isSpace(bytes[to - 1])) {
+                to--;
+            }
+            return EmailScanner.matches(bytes, from, to);
+        }
+
+        @Override
+        boolean testUtf8(ByteBuffer bytes, int from, int to) {
+            while (from < to && isSpace(bytes.get(from))) {
+                from++;
+            }
+            while (to > from && isSpace(bytes.get(to - 1))) {
+                to--;
+            }
+            return EmailScanner.matches(bytes, from, to);
+        }
+
+        // The bytes String.trim() removes; every other byte of malformed UTF-8 is rejected by the DFA
+        private static boolean isSpace(byte b) {
+            return b >= 0 && b <= ' ';
+        }
+    }
+
+    /**
+     * At least one character that {@link String#trim()} would keep; state 1 once one has been seen.
+     */
+    private static final class NonBlankScan extends Scan {
+
+        @Override
+        int initial() {
+            return 0;
+        }
+
+        @Override
+        int step(int state, char c) {
+            return c > ' ' ? 1 : state;
+        }
+
+        @Override
+        boolean accepts(int state) {
+            return state == 1;
+        }
+
+        @Override
+        public boolean test(CharSequence input) {
+            return input != null && InputValidator.isNonBlank(input);
+        }
+    }
+
+    /**
+     * The ISO 8601 datetime rule, which can also hand back the instant it parsed. Rejects {@code null}.
+     */
+    static final class DateTime extends Rule {
+
+        @Override
+        public boolean test(CharSequence input) {
+            return test(input, null);
+        }
+
+        // result may be null; left unchanged unless the input is valid
+        boolean test(CharSequence input, EpochTimestamp result) {
+            if (input == null) {
+                return false;
+            }
+            int from = InputValidator.trimStart(input, 0, input.length());
+            int to = InputValidator.trimEnd(input, from, input.length());
+            return DateScanner.parseDateTime(input, from, to, result);
+        }
+
+        @Override
+        int cost() {
+            return PARSE;
+        }
+    }
+
+    /**
+     * The website URL rule, which can also hand back where the URL's components are. Rejects {@code null}.
+     */
+    static final class Url extends Rule {
+
+        @Override
+        public boolean test(CharSequence input) {
+            return test(input, null);
+        }
+
+        // components may be null
+        boolean test(CharSequence input, UrlComponents components) {
+            if (input == null) {
+                return false;
+            }
+            int from = InputValidator.trimStart(input, 0, input.length());
+            int to = InputValidator.trimEnd(input, from, input.length());
+            return UrlScanner.matches(input, from, to, components);
+        }
+
+        @Override
+        int cost() {
+            return PARSE;
+        }
+    }
+
+    /**
+     * A built-in check that runs on its own. Rejects {@code null}.
+     */
+    static final class Leaf extends Rule {
+
+        private final int cost;
+        private final Predicate<CharSequence> check;
+
+        Leaf(int cost, Predicate<CharSequence> check) {
+            this.cost = cost;
+            this.check = check;
+        }
+
+        @Override
+        public boolean test(CharSequence input) {
+            return input != null && check.test(input);
+        }
+
+        @Override
+        int cost() {
+            return cost;
+        }
+    }
+
+    /**
+     * A caller-supplied validator, called as is, {@code null} included.
+     */
+    static final class Opaque extends Rule {
+
+        final Validator validator;
+
+        Opaque(Validator validator) {
+            this.validator = validator;
+        }
+
+        @Override
+        public boolean test(CharSequence input) {
+            return validator.test(input);
+        }
+
+        @Override
+        int cost() {
+            return OPAQUE;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package inputvalidator;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Caches the current date of a {@link Clock} as an epoch day.
+ *
+ * <p>The date is recomputed at most once per second, and immediately once the clock passes the
+ * next midnight in its zone or moves backwards. Between refreshes a lookup is one
+ * {@link Clock#millis()} call and a volatile read.</p>
+ */
+final class TodayCache {
+
+    private static final long REFRESH_INTERVAL_MILLIS = 1000;
+
+    private final Clock clock;
+    private volatile Snapshot snapshot;
+
+    TodayCache(Clock clock) {
+        this.clock = clock;
+        this.snapshot = refresh(clock.millis());
+    }
+
+    /**
+     * Returns today's epoch day according to the clock.
+     */
+    long epochDay() {
+        long now = clock.millis();
+        Snapshot current = snapshot;
+        if (now < current.refreshedAt || now >= current.validUntil) {
+            current = refresh(now);
+            snapshot = current;
+        }
+        return current.epochDay;
+    }
+
+    private Snapshot refresh(long now) {
+        LocalDate today = LocalDate.ofInstant(Instant.ofEpochMilli(now), clock.getZone());
+        long nextMidnight = today.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        return new Snapshot(today.toEpochDay(), now, Math.min(now + REFRESH_INTERVAL_MILLIS, nextMidnight));
+    }
+
+    private static final class Snapshot {
+        final long epochDay;
+        final long refreshedAt;
+        final long validUntil;
+
+        Snapshot(long epochDay, long refreshedAt, long validUntil) {
+            this.epochDay = epochDay;
+            this.refreshedAt = refreshedAt;
+            this.validUntil = validUntil;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package inputvalidator;
+
+import java.util.Arrays;
+
+/**
+ * A reusable record of where each part of a URL starts and ends, filled in by
+ * {@link InputValidator#validateWebsiteURL(CharSequence, UrlComponents)}.
+ *
+ * <p>Offsets index into the validated character sequence, so callers can read the host, port or
+ * path without creating substrings. Delimiters are not part of a component: the scheme excludes
+ * {@code "://"}, the port excludes {@code ':'}, the query excludes {@code '?'} and the fragment
+ * excludes {@code '#'}. The path keeps its leading {@code '/'}.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * UrlComponents components = new UrlComponents();
+ * if (InputValidator.validateWebsiteURL("https://example.com:8443/a?q=1", components)) {
+ *     int port = components.port();                                  // 8443
+ *     int hostStart = components.start(UrlComponents.Component.HOST); // 8
+ *     int hostEnd = components.end(UrlComponents.Component.HOST);     // 19
+ * }
+ * }
+ * </pre>
+ */
+public final class UrlComponents {
+
+    /**
+     * The parts of a URL whose bounds are recorded.
+     */
+    public enum Component {
+        SCHEME,
+        HOST,
+        PORT,
+        PATH,
+        QUERY,
+        FRAGMENT
+    }
+
+    private static final int COMPONENT_COUNT = Component.values().length;
+
+    private final int[] bounds = new int[2 * COMPONENT_COUNT];
+    private CharSequence source;
+
+    /**
+     * Returns the character sequence the offsets refer to.
+     *
+     * @return the last successfully validated URL, or {@code null} if there is none yet.
+     */
+    public CharSequence source() {
+        return source;
+    }
+
+    /**
+     * Checks whether the URL contained the component; an empty query such as {@code "/a?"} is present.
+     *
+     * @param component the component to check.
+     * @return {@code true} if the component was present, {@code false} otherwise.
+     */
+    public boolean isPresent(Component component) {
+        return bounds[2 * component.ordinal()] >= 0;
+    }
+
+    /**
+     * Returns the index of the first character of the component.
+     *
+     * @param component the component.
+     * @return the start offset, or -1 if the component is absent.
+     */
+    public int start(Component component) {
+        return bounds[2 * component.ordinal()];
+    }
+
+    /**
+     * Returns the index after the last character of the component.
+     *
+     * @param component the component.
+     * @return the end offset, or -1 if the component is absent.
+     */
+    public int end(Component component) {
+        return bounds[2 * component.ordinal() + 1];
+    }
+
+    /**
+     * Returns the explicit port number.
+     *
+     * @return the port, or -1 if the URL has no port.
+     */
+    public int port() {
+        int start = start(Component.PORT);
+        if (start < 0) {
+            return -1;
+        }
+        int port = 0;
+        for (int i = start, end = end(Component.PORT); i < end; i++) {
+            port = port * 10 + (source.charAt(i) - '0');
+        }
+        return port;
+    }
+
+    void reset(CharSequence source) {
+        this.source = source;
+        Arrays.fill(bounds, -1);
+    }
+
+    void set(Component component, int start, int end) {
+        bounds[2 * component.ordinal()] = start;
+        bounds[2 * component.ordinal() + 1] = end;
+    }
+}
@@ -0,0 +1,187 @@
+package inputvalidator;
+
+/**
+ * Single-pass scanner for the website URLs accepted by {@link InputValidator#validateWebsiteURL(String)}.
+ *
+ * <p>The grammar is the RFC 3986 {@code http}/{@code https} URI restricted to a domain-name host:</p>
+ * <pre>
+ * ("http" | "https") "://" host [":" 1*5DIGIT] *("/" *pchar) ["?" query] ["#" fragment]
+ * host  = 1*(label ".") 2*6ALPHA           label = 1*(ALPHA / DIGIT / "_" / "-")
+ * pchar = ALPHA / DIGIT / "-._~!$&'()*+,;=:@%"
+ * query = fragment = *(pchar / "/" / "?")
+ * </pre>
+ *
+ * <p>This accepts everything the former {@code URL_PATTERN} accepted, plus multi-segment paths,
+ * queries and fragments. Every character is looked at once, so the scan is linear even on
+ * adversarial input.</p>
+ */
+final class UrlScanner {
+
+    private static final int PCHAR = 1;
+    private static final int HOST_CHAR = 2;
+    private static final byte[] CHAR_FLAGS = new byte[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            CHAR_FLAGS[c] = PCHAR | HOST_CHAR;
+            CHAR_FLAGS[c - 'a' + 'A'] = PCHAR | HOST_CHAR;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            CHAR_FLAGS[c] = PCHAR | HOST_CHAR;
+        }
+        CHAR_FLAGS['_'] = PCHAR | HOST_CHAR;
+        CHAR_FLAGS['-'] = PCHAR | HOST_CHAR;
+        for (char c : ".~!$&'()*+,;=:@%".toCharArray()) {
+            CHAR_FLAGS[c] |= PCHAR;
+        }
+    }
+
+    private UrlScanner() {}
+
+    /**
+     * Scans {@code input[from, to)}, which the caller has already trimmed, and records the component
+     * bounds in {@code components} if it is not null. The bounds are only meaningful on success.
+     */
+    static boolean matches(CharSequence input, int from, int to, UrlComponents components) {
+        return check(input, from, to, components) == FailureReason.VALID;
+    }
+
+    /**
+     * Same as {@link #matches}, but returns {@link FailureReason#VALID} or a result code for the
+     * first character that does not fit the grammar.
+     */
+    static int check(CharSequence input, int from, int to, UrlComponents components) {
+        if (components != null) {
+            components.reset(input);
+        }
+
+        // Scheme
+        int i = from;
+        if (!regionMatchesIgnoreCase(input, i, to, "http")) {
+            return FailureReason.BAD_SCHEME.at(i);
+        }
+        i += 4;
+        if (i < to && (input.charAt(i) | 0x20) == 's') {
+            i++;
+        }
+        int schemeEnd = i;
+        if (!regionMatchesIgnoreCase(input, i, to, "://")) {
+            return FailureReason.BAD_SCHEME.at(i);
+        }
+        i += 3;
+
+        // Host: dot-separated labels, the last of which is 2 to 6 letters
+        int hostStart = i;
+        int labels = 0;
+        int labelStart = i;
+        boolean labelAlpha = true;
+        for (; i < to; i++) {
+            char c = input.charAt(i);
+            if (c == '.') {
+                if (i == labelStart) {
+                    return FailureReason.BAD_HOST.at(i);
+                }
+                labels++;
+                labelStart = i + 1;
+                labelAlpha = true;
+            } else if (c < 128 && (CHAR_FLAGS[c] & HOST_CHAR) != 0) {
+                labelAlpha &= (c | 0x20) >= 'a' && (c | 0x20) <= 'z';
+            } else {
+                break;
+            }
+        }
+        int tldLength = i - labelStart;
+        if (labels == 0) {
+            return (i == hostStart ? FailureReason.BAD_HOST : FailureReason.MISSING_TLD).at(i);
+        }
+        if (!labelAlpha || tldLength < 2 || tldLength > 6) {
+            return FailureReason.BAD_TLD.at(labelStart);
+        }
+        int hostEnd = i;
+
+        // Port
+        int portStart = -1;
+        if (i < to && input.charAt(i) == ':') {
+            portStart = ++i;
+            while (i < to && i - portStart < 5 && isDigit(input.charAt(i))) {
+                i++;
+            }
+            if (i == portStart) {
+                return FailureReason.BAD_PORT.at(i);
+            }
+        }
+        int portEnd = i;
+
+        // Path
+        int pathStart = i;
+        while (i < to && input.charAt(i) == '/') {
+            i = skip(input, i + 1, to, false);
+        }
+        int pathEnd = i;
+
+        // Query and fragment
+        int queryStart = -1;
+        int queryEnd = -1;
+        if (i < to && input.charAt(i) == '?') {
+            queryStart = i + 1;
+            i = queryEnd = skip(input, queryStart, to, true);
+        }
+        int fragmentStart = -1;
+        if (i < to && input.charAt(i) == '#') {
+            fragmentStart = i + 1;
+            i = skip(input, fragmentStart, to, true);
+        }
+        if (i != to) {
+            return FailureReason.UNEXPECTED_CHARACTER.at(i);
+        }
+
+        if (components != null) {
+            components.set(UrlComponents.Component.SCHEME, from, schemeEnd);
+            components.set(UrlComponents.Component.HOST, hostStart, hostEnd);
+            if (portStart >= 0) {
+                components.set(UrlComponents.Component.PORT, portStart, portEnd);
+            }
+            if (pathEnd > pathStart) {
+                components.set(UrlComponents.Component.PATH, pathStart, pathEnd);
+            }
+            if (queryStart >= 0) {
+                components.set(UrlComponents.Component.QUERY, queryStart, queryEnd);
+            }
+            if (fragmentStart >= 0) {
+                components.set(UrlComponents.Component.FRAGMENT, fragmentStart, to);
+            }
+        }
+        return FailureReason.VALID;
+    }
+
+    // Skips pchars (and '/' and '?' when allowed) and returns the index of the first other character.
+    private static int skip(CharSequence input, int i, int to, boolean slashAndQuestionMark) {
+        for (; i < to; i++) {
+            char c = input.charAt(i);
+            boolean allowed = c < 128 && (CHAR_FLAGS[c] & PCHAR) != 0
+                    || slashAndQuestionMark && (c == '/' || c == '?');
+            if (!allowed) {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean regionMatchesIgnoreCase(CharSequence input, int from, int to, String expected) {
+        if (to - from < expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            char c = input.charAt(from + i);
+            char e = expected.charAt(i);
+            if (c != e && (e < 'a' || e > 'z' || (c | 0x20) != e)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
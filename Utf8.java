@@ -0,0 +1,107 @@
+package inputvalidator;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Strict UTF-8 decoding into caller-owned {@code char} arrays.
+ *
+ * <p>Rejects everything the Unicode standard calls ill-formed: stray continuation bytes,
+ * truncated sequences, overlong encodings, encoded surrogates and code points above
+ * {@code U+10FFFF}. Never needs more {@code char}s than it reads bytes.</p>
+ */
+final class Utf8 {
+
+    // The high bit of each byte of a long
+    private static final long NON_ASCII_BITS = 0x8080808080808080L;
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private Utf8() {}
+
+    /**
+     * Returns the index of the first byte in {@code bytes[from, to)} that is not ASCII, or {@code to}.
+     * Tests eight bytes per step, so a pure-ASCII field costs little more than reading it.
+     */
+    static int skipAscii(ByteBuffer bytes, int from, int to) {
+        int i = from;
+        while (i + Long.BYTES <= to && (bytes.getLong(i) & NON_ASCII_BITS) == 0) {
+            i += Long.BYTES;
+        }
+        while (i < to && bytes.get(i) >= 0) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Like {@link #skipAscii(ByteBuffer, int, int)}, for a byte array.
+     */
+    static int skipAscii(byte[] bytes, int from, int to) {
+        int i = from;
+        while (i + Long.BYTES <= to && ((long) LONGS.get(bytes, i) & NON_ASCII_BITS) == 0) {
+            i += Long.BYTES;
+        }
+        while (i < to && bytes[i] >= 0) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Decodes {@code bytes[from, to)} (absolute indexes) into {@code dst}, which must hold at
+     * least {@code to - from} chars, and returns the number of chars written, or -1 if the
+     * bytes are not well-formed UTF-8.
+     */
+    static int decode(ByteBuffer bytes, int from, int to, char[] dst) {
+        int n = 0;
+        int i = from;
+        while (i < to) {
+            int b = bytes.get(i++);
+            if (b >= 0) {
+                dst[n++] = (char) b;
+                continue;
+            }
+            b &= 0xFF;
+            int cp;
+            int min;
+            int continuation;
+            if (b >= 0xC2 && b <= 0xDF) {
+                cp = b & 0x1F;
+                min = 0x80;
+                continuation = 1;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                cp = b & 0x0F;
+                min = 0x800;
+                continuation = 2;
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                cp = b & 0x07;
+                min = 0x10000;
+                continuation = 3;
+            } else {
+                return -1;
+            }
+            if (to - i < continuation) {
+                return -1;
+            }
+            for (int k = 0; k < continuation; k++) {
+                int c = bytes.get(i++);
+                if ((c & 0xC0) != 0x80) {
+                    return -1;
+                }
+                cp = cp << 6 | c & 0x3F;
+            }
+            if (cp < min || cp > Character.MAX_CODE_POINT || cp >= Character.MIN_SURROGATE && cp <= Character.MAX_SURROGATE) {
+                return -1;
+            }
+            if (cp >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                dst[n++] = Character.highSurrogate(cp);
+                dst[n++] = Character.lowSurrogate(cp);
+            } else {
+                dst[n++] = (char) cp;
+            }
+        }
+        return n;
+    }
+}
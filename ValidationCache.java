@@ -0,0 +1,204 @@
+package inputvalidator;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * A bounded, thread-safe memo of the results of one validator, for traffic in which the same
+ * inputs repeat, such as country names, corporate email domains or a site's own URLs.
+ *
+ * <p>Entries are keyed by the input's hash and contents. The cache is set-associative: an input can
+ * only live in one of eight slots chosen by its hash, and when those are full the CLOCK algorithm
+ * evicts the first slot that has not been hit since the hand last passed it. Lookups take no lock
+ * and allocate nothing; a miss runs the validator and then inserts under one of a fixed set of
+ * striped locks. Hits and misses are counted so that callers can see whether caching pays off for a
+ * validator, and {@link #setEnabled(boolean) turn it off} where it does not.</p>
+ *
+ * <p>Only cache validators whose answer depends on the input alone. The result of
+ * {@link InputValidator#validateDateOfBirth(String)} changes at midnight, and
+ * {@link InputValidator#validatePassword(String)} both depends on the installed
+ * {@link WeakPasswordStore} and would keep passwords in memory, so neither belongs here.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * ValidationCache countries = new ValidationCache(InputValidator::validateCountry, 4096);
+ * boolean isValid = countries.test("Sri Lanka"); // true, computed
+ * boolean again = countries.test("Sri Lanka");   // true, from the cache
+ * long hits = countries.hits();                  // 1
+ * }
+ * </pre>
+ */
+public final class ValidationCache implements Predicate<String> {
+
+    private static final int WAYS = 8;
+    private static final int LOCK_STRIPES = 64;
+
+    private final Predicate<? super String> validator;
+    private final AtomicReferenceArray<Entry> slots;
+    // CLOCK hand of each set, only moved under the set's lock
+    private final byte[] hands;
+    private final int setMask;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile boolean enabled = true;
+
+    /**
+     * Creates a cache in front of a validator.
+     *
+     * @param validator the check whose results to remember, e.g. {@code InputValidator::validateCountry}.
+     *                  Must not be null, and must return the same answer every time for the same input.
+     * @param capacity  the maximum number of inputs to remember; rounded up to a power of two, at least 8.
+     * @throws IllegalArgumentException if {@code capacity} is not positive or exceeds {@code 1 << 30}.
+     */
+    public ValidationCache(Predicate<? super String> validator, int capacity) {
+        this.validator = Objects.requireNonNull(validator, "validator");
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        }
+        int size = Math.max(WAYS, Integer.highestOneBit(capacity - 1) << 1);
+        this.slots = new AtomicReferenceArray<>(size);
+        this.hands = new byte[size / WAYS];
+        this.setMask = size / WAYS - 1;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Validates {@code input}, answering from the cache when it has seen the same input before.
+     *
+     * @param input the input to validate. {@code null} is passed to the validator and never cached.
+     * @return the validator's result for {@code input}.
+     */
+    @Override
+    public boolean test(String input) {
+        if (input == null || !enabled) {
+            return validator.test(input);
+        }
+        int hash = spread(input.hashCode());
+        int base = (hash & setMask) * WAYS;
+        for (int way = 0; way < WAYS; way++) {
+            Entry entry = slots.get(base + way);
+            if (entry != null && entry.hash == hash && entry.key.equals(input)) {
+                if (!entry.referenced) {
+                    entry.referenced = true;
+                }
+                hits.increment();
+                return entry.valid;
+            }
+        }
+        misses.increment();
+        boolean valid = validator.test(input);
+        insert(base, new Entry(input, hash, valid));
+        return valid;
+    }
+
+    private void insert(int base, Entry entry) {
+        int set = base / WAYS;
+        synchronized (locks[set & (LOCK_STRIPES - 1)]) {
+            int hand = hands[set];
+            for (int sweep = 0; sweep < 2 * WAYS; sweep++) {
+                int index = base + hand;
+                hand = (hand + 1) & (WAYS - 1);
+                Entry current = slots.get(index);
+                if (current == null || !current.referenced) {
+                    slots.set(index, entry);
+                    break;
+                }
+                if (current.hash == entry.hash && current.key.equals(entry.key)) {
+                    // Another thread inserted the same input while we validated it
+                    break;
+                }
+                current.referenced = false;
+            }
+            hands[set] = (byte) hand;
+        }
+    }
+
+    /**
+     * Turns the cache on or off. While off, {@link #test(String)} calls the validator directly and
+     * counts nothing; the entries are kept for when it is turned back on.
+     *
+     * @param enabled {@code false} to bypass the cache.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks whether lookups currently go through the cache.
+     *
+     * @return {@code true} unless the cache has been turned off.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Forgets every cached result. The hit and miss counters are kept.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    /**
+     * Returns the number of inputs that can be cached at once.
+     *
+     * @return the capacity, a power of two.
+     */
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Returns how many lookups were answered from the cache.
+     *
+     * @return the number of hits since the cache was created or its counters were reset.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how many lookups had to run the validator.
+     *
+     * @return the number of misses since the cache was created or its counters were reset.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Sets the hit and miss counters back to zero, e.g. at the start of a measurement window.
+     */
+    public void resetCounters() {
+        hits.reset();
+        misses.reset();
+    }
+
+    // Mixes the high bits of String.hashCode into the set index
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Entry {
+
+        final String key;
+        final int hash;
+        final boolean valid;
+        // Set by hits and cleared by the CLOCK hand; races only cost an early or late eviction
+        volatile boolean referenced;
+
+        Entry(String key, int hash, boolean valid) {
+            this.key = key;
+            this.hash = hash;
+            this.valid = valid;
+        }
+    }
+}
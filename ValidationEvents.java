@@ -0,0 +1,242 @@
+package inputvalidator;
+
+import inputvalidator.ValidationMetrics.Kind;
+
+import java.util.concurrent.ThreadLocalRandom;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder events for the {@code validate*} methods of {@link InputValidator}.
+ *
+ * <p>While a recording is running, two events may be emitted:</p>
+ * <ul>
+ *   <li>{@code inputvalidator.SlowValidation} for each call that takes longer than the event's
+ *       threshold, 1 ms unless the recording's settings say otherwise;</li>
+ *   <li>{@code inputvalidator.RejectedValidation} for a random sample of rejected inputs, one in
+ *       {@link #setRejectionSampleInterval(int) every 100} by default.</li>
+ * </ul>
+ *
+ * <p>Events carry the validator name, the input length and the {@link FailureReason} of a rejection,
+ * never the input itself. Without a running recording a validation pays one more volatile read
+ * and nothing else. Flight Recorder is only touched if the {@code jdk.jfr} module is in the runtime,
+ * so images built without it validate as usual and never emit.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * try (Recording recording = new Recording()) {
+ *     recording.enable("inputvalidator.SlowValidation").withThreshold(Duration.ofMillis(5));
+ *     recording.start();
+ *     // ...
+ * }
+ * }
+ * </pre>
+ */
+public final class ValidationEvents {
+
+    // Whether any recording is running; kept current by a FlightRecorderListener
+    static volatile boolean active;
+
+    private static volatile int rejectionSampleInterval = 100;
+
+    static {
+        if (ModuleLayer.boot().findModule("jdk.jfr").isPresent()) {
+            Recorder.listen();
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private ValidationEvents() {}
+
+    /**
+     * Sets how many rejected inputs are reported: on average one in every {@code interval}.
+     *
+     * @param interval {@code 1} to report every rejection, or {@code 0} to report none.
+     * @throws IllegalArgumentException if {@code interval} is negative.
+     */
+    public static void setRejectionSampleInterval(int interval) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("interval < 0: " + interval);
+        }
+        rejectionSampleInterval = interval;
+    }
+
+    /**
+     * Starts timing a validation on this thread, for {@link #emit} to end.
+     */
+    static void begin() {
+        Recorder.begin();
+    }
+
+    /**
+     * Emits the events for the validation of {@code input[from, to)} begun on this thread, if any are due.
+     */
+    static void emit(Kind kind, boolean valid, CharSequence input, int from, int to) {
+        Recorder.endSlow(kind, valid, input, from, to);
+        int interval = rejectionSampleInterval;
+        if (!valid && interval > 0 && ThreadLocalRandom.current().nextInt(interval) == 0) {
+            Recorder.rejected(kind, reasonCode(kind, input, from, to), to - from, interval);
+        }
+    }
+
+    // Works out why a rejected input failed; only runs for inputs that become events
+    private static int reasonCode(Kind kind, CharSequence input, int from, int to) {
+        if (input == null) {
+            return FailureReason.NULL_INPUT.at(0);
+        }
+        int code;
+        switch (kind) {
+            case EMAIL:
+                code = InputValidator.checkEmail(input, from, to - from);
+                break;
+            case PASSWORD:
+                code = InputValidator.checkPassword(input);
+                break;
+            case DATE_OF_BIRTH:
+                code = InputValidator.checkDateOfBirth(input);
+                break;
+            case DATE_TIME:
+                code = InputValidator.checkDateTime(input);
+                break;
+            case COUNTRY:
+                code = InputValidator.checkCountry(input);
+                break;
+            case COUNTRY_CODE:
+                code = InputValidator.checkCountryCode(input);
+                break;
+            case WEBSITE_URL:
+                code = InputValidator.checkWebsiteURL(input);
+                break;
+            case STRING:
+                code = InputValidator.checkString(input);
+                break;
+            case NUMBER:
+                code = InputValidator.checkNumber(input, NumberSyntax.JAVA_DOUBLE);
+                break;
+            default:
+                code = FailureReason.VALID;
+                break;
+        }
+        // Patterns, and numbers or codes rejected only by a stricter syntax or type, have no finer diagnosis
+        return code == FailureReason.VALID ? FailureReason.BAD_FORMAT.at(from) : code;
+    }
+
+    /**
+     * Everything that touches {@code jdk.jfr}, loaded only once the module is known to be there.
+     */
+    private static final class Recorder {
+
+        // The event of the validation running on each thread; validations do not nest
+        private static final ThreadLocal<SlowValidation> SLOW = new ThreadLocal<>();
+
+        static void listen() {
+            FlightRecorder.addListener(new FlightRecorderListener() {
+                @Override
+                public void recordingStateChanged(Recording recording) {
+                    active = anyRecordingRunning();
+                }
+            });
+            active = FlightRecorder.isInitialized() && anyRecordingRunning();
+        }
+
+        private static boolean anyRecordingRunning() {
+            for (Recording recording : FlightRecorder.getFlightRecorder().getRecordings()) {
+                if (recording.getState() == RecordingState.RUNNING) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        static void begin() {
+            SlowValidation event = new SlowValidation();
+            if (event.isEnabled()) {
+                event.begin();
+                SLOW.set(event);
+            }
+        }
+
+        static void endSlow(Kind kind, boolean valid, CharSequence input, int from, int to) {
+            SlowValidation event = SLOW.get();
+            if (event == null) {
+                return; // The recording started mid-call, or the event is disabled
+            }
+            SLOW.remove();
+            event.end();
+            if (event.shouldCommit()) {
+                event.validator = kind.name();
+                event.inputLength = to - from;
+                event.reasonCode = valid ? FailureReason.VALID : reasonCode(kind, input, from, to);
+                event.reason = FailureReason.of(event.reasonCode).name();
+                event.commit();
+            }
+        }
+
+        static void rejected(Kind kind, int reasonCode, int inputLength, int interval) {
+            RejectedValidation event = new RejectedValidation();
+            if (event.isEnabled()) {
+                event.validator = kind.name();
+                event.inputLength = inputLength;
+                event.reasonCode = reasonCode;
+                event.reason = FailureReason.of(reasonCode).name();
+                event.sampleInterval = interval;
+                event.commit();
+            }
+        }
+    }
+
+    @Name("inputvalidator.SlowValidation")
+    @Label("Slow Validation")
+    @Category("Input Validator")
+    @Description("A validation that took longer than the event's threshold")
+    @Threshold("1 ms")
+    static final class SlowValidation extends Event {
+
+        @Label("Validator")
+        String validator;
+
+        @Label("Input Length")
+        int inputLength;
+
+        @Label("Reason")
+        @Description("The failure reason, or NONE if the input was valid")
+        String reason;
+
+        @Label("Reason Code")
+        @Description("The packed FailureReason code, including the offset of the offending character")
+        int reasonCode;
+    }
+
+    @Name("inputvalidator.RejectedValidation")
+    @Label("Rejected Validation")
+    @Category("Input Validator")
+    @Description("A sample of the inputs a validator rejected")
+    static final class RejectedValidation extends Event {
+
+        @Label("Validator")
+        String validator;
+
+        @Label("Input Length")
+        int inputLength;
+
+        @Label("Reason")
+        String reason;
+
+        @Label("Reason Code")
+        @Description("The packed FailureReason code, including the offset of the offending character")
+        int reasonCode;
+
+        @Label("Sample Interval")
+        @Description("On average one rejection in this many is recorded")
+        int sampleInterval;
+    }
+}
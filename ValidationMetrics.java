@@ -0,0 +1,365 @@
+package inputvalidator;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Opt-in call counts and latency histograms for the {@code validate*} methods of {@link InputValidator}.
+ *
+ * <p>While metrics are disabled, which is the default, each validation pays one volatile read.
+ * Once {@link #enable() enabled}, every call is timed with {@link System#nanoTime()} and recorded
+ * per validator: accepted and rejected counts in {@link LongAdder}s, and the latency in a lock-free
+ * log-linear histogram with about 3% precision. Calls made through {@link BatchValidator} and
+ * {@link ParallelBatchValidator} are recorded too; the {@code check*}, {@code parse*} and
+ * {@link CsvValidator} paths are not. The same timings drive the {@link ValidationEvents} for
+ * Java Flight Recorder.</p>
+ *
+ * <p>Read the numbers with {@link #snapshot(Kind)}, or call {@link #registerMBeans()} to publish
+ * one MXBean per validator under {@code inputvalidator:type=ValidationMetrics,validator=<name>}.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * ValidationMetrics.enable();
+ * InputValidator.validateEmail("test@example.com");
+ * ValidationMetrics.Snapshot emails = ValidationMetrics.snapshot(ValidationMetrics.Kind.EMAIL);
+ * long calls = emails.calls();                 // 1
+ * long p99 = emails.percentileNanos(99.0);
+ * }
+ * </pre>
+ */
+public final class ValidationMetrics {
+
+    /**
+     * The validators that are measured. Overloads of the same {@link InputValidator} method share one.
+     */
+    public enum Kind {
+        /** {@link InputValidator#validateEmail(String)} */
+        EMAIL,
+        /** {@link InputValidator#validatePassword(String)} */
+        PASSWORD,
+        /** {@link InputValidator#validateDateOfBirth(String)} */
+        DATE_OF_BIRTH,
+        /** {@link InputValidator#validateDateTime(String)} */
+        DATE_TIME,
+        /** {@link InputValidator#validateCountry(String)} */
+        COUNTRY,
+        /** {@link InputValidator#validateCountryCode(String)} */
+        COUNTRY_CODE,
+        /** {@link InputValidator#validateWebsiteURL(String)} */
+        WEBSITE_URL,
+        /** {@link InputValidator#validateString(String)} */
+        STRING,
+        /** {@link InputValidator#validateNumber(String)} */
+        NUMBER,
+        /** {@link InputValidator#validatePattern(String, String)} */
+        PATTERN
+    }
+
+    /**
+     * The attributes each {@link Kind} publishes over JMX.
+     */
+    public interface KindMXBean {
+
+        long getCalls();
+
+        long getAccepted();
+
+        long getRejected();
+
+        double getMeanNanos();
+
+        long getMedianNanos();
+
+        long getP99Nanos();
+
+        long getMaxNanos();
+
+        void reset();
+    }
+
+    // Returned by start() while disabled; nanoTime() would have to hit exactly this value to collide
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+    private static final String OBJECT_NAME = "inputvalidator:type=ValidationMetrics,validator=";
+
+    private static final Stats[] STATS = new Stats[Kind.values().length];
+    private static volatile boolean enabled;
+
+    static {
+        for (Kind kind : Kind.values()) {
+            STATS[kind.ordinal()] = new Stats(kind);
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private ValidationMetrics() {}
+
+    /**
+     * Starts recording every validation.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Stops recording; the numbers recorded so far are kept.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Checks whether validations are being recorded.
+     *
+     * @return {@code true} between {@link #enable()} and {@link #disable()}.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Copies the numbers recorded for one validator. Calls that finish while the copy is taken may
+     * be counted in some figures and not yet in others.
+     *
+     * @param kind the validator to read. Must not be null.
+     * @return a snapshot that no longer changes.
+     */
+    public static Snapshot snapshot(Kind kind) {
+        return STATS[kind.ordinal()].snapshot();
+    }
+
+    /**
+     * Sets every validator's counts and histogram back to zero.
+     */
+    public static void reset() {
+        for (Stats stats : STATS) {
+            stats.reset();
+        }
+    }
+
+    /**
+     * Registers one MXBean per validator with the platform MBean server. Validators that are already
+     * registered are skipped, so calling this more than once is harmless.
+     *
+     * @throws JMException if the MBean server refuses a registration.
+     */
+    public static void registerMBeans() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (Stats stats : STATS) {
+            ObjectName name = new ObjectName(OBJECT_NAME + stats.kind.name());
+            if (!server.isRegistered(name)) {
+                server.registerMBean(stats, name);
+            }
+        }
+    }
+
+    /**
+     * Removes the MXBeans added by {@link #registerMBeans()}.
+     *
+     * @throws JMException if the MBean server refuses an unregistration.
+     */
+    public static void unregisterMBeans() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (Stats stats : STATS) {
+            ObjectName name = new ObjectName(OBJECT_NAME + stats.kind.name());
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        }
+    }
+
+    // Called on entry to an instrumented method; cheap enough to leave in while disabled
+    static long start() {
+        if (ValidationEvents.active) {
+            ValidationEvents.begin();
+            return System.nanoTime();
+        }
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    // Called with the result of an instrumented method, which it passes through
+    static boolean record(Kind kind, long start, boolean valid, CharSequence input) {
+        if (start != NOT_TIMED) {
+            record(kind, start, valid, input, 0, input == null ? 0 : input.length());
+        }
+        return valid;
+    }
+
+    // Same, for a method that validated input[from, to)
+    static boolean record(Kind kind, long start, boolean valid, CharSequence input, int from, int to) {
+        if (start != NOT_TIMED) {
+            long nanos = System.nanoTime() - start;
+            if (enabled) {
+                STATS[kind.ordinal()].record(nanos, valid);
+            }
+            if (ValidationEvents.active) {
+                ValidationEvents.emit(kind, valid, input, from, to);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * The numbers recorded for one validator at one point in time.
+     */
+    public static final class Snapshot {
+
+        private final Kind kind;
+        private final long accepted;
+        private final long rejected;
+        private final long totalNanos;
+        private final long[] histogram;
+
+        Snapshot(Kind kind, long accepted, long rejected, long totalNanos, long[] histogram) {
+            this.kind = kind;
+            this.accepted = accepted;
+            this.rejected = rejected;
+            this.totalNanos = totalNanos;
+            this.histogram = histogram;
+        }
+
+        /**
+         * Returns the validator these numbers belong to.
+         */
+        public Kind kind() {
+            return kind;
+        }
+
+        /**
+         * Returns the number of recorded calls.
+         */
+        public long calls() {
+            return accepted + rejected;
+        }
+
+        /**
+         * Returns the number of recorded calls that returned {@code true}.
+         */
+        public long accepted() {
+            return accepted;
+        }
+
+        /**
+         * Returns the number of recorded calls that returned {@code false}.
+         */
+        public long rejected() {
+            return rejected;
+        }
+
+        /**
+         * Returns the mean latency, or {@code 0} if no calls were recorded.
+         */
+        public double meanNanos() {
+            long calls = calls();
+            return calls == 0 ? 0 : (double) totalNanos / calls;
+        }
+
+        /**
+         * Returns a latency that at least {@code percentile} percent of the recorded calls did not exceed,
+         * rounded up to the end of its histogram bucket.
+         *
+         * @param percentile a value from 0 to 100, e.g. {@code 99.9}.
+         * @return the latency in nanoseconds, or {@code 0} if no calls were recorded.
+         * @throws IllegalArgumentException if {@code percentile} is outside [0, 100].
+         */
+        public long percentileNanos(double percentile) {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("percentile out of range: " + percentile);
+            }
+            long total = 0;
+            for (long count : histogram) {
+                total += count;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen >= rank) {
+                    return LatencyHistogram.highestValueAt(i);
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Returns the largest recorded latency, rounded up to the end of its histogram bucket.
+         */
+        public long maxNanos() {
+            for (int i = histogram.length - 1; i >= 0; i--) {
+                if (histogram[i] != 0) {
+                    return LatencyHistogram.highestValueAt(i);
+                }
+            }
+            return 0;
+        }
+    }
+
+    private static final class Stats implements KindMXBean {
+
+        final Kind kind;
+        final LongAdder accepted = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LatencyHistogram latencies = new LatencyHistogram();
+
+        Stats(Kind kind) {
+            this.kind = kind;
+        }
+
+        void record(long nanos, boolean valid) {
+            (valid ? accepted : rejected).increment();
+            totalNanos.add(nanos);
+            latencies.record(nanos);
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(kind, accepted.sum(), rejected.sum(), totalNanos.sum(), latencies.snapshot());
+        }
+
+        @Override
+        public long getCalls() {
+            return accepted.sum() + rejected.sum();
+        }
+
+        @Override
+        public long getAccepted() {
+            return accepted.sum();
+        }
+
+        @Override
+        public long getRejected() {
+            return rejected.sum();
+        }
+
+        @Override
+        public double getMeanNanos() {
+            return snapshot().meanNanos();
+        }
+
+        @Override
+        public long getMedianNanos() {
+            return snapshot().percentileNanos(50);
+        }
+
+        @Override
+        public long getP99Nanos() {
+            return snapshot().percentileNanos(99);
+        }
+
+        @Override
+        public long getMaxNanos() {
+            return snapshot().maxNanos();
+        }
+
+        @Override
+        public void reset() {
+            accepted.reset();
+            rejected.reset();
+            totalNanos.reset();
+            latencies.reset();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package inputvalidator;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * A validation rule that can be combined with others.
+ *
+ * <p>The built-in rules are the checks behind the static {@link InputValidator} methods. Combining
+ * them with {@link #and(Validator)}, {@link #or(Validator)} and {@link #negate()} compiles a new rule
+ * instead of chaining calls. The compiled rule merges length limits into one comparison and runs
+ * them before anything that reads characters. Character-level rules such as {@link #nonBlank()}
+ * and {@link #email()} are fused into a single pass over the input. Costlier rules run last,
+ * cheapest first, and evaluation stops at the first rule that decides the result.</p>
+ *
+ * <p>All built-in rules reject {@code null}. Rules are immutable and thread-safe, so a combined rule
+ * is typically built once and kept in a constant.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * static final Validator CONTACT_EMAIL = Validator.nonBlank()
+ *         .and(Validator.email())
+ *         .and(Validator.maxLength(254)); // one length check, then one scan
+ *
+ * boolean isValid = CONTACT_EMAIL.test("test@example.com"); // true
+ * }
+ * </pre>
+ */
+@FunctionalInterface
+public interface Validator {
+
+    /**
+     * Validates the input.
+     *
+     * @param input the characters to validate; may be null.
+     * @return {@code true} if the input satisfies this rule, {@code false} otherwise.
+     */
+    boolean test(CharSequence input);
+
+    /**
+     * Validates UTF-8 bytes without decoding them to a {@code String}.
+     *
+     * <p>ASCII fields, such as most emails, dates, numbers and URLs, are read in place after a check
+     * that takes eight bytes per step; other fields are decoded into a scratch buffer. {@link #email()}
+     * runs its scanner on the bytes themselves, skipping runs of local-part and domain characters
+     * with vector instructions where available (see {@code ByteClassifier}). Malformed UTF-8 is
+     * rejected by every rule, negated ones included.</p>
+     *
+     * <p>Rules written as lambdas see the field through a reusable per-thread view, which is only
+     * valid for the duration of the call and must not be kept.</p>
+     *
+     * @param utf8   the bytes to read from. Must not be null.
+     * @param offset the index of the first byte of the field.
+     * @param length the number of bytes in the field.
+     * @return {@code true} if the bytes are well-formed UTF-8 and the characters satisfy this rule.
+     * @throws IndexOutOfBoundsException if the region lies outside {@code utf8}.
+     *
+     * <p>Example:</p>
+     * <pre>
+     * {@code
+     * byte[] field = "test@example.com".getBytes(StandardCharsets.UTF_8);
+     * boolean isValid = Validator.email().test(field, 0, field.length); // true
+     * }
+     * </pre>
+     */
+    default boolean test(byte[] utf8, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, utf8.length);
+        return Rules.testUtf8(this, utf8, offset, offset + length);
+    }
+
+    /**
+     * Validates UTF-8 bytes held in a buffer, such as a direct buffer filled from the network,
+     * like {@link #test(byte[], int, int)}. Reads with absolute indexes, so the buffer's position
+     * and limit are left unchanged.
+     *
+     * @param utf8   the bytes to read from. Must not be null.
+     * @param offset the absolute index of the first byte of the field.
+     * @param length the number of bytes in the field.
+     * @return {@code true} if the bytes are well-formed UTF-8 and the characters satisfy this rule.
+     * @throws IndexOutOfBoundsException if the region lies outside the buffer's limit.
+     */
+    default boolean test(ByteBuffer utf8, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, utf8.limit());
+        return Rules.testUtf8(this, utf8, offset, offset + length);
+    }
+
+    /**
+     * Returns a rule that holds when both this rule and {@code other} hold.
+     *
+     * @param other the rule to combine with. Must not be null.
+     * @return the compiled conjunction.
+     */
+    default Validator and(Validator other) {
+        return RuleCompiler.and(this, Objects.requireNonNull(other, "other"));
+    }
+
+    /**
+     * Returns a rule that holds when this rule or {@code other} holds.
+     *
+     * @param other the rule to combine with. Must not be null.
+     * @return the compiled disjunction.
+     */
+    default Validator or(Validator other) {
+        return RuleCompiler.or(this, Objects.requireNonNull(other, "other"));
+    }
+
+    /**
+     * Returns a rule that holds exactly when this one does not, {@code null} included.
+     *
+     * @return the negated rule.
+     */
+    default Validator negate() {
+        return RuleCompiler.not(this);
+    }
+
+    /**
+     * Returns a rule that holds exactly when {@code rule} does not.
+     *
+     * @param rule the rule to negate. Must not be null.
+     * @return the negated rule.
+     */
+    static Validator not(Validator rule) {
+        return rule.negate();
+    }
+
+    /**
+     * Returns the rule of {@link InputValidator#validateEmail(String)}.
+     */
+    static Validator email() {
+        return Rules.EMAIL;
+    }
+
+    /**
+     * Returns the rule of {@link InputValidator#validatePassword(String)}.
+     */
+    static Validator password() {
+        return Rules.PASSWORD;
+    }
+
+    /**
+     * Returns the rule of {@link InputValidator#validateDateOfBirth(String)}.
+     */
+    static Validator dateOfBirth() {
+        return Rules.DATE_OF_BIRTH;
+    }
+
+    /**
+     * Returns the rule of {@link InputValidator#validateDateTime(String)}.
+     */
+    static Validator dateTime() {
+        return Rules.DATE_TIME;
+    }
+
+    /**
+     * Returns the rule of {@link InputValidator#validateCountry(String)}.
+     */
+    static Validator country() {
+        return Rules.COUNTRY;
+    }
+
+    /**
+     * Returns the rule of {@link InputValidator#validateCountryCode(String)}.
+     */
+    static Validator countryCode() {
+        return Rules.COUNTRY_CODE;
+    }
+
+    /**
+     * Returns the rule of {@link InputValidator#validateWebsiteURL(String)}.
+     */
+    static Validator websiteURL() {
+        return Rules.WEBSITE_URL;
+    }
+
+    /**
+     * Returns the rule of {@link InputValidator#validateString(String)}: at least one character
+     * that is not whitespace.
+     */
+    static Validator nonBlank() {
+        return Rules.NON_BLANK;
+    }
+
+    /**
+     * Returns the rule of {@link InputValidator#validateNumber(String, NumberSyntax)}.
+     *
+     * @param syntax the grammar to accept. Must not be null.
+     */
+    static Validator number(NumberSyntax syntax) {
+        return Rules.number(Objects.requireNonNull(syntax, "syntax"));
+    }
+
+    /**
+     * Returns the rule of {@link InputValidator#validatePattern(String, String)}.
+     *
+     * @param regex the expression, in the syntax {@link LinearPattern} supports. Must not be null.
+     * @throws java.util.regex.PatternSyntaxException if the expression is not supported.
+     */
+    static Validator pattern(String regex) {
+        return Rules.pattern(LinearPattern.compile(regex));
+    }
+
+    /**
+     * Returns a rule that holds for inputs of at least {@code min} characters.
+     *
+     * @param min the minimum length. Must not be negative.
+     */
+    static Validator minLength(int min) {
+        return length(min, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a rule that holds for inputs of at most {@code max} characters.
+     *
+     * @param max the maximum length. Must not be negative.
+     */
+    static Validator maxLength(int max) {
+        return length(0, max);
+    }
+
+    /**
+     * Returns a rule that holds for inputs of {@code min} to {@code max} characters, inclusive.
+     *
+     * @param min the minimum length. Must not be negative.
+     * @param max the maximum length. Must not be less than {@code min}.
+     * @throws IllegalArgumentException if the bounds are negative or out of order.
+     */
+    static Validator length(int min, int max) {
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException("Invalid length bounds: " + min + ".." + max);
+        }
+        return new Rules.Length(min, max);
+    }
+}
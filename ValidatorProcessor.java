@@ -0,0 +1,200 @@
+package inputvalidator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Compile-time generator of validators for records and classes whose fields carry {@link Email},
+ * {@link StrongPassword}, {@link CountryName}, {@link DateOfBirth}, {@link WebsiteUrl} or
+ * {@link NumberString}.
+ *
+ * <p>For each such type {@code T} it writes a class {@code TValidator} next to it with two static
+ * methods: {@code isValid(T)}, and {@code firstInvalidField(T)}, which returns the name of the first
+ * field that fails, or {@code null}. The generated code reads each field directly (through the
+ * accessor for a record, or the field itself or its getter for a class) and calls the matching
+ * {@link InputValidator} method, one {@code if} per check, in declaration order. It uses no
+ * reflection, and nothing happens at startup. Annotated fields must be {@code String}s, and
+ * {@code null} is invalid. A private field of a class needs a non-private getter. Mistakes are
+ * reported as compile errors.</p>
+ *
+ * <p>The annotations are only kept in source, so the processor has to run in the same compilation as
+ * the annotated types:</p>
+ * <pre>
+ * {@code
+ * // javac -processor inputvalidator.ValidatorProcessor -cp inputvalidator.jar SignUp.java
+ * record SignUp(@Email String email, @StrongPassword String password) {}
+ *
+ * boolean isValid = SignUpValidator.isValid(new SignUp("test@example.com", "Str0ng&Secure")); // true
+ * }
+ * </pre>
+ */
+@SupportedAnnotationTypes({
+        "inputvalidator.Email",
+        "inputvalidator.StrongPassword",
+        "inputvalidator.CountryName",
+        "inputvalidator.DateOfBirth",
+        "inputvalidator.WebsiteUrl",
+        "inputvalidator.NumberString"
+})
+public final class ValidatorProcessor extends AbstractProcessor {
+
+    private static final List<Class<? extends Annotation>> ANNOTATIONS = List.of(
+            Email.class, StrongPassword.class, CountryName.class,
+            DateOfBirth.class, WebsiteUrl.class, NumberString.class);
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        Set<TypeElement> types = new LinkedHashSet<>();
+        for (Class<? extends Annotation> annotation : ANNOTATIONS) {
+            for (Element field : round.getElementsAnnotatedWith(annotation)) {
+                types.add((TypeElement) field.getEnclosingElement());
+            }
+        }
+        for (TypeElement type : types) {
+            generate(type);
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) {
+        Messager messager = processingEnv.getMessager();
+        List<String> checks = new ArrayList<>();
+        boolean ok = true;
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            List<String> calls = calls(field);
+            if (calls.isEmpty()) {
+                continue;
+            }
+            if (field.getModifiers().contains(Modifier.STATIC)
+                    || !field.asType().toString().equals("java.lang.String")) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "validated field must be an instance String", field);
+                ok = false;
+                continue;
+            }
+            String read = read(type, field);
+            if (read == null) {
+                messager.printMessage(Diagnostic.Kind.ERROR,
+                        "private validated field needs a non-private getter", field);
+                ok = false;
+                continue;
+            }
+            for (String call : calls) {
+                checks.add("        if (!InputValidator." + call.replace("$", "value." + read) + ") {\n"
+                        + "            return \"" + field.getSimpleName() + "\";\n"
+                        + "        }\n");
+            }
+        }
+        if (!ok) {
+            return;
+        }
+
+        Element enclosing = type;
+        StringBuilder simpleName = new StringBuilder(type.getSimpleName());
+        while (enclosing.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+            enclosing = enclosing.getEnclosingElement();
+            simpleName.insert(0, enclosing.getSimpleName() + "_");
+        }
+        String name = simpleName + "Validator";
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String qualifiedName = pkg.isUnnamed() ? name : pkg.getQualifiedName() + "." + name;
+        String target = type.getQualifiedName().toString();
+        String visibility = type.getModifiers().contains(Modifier.PUBLIC) ? "public " : "";
+
+        StringBuilder source = new StringBuilder();
+        if (!pkg.isUnnamed()) {
+            source.append("package ").append(pkg.getQualifiedName()).append(";\n\n");
+        }
+        source.append("import inputvalidator.InputValidator;\n")
+                .append("import inputvalidator.NumberSyntax;\n\n")
+                .append("/**\n * Validates {@link ").append(target).append("} instances; generated from its annotations.\n */\n")
+                .append("@javax.annotation.processing.Generated(\"").append(ValidatorProcessor.class.getName()).append("\")\n")
+                .append(visibility).append("final class ").append(name).append(" {\n\n")
+                .append("    private ").append(name).append("() {}\n\n")
+                .append("    ").append(visibility).append("static boolean isValid(").append(target).append(" value) {\n")
+                .append("        return firstInvalidField(value) == null;\n")
+                .append("    }\n\n")
+                .append("    ").append(visibility).append("static String firstInvalidField(").append(target).append(" value) {\n");
+        for (String check : checks) {
+            source.append(check);
+        }
+        source.append("        return null;\n    }\n}\n");
+
+        Filer filer = processingEnv.getFiler();
+        try (Writer writer = filer.createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "cannot write " + qualifiedName + ": " + e.getMessage(), type);
+        }
+    }
+
+    // The InputValidator calls a field's annotations ask for, with $ standing for the field's value
+    private static List<String> calls(VariableElement field) {
+        List<String> calls = new ArrayList<>();
+        if (field.getAnnotation(Email.class) != null) {
+            calls.add("validateEmail($)");
+        }
+        if (field.getAnnotation(StrongPassword.class) != null) {
+            calls.add("validatePassword($)");
+        }
+        if (field.getAnnotation(CountryName.class) != null) {
+            calls.add("validateCountry($)");
+        }
+        if (field.getAnnotation(DateOfBirth.class) != null) {
+            calls.add("validateDateOfBirth($)");
+        }
+        if (field.getAnnotation(WebsiteUrl.class) != null) {
+            calls.add("validateWebsiteURL($)");
+        }
+        NumberString number = field.getAnnotation(NumberString.class);
+        if (number != null) {
+            calls.add("validateNumber($, NumberSyntax." + number.syntax().name() + ")");
+        }
+        return calls;
+    }
+
+    // How generated code in the same package reads the field, or null if it cannot
+    private static String read(TypeElement type, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        // By name, so the library still compiles for Java 11, which has no records
+        if (type.getKind().name().equals("RECORD")) {
+            return name + "()";
+        }
+        if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+            return name;
+        }
+        String getter = "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals(getter) && method.getParameters().isEmpty()
+                    && !method.getModifiers().contains(Modifier.PRIVATE)
+                    && !method.getModifiers().contains(Modifier.STATIC)) {
+                return getter + "()";
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,201 @@
+package inputvalidator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only set of breached or weak passwords backed by a memory-mapped file.
+ *
+ * <p>The file is an open-addressing hash table produced by {@link WeakPasswordStoreBuilder}.
+ * Opening a store maps the file and checks its header, with no parsing step, and the entries never
+ * live on the Java heap. Lookups hash the input in place and compare it against the stored entry,
+ * so a membership test is O(1) and matches {@link String#equalsIgnoreCase(String)} exactly. The
+ * slots a lookup probes are checked as it reads them, so a damaged file cannot make it read out of
+ * bounds or loop.</p>
+ *
+ * <p>File layout (big-endian):</p>
+ * <pre>
+ * int  magic      "WPS1"
+ * int  version
+ * int  slotCount  (power of two)
+ * int  entryCount
+ * long dataLength
+ * slotCount x { int fingerprint, int dataOffset + 1 }   (0 marks an empty slot)
+ * entries      { unsigned short byteLength, UTF-8 bytes of the case-folded password }
+ * </pre>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * WeakPasswordStore store = WeakPasswordStore.open(Paths.get("breached.wps"));
+ * InputValidator.setWeakPasswordStore(store);
+ * }
+ * </pre>
+ */
+public final class WeakPasswordStore {
+
+    static final int MAGIC = 0x57505331; // "WPS1"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int SLOT_SIZE = 8;
+    static final int MAX_ENTRY_BYTES = 0xFFFF;
+
+    private final ByteBuffer slots;
+    private final ByteBuffer data;
+    private final int mask;
+    private final int size;
+
+    private WeakPasswordStore(ByteBuffer slots, ByteBuffer data, int slotCount, int size) {
+        this.slots = slots;
+        this.data = data;
+        this.mask = slotCount - 1;
+        this.size = size;
+    }
+
+    /**
+     * Maps a store file built by {@link WeakPasswordStoreBuilder}.
+     *
+     * @param file the store file.
+     * @return the mapped store.
+     * @throws IOException if the file cannot be read or is not a store file.
+     */
+    public static WeakPasswordStore open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Not a weak password store: " + file);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            int slotCount = header.getInt(8);
+            int entryCount = header.getInt(12);
+            long dataLength = header.getLong(16);
+            long slotsLength = (long) slotCount * SLOT_SIZE;
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION
+                    || slotCount <= 0 || Integer.bitCount(slotCount) != 1 || entryCount < 0 || entryCount >= slotCount
+                    || dataLength < 0 || HEADER_SIZE + slotsLength + dataLength != fileSize) {
+                throw new IOException("Not a weak password store: " + file);
+            }
+            if (slotsLength > Integer.MAX_VALUE || dataLength > Integer.MAX_VALUE) {
+                throw new IOException("Weak password store is too large to map: " + file);
+            }
+            // The mappings stay valid after the channel is closed.
+            MappedByteBuffer slots = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, slotsLength);
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + slotsLength, dataLength);
+            return new WeakPasswordStore(slots, data, slotCount, entryCount);
+        }
+    }
+
+    /**
+     * Returns the number of distinct entries in the store.
+     *
+     * @return the entry count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the password is in the store, ignoring case the way
+     * {@link String#equalsIgnoreCase(String)} does.
+     *
+     * @param password the password to look up.
+     * @return {@code true} if the store contains the password, {@code false} otherwise.
+     * @throws IllegalStateException if a probed slot points outside the file's data region.
+     */
+    public boolean contains(CharSequence password) {
+        if (password == null || password.length() == 0) {
+            return false;
+        }
+        long hash = hash(password);
+        int fingerprint = (int) (hash >>> 32);
+        // A well-formed table always has an empty slot; a full one ends after one lap
+        int slot = (int) hash & mask;
+        for (int probes = 0; probes <= mask; probes++, slot = (slot + 1) & mask) {
+            int position = slot * SLOT_SIZE;
+            int offset = slots.getInt(position + 4);
+            if (offset == 0) {
+                return false;
+            }
+            if (slots.getInt(position) == fingerprint && entryEquals(entryStart(offset), password)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Checks that the entry a slot points at lies inside the data region
+    private int entryStart(int offset) {
+        int start = offset - 1;
+        int dataLength = data.capacity();
+        if (start < 0 || start > dataLength - 2 || start + 2 + (data.getShort(start) & 0xFFFF) > dataLength) {
+            throw new IllegalStateException("Corrupt weak password store: entry offset " + start
+                    + " outside data of " + dataLength + " bytes");
+        }
+        return start;
+    }
+
+    // Decodes the stored UTF-8 entry on the fly and compares it with the folded input.
+    private boolean entryEquals(int offset, CharSequence password) {
+        int end = offset + 2 + (data.getShort(offset) & 0xFFFF);
+        int i = offset + 2;
+        int j = 0;
+        int length = password.length();
+        while (i < end) {
+            if (j >= length) {
+                return false;
+            }
+            int b = data.get(i++) & 0xFF;
+            int stored;
+            // A truncated sequence cannot match and must not read past the entry
+            if (i + (b < 0x80 ? 0 : b < 0xE0 ? 1 : b < 0xF0 ? 2 : 3) > end) {
+                return false;
+            }
+            if (b < 0x80) {
+                stored = b;
+            } else if (b < 0xE0) {
+                stored = (b & 0x1F) << 6 | (data.get(i++) & 0x3F);
+            } else if (b < 0xF0) {
+                stored = (b & 0x0F) << 12 | (data.get(i++) & 0x3F) << 6 | (data.get(i++) & 0x3F);
+            } else {
+                stored = (b & 0x07) << 18 | (data.get(i++) & 0x3F) << 12
+                        | (data.get(i++) & 0x3F) << 6 | (data.get(i++) & 0x3F);
+            }
+            int cp = Character.codePointAt(password, j);
+            j += Character.charCount(cp);
+            if (fold(cp) != stored) {
+                return false;
+            }
+        }
+        return j == length;
+    }
+
+    /**
+     * Case-folds a code point so that two strings are {@code equalsIgnoreCase} exactly
+     * when their folded code points are equal.
+     */
+    static int fold(int cp) {
+        return Character.toLowerCase(Character.toUpperCase(cp));
+    }
+
+    /**
+     * Hashes the case-folded code points of the input (FNV-1a with a murmur3 finalizer).
+     */
+    static long hash(CharSequence s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0, length = s.length(); i < length; ) {
+            int cp = Character.codePointAt(s, i);
+            i += Character.charCount(cp);
+            h = (h ^ fold(cp)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,174 @@
+package inputvalidator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Builds a {@link WeakPasswordStore} file from a plain-text list with one password per line.
+ *
+ * <p>Entries are case-folded and de-duplicated; blank lines and entries longer than
+ * 65535 UTF-8 bytes are skipped. The whole table is built in memory, so this is meant
+ * to run offline rather than inside the validating process.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * java inputvalidator.WeakPasswordStoreBuilder breached.txt breached.wps
+ * }
+ * </pre>
+ */
+public final class WeakPasswordStoreBuilder {
+
+    // The slot region has to fit in a single mapped buffer.
+    private static final int MAX_SLOTS = 1 << 27;
+
+    private final long[] slots;
+    private byte[] data = new byte[1 << 16];
+    private int dataLength;
+    private int size;
+
+    private WeakPasswordStoreBuilder(int slotCount) {
+        this.slots = new long[slotCount];
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: WeakPasswordStoreBuilder <passwords.txt> <store-file>");
+            System.exit(2);
+        }
+        int entries = build(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.println("Wrote " + entries + " entries to " + args[1]);
+    }
+
+    /**
+     * Builds a store file from a UTF-8 text file with one password per line.
+     *
+     * @param textFile  the plain-text password list.
+     * @param storeFile the store file to write; replaced if it already exists.
+     * @return the number of distinct entries written.
+     * @throws IOException if reading or writing fails, or the list is too large for one store.
+     */
+    public static int build(Path textFile, Path storeFile) throws IOException {
+        long lines = countLines(textFile);
+        // Keep the load factor at or below one half so probe sequences stay short.
+        long wanted = Math.max(16, Long.highestOneBit(Math.max(1, lines * 2 - 1)) << 1);
+        if (wanted > MAX_SLOTS) {
+            throw new IOException("Too many passwords for one store: " + lines);
+        }
+        WeakPasswordStoreBuilder builder = new WeakPasswordStoreBuilder((int) wanted);
+        try (BufferedReader reader = newReader(textFile)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    builder.add(line);
+                }
+            }
+        }
+        builder.write(storeFile);
+        return builder.size;
+    }
+
+    private static long countLines(Path textFile) throws IOException {
+        try (BufferedReader reader = newReader(textFile)) {
+            long lines = 0;
+            while (reader.readLine() != null) {
+                lines++;
+            }
+            return lines;
+        }
+    }
+
+    // Malformed input is replaced rather than rejected, as breach dumps are rarely clean UTF-8.
+    private static BufferedReader newReader(Path textFile) throws IOException {
+        return new BufferedReader(new InputStreamReader(Files.newInputStream(textFile), StandardCharsets.UTF_8));
+    }
+
+    private void add(String password) throws IOException {
+        byte[] folded = fold(password);
+        if (folded.length > WeakPasswordStore.MAX_ENTRY_BYTES) {
+            return;
+        }
+        long hash = WeakPasswordStore.hash(password);
+        int fingerprint = (int) (hash >>> 32);
+        int mask = slots.length - 1;
+        int slot = (int) hash & mask;
+        while (slots[slot] != 0) {
+            if ((int) (slots[slot] >>> 32) == fingerprint && entryEquals((int) slots[slot] - 1, folded)) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if ((long) dataLength + 2 + folded.length > Integer.MAX_VALUE - 8) {
+            throw new IOException("Password data too large for one store");
+        }
+        if (dataLength + 2 + folded.length > data.length) {
+            data = Arrays.copyOf(data, (int) Math.min(Integer.MAX_VALUE - 8,
+                    Math.max((long) data.length * 2, dataLength + 2 + folded.length)));
+        }
+        slots[slot] = (long) fingerprint << 32 | (dataLength + 1) & 0xFFFFFFFFL;
+        data[dataLength] = (byte) (folded.length >>> 8);
+        data[dataLength + 1] = (byte) folded.length;
+        System.arraycopy(folded, 0, data, dataLength + 2, folded.length);
+        dataLength += 2 + folded.length;
+        size++;
+    }
+
+    private boolean entryEquals(int offset, byte[] folded) {
+        int length = (data[offset] & 0xFF) << 8 | (data[offset + 1] & 0xFF);
+        return length == folded.length
+                && Arrays.equals(data, offset + 2, offset + 2 + length, folded, 0, length);
+    }
+
+    private static byte[] fold(String password) {
+        StringBuilder sb = new StringBuilder(password.length());
+        password.codePoints().forEach(cp -> sb.appendCodePoint(WeakPasswordStore.fold(cp)));
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void write(Path storeFile) throws IOException {
+        Path parent = storeFile.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, storeFile.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(WeakPasswordStore.HEADER_SIZE);
+                header.putInt(WeakPasswordStore.MAGIC)
+                      .putInt(WeakPasswordStore.VERSION)
+                      .putInt(slots.length)
+                      .putInt(size)
+                      .putLong(dataLength)
+                      .flip();
+                writeFully(channel, header);
+
+                ByteBuffer chunk = ByteBuffer.allocate(1 << 16);
+                for (long slot : slots) {
+                    if (!chunk.hasRemaining()) {
+                        writeFully(channel, chunk.flip());
+                        chunk.clear();
+                    }
+                    chunk.putLong(slot);
+                }
+                writeFully(channel, chunk.flip());
+                writeFully(channel, ByteBuffer.wrap(data, 0, dataLength));
+            }
+            Files.move(temp, storeFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package validatortest;
+
+import inputvalidator.InputValidator;
+import inputvalidator.WeakPasswordStore;
+import inputvalidator.WeakPasswordStoreBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeakPasswordStoreTest {
+
+    private static WeakPasswordStore buildStore(String... passwords) throws IOException {
+        Path dir = Files.createTempDirectory("weak-passwords");
+        Path text = dir.resolve("passwords.txt");
+        Path store = dir.resolve("passwords.wps");
+        Files.write(text, Arrays.asList(passwords), StandardCharsets.UTF_8);
+        WeakPasswordStoreBuilder.build(text, store);
+        return WeakPasswordStore.open(store);
+    }
+
+    @Test
+    public void testContains() throws IOException {
+        WeakPasswordStore store = buildStore("Summer2024!", "hunter2", "", "HUNTER2", "Straße#1", "Пароль1!");
+
+        assertEquals(4, store.size()); // Blank lines and case-insensitive duplicates are dropped
+        assertTrue(store.contains("Summer2024!"));
+        assertTrue(store.contains("sUMMER2024!")); // Case-insensitive
+        assertTrue(store.contains("hunter2"));
+        assertTrue(store.contains("STRAßE#1"));
+        assertTrue(store.contains("пАРОЛЬ1!")); // Non-ASCII entries
+        assertFalse(store.contains("Summer2024"));
+        assertFalse(store.contains("Summer2024!!"));
+        assertFalse(store.contains(""));
+        assertFalse(store.contains(null));
+    }
+
+    @Test
+    public void testLargeStore() throws IOException {
+        String[] passwords = new String[50_000];
+        for (int i = 0; i < passwords.length; i++) {
+            passwords[i] = "Breach" + i + "!";
+        }
+        WeakPasswordStore store = buildStore(passwords);
+
+        assertEquals(passwords.length, store.size());
+        for (String password : passwords) {
+            assertTrue(store.contains(password.toUpperCase()));
+        }
+        assertFalse(store.contains("Breach50000!"));
+    }
+
+    @Test
+    public void testRejectsNonStoreFile() throws IOException {
+        Path file = Files.createTempFile("not-a-store", ".wps");
+        Files.write(file, "password\n123456\nqwerty\nletmein\n".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> WeakPasswordStore.open(file));
+    }
+
+    @Test
+    public void testCorruptSlotTableIsCaughtOnLookup() throws IOException {
+        Path dir = Files.createTempDirectory("weak-passwords");
+        Path text = dir.resolve("passwords.txt");
+        Path store = dir.resolve("passwords.wps");
+        Files.write(text, Arrays.asList("hunter2", "letmein"), StandardCharsets.UTF_8);
+        WeakPasswordStoreBuilder.build(text, store);
+        byte[] good = Files.readAllBytes(store);
+        int slotCount = ByteBuffer.wrap(good).getInt(8);
+
+        // Every slot occupied, so a lookup that misses has no empty slot to stop at
+        ByteBuffer full = ByteBuffer.wrap(good.clone());
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (full.getInt(24 + slot * 8 + 4) == 0) {
+                full.putInt(24 + slot * 8 + 4, 1);
+            }
+        }
+        Files.write(store, full.array());
+        assertFalse(WeakPasswordStore.open(store).contains("not-in-the-store"));
+
+        // Occupied slots pointing past the data region
+        ByteBuffer outside = ByteBuffer.wrap(good.clone());
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (outside.getInt(24 + slot * 8 + 4) != 0) {
+                outside.putInt(24 + slot * 8 + 4, Integer.MAX_VALUE);
+            }
+        }
+        Files.write(store, outside.array());
+        WeakPasswordStore corrupt = WeakPasswordStore.open(store);
+        assertThrows(IllegalStateException.class, () -> corrupt.contains("hunter2"));
+
+        // A slot count the header cannot back up is still refused at open
+        ByteBuffer overfull = ByteBuffer.wrap(good.clone());
+        overfull.putInt(12, slotCount);
+        Files.write(store, overfull.array());
+        assertThrows(IOException.class, () -> WeakPasswordStore.open(store));
+    }
+
+    @Test
+    public void testValidatePasswordConsultsStore() throws IOException {
+        assertTrue(InputValidator.validatePassword("Summer2024!"));
+        InputValidator.setWeakPasswordStore(buildStore("Summer2024!"));
+        try {
+            assertFalse(InputValidator.validatePassword("Summer2024!"));
+            assertFalse(InputValidator.validatePassword("SUMMER2024!"));
+            assertTrue(InputValidator.validatePassword("Winter2024!"));
+        } finally {
+            InputValidator.setWeakPasswordStore(null);
+        }
+    }
+}
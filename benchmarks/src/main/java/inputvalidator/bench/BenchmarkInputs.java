@@ -0,0 +1,136 @@
+package inputvalidator.bench;
+
+/**
+ * Input sets for the validator benchmarks.
+ *
+ * <p>Each validator gets a handful of valid inputs, a handful of typical rejects, and
+ * pathological inputs that are long or crafted to trigger worst-case behaviour (backtracking,
+ * long digit runs, near-miss rejections at the very end of the input).</p>
+ */
+public final class BenchmarkInputs {
+
+    /**
+     * Which kind of inputs a benchmark iteration runs over.
+     */
+    public enum Kind {
+        VALID,
+        INVALID,
+        PATHOLOGICAL
+    }
+
+    private BenchmarkInputs() {}
+
+    static String[] emails(Kind kind) {
+        switch (kind) {
+            case VALID:
+                return new String[] {"test@example.com", "user.name+alias@example.com", "user@mail.example.co",
+                        "USER@EXAMPLE.COM", "first_last%dept@sub-domain.org"};
+            case INVALID:
+                return new String[] {"userexample.com", "user@.com", "user@example", "user@@example.com",
+                        "user@-example.com"};
+            default:
+                return new String[] {"user@" + "a-".repeat(2_000) + "!", "a".repeat(5_000) + "@example.c",
+                        "user@" + "a".repeat(5_000) + ".com1", " " + ".".repeat(4_000) + "@x.y "};
+        }
+    }
+
+    static String[] passwords(Kind kind) {
+        switch (kind) {
+            case VALID:
+                return new String[] {"Aa1!secure", "StrongP@ssw0rd!", "C0mpl3x^Passw0rd~", "Val!dP@55W0rd123",
+                        "UnicodeP@ss❤️123"};
+            case INVALID:
+                return new String[] {"short", "Password123", "PASSWORD1!", "P@sssss1", "Password1!"};
+            default:
+                return new String[] {"Aa1!".repeat(32), "ab".repeat(63) + "A!", "Ab1".repeat(42) + "  ",
+                        "😀".repeat(63) + "A!"};
+        }
+    }
+
+    static String[] datesOfBirth(Kind kind) {
+        switch (kind) {
+            case VALID:
+                return new String[] {"2000-01-01", "1985-12-31", "1900-01-01", "1972-02-29", " 1999-06-15 "};
+            case INVALID:
+                return new String[] {"2999-01-01", "2000-13-01", "2000-02-30", "invalid-date", "2000/01/01"};
+            default:
+                return new String[] {" ".repeat(2_000) + "2000-01-01" + " ".repeat(2_000),
+                        "9".repeat(4_000), "1899-12-31", "2000-01-0١"};
+        }
+    }
+
+    static String[] dateTimes(Kind kind) {
+        switch (kind) {
+            case VALID:
+                return new String[] {"2023-03-25T12:34:56Z", "2023-03-25T12:34:56+01:00",
+                        "2024-02-29T23:59:59.123456789-05:30", "1970-01-01T00:00:00.5Z", "2000-12-31T00:00:00-00:00"};
+            case INVALID:
+                return new String[] {"2023-03-25", "2023-03-25T12:34", "2023-13-45T99:99:99Z",
+                        "2023/11/19 12:45:30", "2023-02-29T00:00:00Z"};
+            default:
+                return new String[] {"2023-03-25T12:34:56." + "1".repeat(4_000) + "Z",
+                        "2023-03-25T12:34:56+01:0" + "0".repeat(4_000), "2023-03-25T".repeat(400)};
+        }
+    }
+
+    static String[] countries(Kind kind) {
+        switch (kind) {
+            case VALID:
+                return new String[] {"Sri Lanka", "united states", " NEW ZEALAND ", "Côte d'Ivoire",
+                        "United Kingdom of Great Britain and Northern Ireland"};
+            case INVALID:
+                return new String[] {"Atlantis", "Srilanka", "", "   ", "Republic of Nowhere"};
+            default:
+                return new String[] {" ".repeat(2_000) + "Sri Lanka" + " ".repeat(2_000), "Canada".repeat(700),
+                        "United Kingdom of Great Britain and Northern Irelanx"};
+        }
+    }
+
+    static String[] countryCodes(Kind kind) {
+        switch (kind) {
+            case VALID:
+                return new String[] {"LK", "usa", "144", " gb ", "004"};
+            case INVALID:
+                return new String[] {"XX", "ZZZ", "999", "U1", "Sri Lanka"};
+            default:
+                return new String[] {" ".repeat(4_000) + "LK", "A".repeat(4_000), "١٤٤"};
+        }
+    }
+
+    static String[] urls(Kind kind) {
+        switch (kind) {
+            case VALID:
+                return new String[] {"https://www.example.com", "http://example.com", "http://example.com:8080/path",
+                        "https://sub.example.co.uk/a/b?q=1&r=2#frag", "HTTP://EXAMPLE.ORG/~user"};
+            case INVALID:
+                return new String[] {"example.com", "http//invalid-url", "www.example.com", "ftp://example.com",
+                        "http://example.c0m"};
+            default:
+                return new String[] {"http://" + "a.".repeat(2_000) + "!", "http://" + "a-".repeat(2_000) + ".com1",
+                        "https://example.com/" + "%".repeat(4_000) + " ", "http://example.com:" + "9".repeat(4_000)};
+        }
+    }
+
+    static String[] strings(Kind kind) {
+        switch (kind) {
+            case VALID:
+                return new String[] {"Valid String", "x", " padded ", "multi\nline", "été"};
+            case INVALID:
+                return new String[] {"", " ", "\t\n", "   ", "\u0000"};
+            default:
+                return new String[] {" ".repeat(4_000), " ".repeat(4_000) + "x", "\t".repeat(4_000)};
+        }
+    }
+
+    static String[] numbers(Kind kind) {
+        switch (kind) {
+            case VALID:
+                return new String[] {"123", "123.45", "-1.5e10", "0x1.8p1", "NaN"};
+            case INVALID:
+                return new String[] {"123a", "abc", "1e", "--1", "1.2.3"};
+            default:
+                return new String[] {"9".repeat(4_000), "0." + "0".repeat(4_000) + "1", "1".repeat(4_000) + "x",
+                        "1e" + "9".repeat(4_000)};
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package inputvalidator.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs every validator benchmark with the GC profiler attached, so a single report shows
+ * time and allocations per call ({@code gc.alloc.rate.norm}) for each validator and input set.
+ *
+ * <p>Usage: {@code java -cp benchmarks/target/benchmarks.jar inputvalidator.bench.BenchmarkRunner [regex]}.
+ * The optional argument narrows the benchmarks to run; results are also written to
+ * {@code jmh-result.json}.</p>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : InputValidatorBenchmark.class.getSimpleName();
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,58 @@
+package inputvalidator.bench;
+
+import inputvalidator.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Email validation of UTF-8 bytes in a direct buffer, with the Vector API character-class scan
+ * against the byte-at-a-time one, for addresses of 32 to 256 bytes.
+ *
+ * <p>JMH runs every parameter combination in a fresh JVM, so setting
+ * {@code inputvalidator.vector} in {@link #setUp()}, before the library first scans bytes,
+ * picks the implementation for the whole run.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class ByteScanBenchmark {
+
+    @Param({"32", "64", "128", "256"})
+    public int length;
+
+    @Param({"true", "false"})
+    public boolean vector;
+
+    private ByteBuffer email;
+    private final Validator validator = Validator.email();
+
+    @Setup
+    public void setUp() {
+        System.setProperty("inputvalidator.vector", Boolean.toString(vector));
+        String domain = "@example.com";
+        byte[] bytes = ("user.name+" + "x".repeat(length - domain.length() - 10) + domain)
+                .getBytes(StandardCharsets.UTF_8);
+        email = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+    }
+
+    @Benchmark
+    public boolean validateEmailBytes() {
+        return validator.test(email, 0, email.capacity());
+    }
+}
@@ -0,0 +1,185 @@
+package inputvalidator.bench;
+
+import inputvalidator.BatchValidator;
+import inputvalidator.Country;
+import inputvalidator.EpochTimestamp;
+import inputvalidator.InputValidator;
+import inputvalidator.NumberSyntax;
+import inputvalidator.UrlComponents;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and average time of every {@code InputValidator.validate*} method over valid,
+ * invalid and pathological inputs.
+ *
+ * <p>Each invocation validates the whole input set for one validator, so scores are per set,
+ * not per string. Run with {@code -prof gc} (or through {@link BenchmarkRunner}) to see the
+ * allocation rate per validator.</p>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InputValidatorBenchmark {
+
+    @Param({"VALID", "INVALID", "PATHOLOGICAL"})
+    public BenchmarkInputs.Kind inputs;
+
+    private String[] emails;
+    private String[] passwords;
+    private String[] datesOfBirth;
+    private String[] dateTimes;
+    private String[] countries;
+    private String[] countryCodes;
+    private String[] urls;
+    private String[] strings;
+    private String[] numbers;
+
+    private final EpochTimestamp timestamp = new EpochTimestamp();
+    private final UrlComponents components = new UrlComponents();
+    private long[] resultBits;
+
+    @Setup
+    public void setUp() {
+        emails = BenchmarkInputs.emails(inputs);
+        passwords = BenchmarkInputs.passwords(inputs);
+        datesOfBirth = BenchmarkInputs.datesOfBirth(inputs);
+        dateTimes = BenchmarkInputs.dateTimes(inputs);
+        countries = BenchmarkInputs.countries(inputs);
+        countryCodes = BenchmarkInputs.countryCodes(inputs);
+        urls = BenchmarkInputs.urls(inputs);
+        strings = BenchmarkInputs.strings(inputs);
+        numbers = BenchmarkInputs.numbers(inputs);
+        resultBits = BatchValidator.newResultBits(64);
+    }
+
+    @Benchmark
+    public void validateEmail(Blackhole blackhole) {
+        for (String email : emails) {
+            blackhole.consume(InputValidator.validateEmail(email));
+        }
+    }
+
+    @Benchmark
+    public int validateEmailsBatch() {
+        return BatchValidator.validateEmails(emails, 0, emails.length, resultBits);
+    }
+
+    @Benchmark
+    public void validateEmailRegion(Blackhole blackhole) {
+        for (String email : emails) {
+            blackhole.consume(InputValidator.validateEmail(email, 0, email.length()));
+        }
+    }
+
+    @Benchmark
+    public void validatePassword(Blackhole blackhole) {
+        for (String password : passwords) {
+            blackhole.consume(InputValidator.validatePassword(password));
+        }
+    }
+
+    @Benchmark
+    public void validateDateOfBirth(Blackhole blackhole) {
+        for (String dob : datesOfBirth) {
+            blackhole.consume(InputValidator.validateDateOfBirth(dob));
+        }
+    }
+
+    @Benchmark
+    public void validateDateTime(Blackhole blackhole) {
+        for (String dateTime : dateTimes) {
+            blackhole.consume(InputValidator.validateDateTime(dateTime));
+        }
+    }
+
+    @Benchmark
+    public void validateDateTimeToEpoch(Blackhole blackhole) {
+        for (String dateTime : dateTimes) {
+            blackhole.consume(InputValidator.validateDateTime(dateTime, timestamp));
+        }
+    }
+
+    @Benchmark
+    public void validateCountry(Blackhole blackhole) {
+        for (String country : countries) {
+            blackhole.consume(InputValidator.validateCountry(country));
+        }
+    }
+
+    @Benchmark
+    public void validateCountryCode(Blackhole blackhole) {
+        for (String code : countryCodes) {
+            blackhole.consume(InputValidator.validateCountryCode(code));
+        }
+    }
+
+    @Benchmark
+    public void validateCountryCodeAlpha3(Blackhole blackhole) {
+        for (String code : countryCodes) {
+            blackhole.consume(InputValidator.validateCountryCode(code, Country.CodeType.ALPHA_3));
+        }
+    }
+
+    @Benchmark
+    public void validateWebsiteURL(Blackhole blackhole) {
+        for (String url : urls) {
+            blackhole.consume(InputValidator.validateWebsiteURL(url));
+        }
+    }
+
+    @Benchmark
+    public void validateWebsiteURLComponents(Blackhole blackhole) {
+        for (String url : urls) {
+            blackhole.consume(InputValidator.validateWebsiteURL(url, components));
+        }
+    }
+
+    @Benchmark
+    public void validateString(Blackhole blackhole) {
+        for (String string : strings) {
+            blackhole.consume(InputValidator.validateString(string));
+        }
+    }
+
+    @Benchmark
+    public void validateNumber(Blackhole blackhole) {
+        for (String number : numbers) {
+            blackhole.consume(InputValidator.validateNumber(number));
+        }
+    }
+
+    @Benchmark
+    public int validateNumbersBatch() {
+        return BatchValidator.validateNumbers(numbers, 0, numbers.length, resultBits);
+    }
+
+    @Benchmark
+    public void validateNumberStrict(Blackhole blackhole) {
+        for (String number : numbers) {
+            blackhole.consume(InputValidator.validateNumber(number, NumberSyntax.STRICT_DECIMAL));
+        }
+    }
+
+    @Benchmark
+    public void parseDoubleOrNaN(Blackhole blackhole) {
+        for (String number : numbers) {
+            blackhole.consume(InputValidator.parseDoubleOrNaN(number));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package inputvalidator.bench;
+
+import inputvalidator.BatchValidator;
+import inputvalidator.InputValidator;
+import inputvalidator.ParallelBatchValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Email validation over one large batch: sequential {@link BatchValidator}, fork/join
+ * {@link ParallelBatchValidator} on the common pool, and the hand-written parallel stream
+ * it replaces.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelBatchBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private String[] emails;
+    private long[] resultBits;
+    private final ParallelBatchValidator parallel = new ParallelBatchValidator();
+
+    @Setup
+    public void setUp() {
+        String[] valid = BenchmarkInputs.emails(BenchmarkInputs.Kind.VALID);
+        String[] invalid = BenchmarkInputs.emails(BenchmarkInputs.Kind.INVALID);
+        Random random = new Random(42);
+        emails = new String[size];
+        for (int i = 0; i < size; i++) {
+            String[] pool = random.nextBoolean() ? valid : invalid;
+            emails[i] = pool[random.nextInt(pool.length)];
+        }
+        resultBits = BatchValidator.newResultBits(size);
+    }
+
+    @Benchmark
+    public int sequential() {
+        return BatchValidator.validateEmails(emails, 0, size, resultBits);
+    }
+
+    @Benchmark
+    public int forkJoin() {
+        return parallel.validateEmails(emails, 0, size, resultBits);
+    }
+
+    @Benchmark
+    public long parallelStream() {
+        return Arrays.stream(emails).parallel().map(InputValidator::validateEmail).filter(b -> b).count();
+    }
+}
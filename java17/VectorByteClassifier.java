@@ -0,0 +1,62 @@
+package inputvalidator;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ByteClassifier} on the incubating Vector API, for the Java 17 part of the multi-release JAR.
+ *
+ * <p>Loads a full vector of bytes per step and looks up each byte's low and high nibble in the
+ * set's tables with one shuffle each. A byte is in the set when the two results share a bit, so one
+ * compare finds the first byte that is not. Tails shorter than a vector, and machines whose
+ * preferred vectors hold fewer than 16 bytes, use the byte-at-a-time loop.</p>
+ */
+final class VectorByteClassifier extends ByteClassifier {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    @Override
+    int span(ByteBuffer bytes, int from, int to, AsciiSet set) {
+        if (LANES < 16 || to - from < LANES) {
+            return super.span(bytes, from, to, set);
+        }
+        ByteVector lowTable = ByteVector.fromArray(SPECIES, set.lowNibbles, 0);
+        ByteVector highTable = ByteVector.fromArray(SPECIES, set.highNibbles, 0);
+        int i = from;
+        for (int bound = to - LANES; i <= bound; i += LANES) {
+            int miss = firstMiss(ByteVector.fromByteBuffer(SPECIES, bytes, i, ByteOrder.nativeOrder()), lowTable, highTable);
+            if (miss < LANES) {
+                return i + miss;
+            }
+        }
+        return super.span(bytes, i, to, set);
+    }
+
+    @Override
+    int span(byte[] bytes, int from, int to, AsciiSet set) {
+        if (LANES < 16 || to - from < LANES) {
+            return super.span(bytes, from, to, set);
+        }
+        ByteVector lowTable = ByteVector.fromArray(SPECIES, set.lowNibbles, 0);
+        ByteVector highTable = ByteVector.fromArray(SPECIES, set.highNibbles, 0);
+        int i = from;
+        for (int bound = to - LANES; i <= bound; i += LANES) {
+            int miss = firstMiss(ByteVector.fromArray(SPECIES, bytes, i), lowTable, highTable);
+            if (miss < LANES) {
+                return i + miss;
+            }
+        }
+        return super.span(bytes, i, to, set);
+    }
+
+    // The lane of the first byte of chunk that is not in the set, or LANES
+    private static int firstMiss(ByteVector chunk, ByteVector lowTable, ByteVector highTable) {
+        ByteVector low = lowTable.rearrange(chunk.and((byte) 0x0F).toShuffle());
+        ByteVector high = highTable.rearrange(chunk.lanewise(VectorOperators.LSHR, 4).toShuffle());
+        return low.and(high).compare(VectorOperators.EQ, (byte) 0).firstTrue();
+    }
+}